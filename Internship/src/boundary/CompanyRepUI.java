@@ -2,13 +2,15 @@ package boundary;
 
 import control.IInternshipService;
 import control.IUserService;
+import control.InternshipEdit;
+import control.InternshipFilter;
+import control.InternshipSort;
 import entities.*;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class CompanyRepUI implements ICompanyRepUI {
 
@@ -143,17 +145,23 @@ public class CompanyRepUI implements ICompanyRepUI {
                 return;
             }
 
-            for (int i = 0; i < list.size(); i++) {
-                Internship it = list.get(i);
-                System.out.println((i + 1) + ". " + it.getTitle()
+            for (Internship it : list) {
+                System.out.println("[" + it.getId() + "] " + it.getTitle()
                         + " | Status: " + it.getStatus()
+                        + " | Phase: " + internshipService.getPostingPhase(it)
                         + " | Visible: " + (it.isVisible() ? "ON" : "OFF")
                         + " | Applicants: " + it.getApplications().size());
             }
 
-            System.out.print("Choose posting (0 to cancel): ");
-            int ch = Integer.parseInt(sc.nextLine());
-            if (ch > 0 && ch <= list.size()) manageSinglePosting(list.get(ch - 1));
+            System.out.print("Enter posting ID (0 to cancel): ");
+            int id = Integer.parseInt(sc.nextLine().trim());
+            if (id == 0) return;
+            Internship chosen = internshipService.getInternshipById(id);
+            if (chosen == null || chosen.getPostedBy() != rep) {
+                System.out.println("You have no posting with ID " + id + ".");
+                return;
+            }
+            manageSinglePosting(chosen);
 
         } catch (Exception e) {
             System.out.println("Error: " + e.getMessage());
@@ -204,20 +212,18 @@ public class CompanyRepUI implements ICompanyRepUI {
                 return;
             }
 
-            int count = 1;
-            for (var entry : internship.getApplications().entrySet()) {
-                String sid = entry.getKey();
-                ApplicationStatus status = entry.getValue();
+            int[] count = {1};
+            internship.getApplications().forEach((sid, status) -> {
                 User u = userService.getUserById(sid);
 
                 if (u instanceof Student s) {
-                    System.out.println(count++ + ". " + s.getId() + ", " + s.getName() + ", "
+                    System.out.println(count[0]++ + ". " + s.getId() + ", " + s.getName() + ", "
                             + s.getMajor() + ", " + s.getYear() + ", " + s.getEmail()
                             + " - " + status);
                 } else {
-                    System.out.println(count++ + ". " + sid + " - " + status);
+                    System.out.println(count[0]++ + ". " + sid + " - " + status);
                 }
-            }
+            });
 
         } catch (Exception e) {
             System.out.println("Error while viewing applicants: " + e.getMessage());
@@ -226,10 +232,10 @@ public class CompanyRepUI implements ICompanyRepUI {
 
     private void reviewApplicant(Internship internship) {
         try {
-            List<String> pending = internship.getApplications().entrySet().stream()
-                    .filter(e -> e.getValue() == ApplicationStatus.APPLIED)
-                    .map(Map.Entry::getKey)
-                    .collect(Collectors.toList());
+            List<String> pending = new ArrayList<>();
+            internship.getApplications().forEach((sid, status) -> {
+                if (status == ApplicationStatus.APPLIED) pending.add(sid);
+            });
 
             if (pending.isEmpty()) {
                 System.out.println("No pending applications.");
@@ -276,36 +282,38 @@ public class CompanyRepUI implements ICompanyRepUI {
             System.out.println("-- Editing: " + internship.getTitle() + " (Status: PENDING) --");
             System.out.println("Press Enter to keep the current value.");
 
+            InternshipEdit edit = new InternshipEdit();
+
             System.out.print("Title [" + internship.getTitle() + "]: ");
             String t = sc.nextLine().trim();
-            if (!t.isEmpty()) internship.setTitle(t);
+            if (!t.isEmpty()) edit.title(t);
 
             System.out.print("Description [" + internship.getDescription() + "]: ");
             String d = sc.nextLine().trim();
-            if (!d.isEmpty()) internship.setDescription(d);
+            if (!d.isEmpty()) edit.description(d);
 
             System.out.print("Preferred Major [" + internship.getPreferredMajor() + "]: ");
             String m = sc.nextLine().trim();
-            if (!m.isEmpty()) internship.setPrefer_major(m);
+            if (!m.isEmpty()) edit.preferredMajor(m);
 
             System.out.print("Level (Basic/Intermediate/Advanced) [" + internship.getLevel() + "]: ");
             String lv = sc.nextLine().trim().toUpperCase();
-            if (!lv.isEmpty()) internship.setLevel(InternshipLevel.valueOf(lv));
+            if (!lv.isEmpty()) edit.level(InternshipLevel.valueOf(lv));
 
             System.out.print("Opening Date (YYYY-MM-DD) [" + internship.getOpeningDate() + "]: ");
             String od = sc.nextLine().trim();
-            if (!od.isEmpty()) internship.setOpeningDate(LocalDate.parse(od, df));
+            if (!od.isEmpty()) edit.openingDate(LocalDate.parse(od, df));
 
             System.out.print("Closing Date (YYYY-MM-DD) [" + internship.getClosingDate() + "]: ");
             String cd = sc.nextLine().trim();
-            if (!cd.isEmpty()) internship.setClosingDate(LocalDate.parse(cd, df));
+            if (!cd.isEmpty()) edit.closingDate(LocalDate.parse(cd, df));
 
             System.out.print("Slots (1–10) [" + internship.getSlots() + "]: ");
             String s = sc.nextLine().trim();
-            if (!s.isEmpty()) internship.setSlots(Integer.parseInt(s));
+            if (!s.isEmpty()) edit.slots(Integer.parseInt(s));
 
-            internshipService.updateInternship(internship);
-            System.out.println("Internship updated successfully.");
+            String problem = internshipService.updateInternship(internship, edit);
+            System.out.println(problem == null ? "Internship updated successfully." : "Error: " + problem + ".");
 
         } catch (Exception e) {
             System.out.println("Error while editing internship: " + e.getMessage());
@@ -373,20 +381,11 @@ public class CompanyRepUI implements ICompanyRepUI {
                 }
             }
 
-            List<Internship> list =
-                    new ArrayList<>(internshipService.getAllInternships());
-
-            list.sort(Comparator.comparing(Internship::getTitle,
-                    String.CASE_INSENSITIVE_ORDER));
-
-            list.removeIf(it ->
-                    (lastStatusFilter != null && it.getStatus() != lastStatusFilter) ||
-                            (lastMajorFilter != null &&
-                                    !it.getPreferredMajor().equalsIgnoreCase(lastMajorFilter)) ||
-                            (lastLevelFilter != null && it.getLevel() != lastLevelFilter) ||
-                            (lastClosingDateFilter != null &&
-                                    it.getClosingDate().isAfter(lastClosingDateFilter))
-            );
+            List<Internship> list = internshipService.filterInternships(new InternshipFilter()
+                    .status(lastStatusFilter)
+                    .major(lastMajorFilter)
+                    .level(lastLevelFilter)
+                    .closingBy(lastClosingDateFilter), InternshipSort.TITLE);
 
             if (list.isEmpty()) {
                 System.out.println("No internships match your filters.");
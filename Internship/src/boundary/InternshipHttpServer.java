@@ -0,0 +1,564 @@
+package boundary;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import control.ApplicationStore;
+import control.IInternshipService;
+import control.IUserService;
+import control.InstrumentedInternshipService;
+import control.InstrumentedUserService;
+import control.InternshipFilter;
+import control.InternshipEdit;
+import control.InternshipManager;
+import control.InternshipPage;
+import control.InternshipSort;
+import control.LatencyHistogram;
+import control.ServiceMetrics;
+import control.UserManager;
+import data.ApplicationLedger;
+import data.InternshipLog;
+import data.MetricsFile;
+import data.UserDataHandler;
+import data.UserStore;
+import entities.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class InternshipHttpServer {
+
+    private static class HttpError extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int code;
+
+        HttpError(int code, String message) {
+            super(message);
+            this.code = code;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        String handle(Map<String, String> params, User user);
+    }
+
+    private static final class Session {
+        final User user;
+        volatile long lastUsed;
+
+        Session(User user, long now) {
+            this.user = user;
+            this.lastUsed = now;
+        }
+    }
+
+    private final IUserService userService;
+    private final IInternshipService internshipService;
+    private final ServiceMetrics metrics;
+    // Keyed by token. A session unused for sessionIdleMillis is refused and dropped; logins sweep out the
+    // abandoned ones at most once per idle period.
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final long sessionIdleMillis = TimeUnit.MINUTES.toMillis(Long.getLong("internship.http.sessionIdleMinutes", 30));
+    private volatile long lastSweep = System.currentTimeMillis();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public InternshipHttpServer(IUserService userService, IInternshipService internshipService) {
+        this(userService, internshipService, new ServiceMetrics());
+    }
+
+    // Every service call made by the server is recorded in metrics.
+    public InternshipHttpServer(IUserService userService, IInternshipService internshipService, ServiceMetrics metrics) {
+        this.userService = new InstrumentedUserService(userService, metrics);
+        this.internshipService = new InstrumentedInternshipService(internshipService, metrics);
+        this.metrics = metrics;
+    }
+
+    public ServiceMetrics getMetrics() {
+        return metrics;
+    }
+
+    // Listens on the loopback interface unless internship.http.bind names another address.
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        String bind = System.getProperty("internship.http.bind");
+        InetAddress address = bind != null ? InetAddress.getByName(bind) : InetAddress.getLoopbackAddress();
+
+        UserDataHandler dataHandler = new UserDataHandler();
+        UserManager userManager = new UserManager(dataHandler);
+        ApplicationLedger ledger = ApplicationLedger.openConfigured();
+        InternshipManager internshipManager = new InternshipManager(ledger != null ? ledger : ApplicationStore.ON_HEAP);
+        userManager.loadAllUsers();
+        UserStore userStore = UserStore.openConfigured(userManager);
+        InternshipLog internshipLog = InternshipLog.openConfigured(internshipManager, userManager);
+        System.out.println(internshipLog.getRestoreStats().summary());
+
+        InternshipHttpServer httpServer = new InternshipHttpServer(userManager, internshipManager);
+        MetricsFile metricsFile = MetricsFile.openConfigured(httpServer.getMetrics());
+        httpServer.start(address, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            httpServer.stop();
+            try {
+                metricsFile.close();
+            } catch (IOException e) {
+                System.out.println("Error writing metrics: " + e.getMessage());
+            }
+            try {
+                internshipLog.close();
+            } catch (IOException e) {
+                System.out.println("Error closing internship log: " + e.getMessage());
+            }
+            try {
+                // After the log's final checkpoint, so the snapshot covers everything the ledger holds.
+                if (ledger != null) ledger.close();
+            } catch (IOException e) {
+                System.out.println("Error closing application ledger: " + e.getMessage());
+            }
+            try {
+                userStore.close();
+            } catch (IOException e) {
+                System.out.println("Error saving users: " + e.getMessage());
+            }
+            dataHandler.saveUsersToCSV(userManager);
+        }));
+        System.out.println("Internship service listening on http://" + address.getHostAddress() + ":" + port + "/");
+    }
+
+    public void start(int port) throws IOException {
+        start(InetAddress.getLoopbackAddress(), port);
+    }
+
+    public void start(InetAddress address, int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(address, port), 1024);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+
+        route("POST", "/login", this::login, false);
+        route("POST", "/logout", this::logout, true);
+        route("POST", "/reps/register", this::registerCompanyRep, false);
+        route("GET", "/reps/pending", this::pendingCompanyReps, true);
+        route("POST", "/reps/review", this::reviewCompanyRep, true);
+        route("GET", "/internships", this::listInternships, true);
+        route("GET", "/internships/search", this::searchInternships, true);
+        route("GET", "/internship", this::getInternship, true);
+        route("POST", "/internships/create", this::createInternship, true);
+        route("POST", "/internships/update", this::updateInternship, true);
+        route("POST", "/internships/delete", this::deleteInternship, true);
+        route("POST", "/internships/toggle", this::toggleVisibility, true);
+        route("POST", "/internships/review", this::reviewInternship, true);
+        route("GET", "/applications", this::myApplications, true);
+        route("POST", "/applications/apply", this::apply, true);
+        route("POST", "/applications/review", this::reviewApplication, true);
+        route("POST", "/applications/accept", this::acceptOffer, true);
+        route("GET", "/withdrawals", this::pendingWithdrawals, true);
+        route("POST", "/withdrawals/request", this::requestWithdrawal, true);
+        route("POST", "/withdrawals/process", this::processWithdrawal, true);
+        route("GET", "/metrics", this::serviceMetrics, true);
+
+        server.start();
+    }
+
+    public void stop() {
+        if (server != null) server.stop(0);
+        if (executor != null) executor.shutdown();
+    }
+
+    private void route(String method, String path, Handler handler, boolean needsSession) {
+        server.createContext(path, exchange -> {
+            int code = 200;
+            String body;
+            try {
+                if (!exchange.getRequestURI().getPath().equals(path)) throw new HttpError(404, "Not found");
+                if (!exchange.getRequestMethod().equalsIgnoreCase(method)) throw new HttpError(405, "Use " + method);
+                Map<String, String> params = readParams(exchange);
+                User user = null;
+                if (needsSession) user = sessionUser(exchange.getRequestHeaders().getFirst("X-Session"));
+                body = handler.handle(params, user);
+            } catch (HttpError e) {
+                code = e.code;
+                body = error(e.getMessage());
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                // Bad input: unparsable numbers, dates or enum names. NumberFormatException is one of these.
+                code = 400;
+                body = error(e.getMessage());
+            } catch (RuntimeException e) {
+                code = 500;
+                body = error("Internal error: " + e);
+            }
+            send(exchange, code, body);
+        });
+    }
+
+    private User sessionUser(String token) {
+        Session session = token == null ? null : sessions.get(token);
+        if (session == null) throw new HttpError(401, "Login required");
+        long now = System.currentTimeMillis();
+        if (now - session.lastUsed > sessionIdleMillis) {
+            sessions.remove(token, session);
+            throw new HttpError(401, "Session expired");
+        }
+        session.lastUsed = now;
+        return session.user;
+    }
+
+    private void sweepSessions(long now) {
+        if (now - lastSweep < sessionIdleMillis) return;
+        lastSweep = now;
+        sessions.values().removeIf(s -> now - s.lastUsed > sessionIdleMillis);
+    }
+
+    // --- users ---
+
+    private String login(Map<String, String> p, User ignored) {
+        User user = userService.authenticateUser(required(p, "id"), required(p, "password"));
+        if (user == null) throw new HttpError(401, "Login failed");
+        long now = System.currentTimeMillis();
+        sweepSessions(now);
+        String token = UUID.randomUUID().toString();
+        sessions.put(token, new Session(user, now));
+        return "{\"token\":" + str(token) + ",\"user\":" + user(user) + "}";
+    }
+
+    private String logout(Map<String, String> p, User user) {
+        sessions.values().removeIf(s -> s.user == user);
+        return ok(true);
+    }
+
+    private String registerCompanyRep(Map<String, String> p, User ignored) {
+        CompanyRepresentative rep = userService.registerCompanyRep(required(p, "email"), required(p, "name"),
+                required(p, "company"), p.getOrDefault("department", ""), p.getOrDefault("position", ""));
+        if (rep == null) throw new HttpError(409, "Account may already exist");
+        return user(rep);
+    }
+
+    private String pendingCompanyReps(Map<String, String> p, User user) {
+        requireRole(user, CareerCenterStaff.class);
+        StringBuilder sb = new StringBuilder("[");
+        for (CompanyRepresentative rep : userService.getPendingCompanyReps()) {
+            if (sb.length() > 1) sb.append(',');
+            sb.append(user(rep));
+        }
+        return sb.append(']').toString();
+    }
+
+    // Only pending accounts can be reviewed, as from the console; an approved rep is never removed here.
+    private String reviewCompanyRep(Map<String, String> p, User user) {
+        requireRole(user, CareerCenterStaff.class);
+        String id = required(p, "id");
+        var result = userService.reviewCompanyReps(List.of(id), bool(p, "approve"));
+        if (!result.getErrors().isEmpty()) {
+            String problem = result.getErrors().get(0).getMessage();
+            throw new HttpError(userService.getUserById(id) instanceof CompanyRepresentative ? 409 : 404, problem);
+        }
+        return ok(true);
+    }
+
+    // --- internships ---
+
+    private String listInternships(Map<String, String> p, User user) {
+        InternshipFilter filter = listingFilter(p, user);
+        if (!p.containsKey("pageSize")) return internships(internshipService.filterInternships(filter));
+
+        InternshipSort sort = InternshipSort.valueOf(p.getOrDefault("sort", "ID").toUpperCase());
+        InternshipPage page = internshipService.queryInternships(filter, sort, Integer.parseInt(p.get("pageSize")),
+                p.get("cursor"));
+        return "{\"items\":" + internships(page.getItems()) + ",\"nextCursor\":" + str(page.getNextCursor()) + "}";
+    }
+
+    // Ranked keyword search; with prefix=true the last word of q may be incomplete.
+    private String searchInternships(Map<String, String> p, User user) {
+        InternshipFilter filter = listingFilter(p, user);
+        int limit = Integer.parseInt(p.getOrDefault("limit", "20"));
+        return internships(p.containsKey("prefix") && bool(p, "prefix")
+                ? internshipService.searchInternshipsByPrefix(required(p, "q"), filter, limit)
+                : internshipService.searchInternships(required(p, "q"), filter, limit));
+    }
+
+    // The filter from the query parameters, narrowed to what a student may see.
+    private static InternshipFilter listingFilter(Map<String, String> p, User user) {
+        InternshipFilter filter = new InternshipFilter()
+                .status(p.containsKey("status") ? InternshipStatus.valueOf(p.get("status").toUpperCase()) : null)
+                .level(p.containsKey("level") ? InternshipLevel.valueOf(p.get("level").toUpperCase()) : null)
+                .major(p.get("major"))
+                .closingBy(p.containsKey("closingBy") ? LocalDate.parse(p.get("closingBy")) : null);
+        if (p.containsKey("visible")) filter.visible(bool(p, "visible"));
+        if (p.containsKey("phase")) filter.phase(PostingPhase.valueOf(p.get("phase").toUpperCase()));
+        if (user instanceof Student s) filter.eligibleFor(s);
+        return filter;
+    }
+
+    private String getInternship(Map<String, String> p, User user) {
+        return internship(findInternship(p));
+    }
+
+    private String createInternship(Map<String, String> p, User user) {
+        CompanyRepresentative rep = requireRole(user, CompanyRepresentative.class);
+        Internship it = internshipService.createInternship(rep, required(p, "title"), p.getOrDefault("description", ""),
+                InternshipLevel.valueOf(required(p, "level").toUpperCase()), required(p, "major"),
+                LocalDate.parse(required(p, "openingDate")), LocalDate.parse(required(p, "closingDate")),
+                Integer.parseInt(required(p, "slots")));
+        if (it == null) throw new HttpError(409, "Failed to create posting");
+        return internship(it);
+    }
+
+    private String updateInternship(Map<String, String> p, User user) {
+        Internship it = ownPosting(p, user);
+        InternshipEdit edit = new InternshipEdit()
+                .title(p.get("title"))
+                .description(p.get("description"))
+                .preferredMajor(p.get("major"))
+                .level(p.containsKey("level") ? InternshipLevel.valueOf(p.get("level").toUpperCase()) : null)
+                .openingDate(p.containsKey("openingDate") ? LocalDate.parse(p.get("openingDate")) : null)
+                .closingDate(p.containsKey("closingDate") ? LocalDate.parse(p.get("closingDate")) : null)
+                .slots(p.containsKey("slots") ? Integer.valueOf(p.get("slots")) : null);
+        String problem = internshipService.updateInternship(it, edit);
+        if (problem != null) throw new HttpError(409, problem);
+        return internship(it);
+    }
+
+    private String deleteInternship(Map<String, String> p, User user) {
+        Internship it = ownPosting(p, user);
+        try {
+            return ok(internshipService.deleteInternship(it));
+        } catch (IllegalStateException e) {
+            throw new HttpError(409, e.getMessage());
+        }
+    }
+
+    private String toggleVisibility(Map<String, String> p, User user) {
+        Internship it = ownPosting(p, user);
+        internshipService.toggleVisibility(it);
+        return internship(it);
+    }
+
+    private String reviewInternship(Map<String, String> p, User user) {
+        requireRole(user, CareerCenterStaff.class);
+        Internship it = findInternship(p);
+        if (it.getStatus() != InternshipStatus.PENDING) throw new HttpError(409, "Posting is not pending");
+        internshipService.reviewInternshipPosting(it, bool(p, "approve"));
+        return internship(it);
+    }
+
+    // --- applications ---
+
+    private String myApplications(Map<String, String> p, User user) {
+        Student s = requireRole(user, Student.class);
+        StringBuilder sb = new StringBuilder("[");
+        for (var entry : internshipService.getApplicationsForStudent(s).entrySet()) {
+            if (sb.length() > 1) sb.append(',');
+            sb.append("{\"internship\":").append(internship(entry.getKey()))
+                    .append(",\"status\":").append(str(entry.getValue().name())).append('}');
+        }
+        return sb.append(']').toString();
+    }
+
+    private String apply(Map<String, String> p, User user) {
+        return ok(internshipService.applyForInternship(requireRole(user, Student.class), findInternship(p)));
+    }
+
+    private String reviewApplication(Map<String, String> p, User user) {
+        Internship it = ownPosting(p, user);
+        if (!(userService.getUserById(required(p, "studentId")) instanceof Student s))
+            throw new HttpError(404, "No such student");
+        return ok(internshipService.reviewApplication(it, s, bool(p, "approve")));
+    }
+
+    private String acceptOffer(Map<String, String> p, User user) {
+        return ok(internshipService.acceptOffer(requireRole(user, Student.class), findInternship(p)));
+    }
+
+    // --- withdrawals ---
+
+    private String pendingWithdrawals(Map<String, String> p, User user) {
+        requireRole(user, CareerCenterStaff.class);
+        StringBuilder sb = new StringBuilder("[");
+        int offset = Integer.parseInt(p.getOrDefault("offset", "0"));
+        int limit = Integer.parseInt(p.getOrDefault("limit", String.valueOf(Integer.MAX_VALUE)));
+        for (WithdrawalRequest r : internshipService.getPendingWithdrawalRequests(offset, limit)) {
+            if (sb.length() > 1) sb.append(',');
+            sb.append(withdrawal(r));
+        }
+        return sb.append(']').toString();
+    }
+
+    private String requestWithdrawal(Map<String, String> p, User user) {
+        WithdrawalRequest req = internshipService.requestWithdrawal(requireRole(user, Student.class), findInternship(p));
+        if (req == null) throw new HttpError(409, "Withdrawal request failed");
+        return withdrawal(req);
+    }
+
+    private String processWithdrawal(Map<String, String> p, User user) {
+        requireRole(user, CareerCenterStaff.class);
+        String studentId = required(p, "studentId");
+        int internshipId = Integer.parseInt(required(p, "id"));
+        WithdrawalRequest r = internshipService.getPendingWithdrawalRequest(studentId, internshipId);
+        if (r == null) throw new HttpError(404, "No such pending withdrawal request");
+        internshipService.processWithdrawalRequest(r, bool(p, "approve"));
+        return ok(true);
+    }
+
+    // --- helpers ---
+
+    private String serviceMetrics(Map<String, String> p, User user) {
+        requireRole(user, CareerCenterStaff.class);
+        ServiceMetrics.Snapshot snapshot = metrics.snapshot();
+        StringBuilder sb = new StringBuilder("{\"uptimeMillis\":").append(snapshot.getUptimeMillis()).append(",\"methods\":[");
+        boolean first = true;
+        for (ServiceMetrics.MethodStats m : snapshot.getMethods()) {
+            if (!first) sb.append(',');
+            first = false;
+            LatencyHistogram.Snapshot h = m.getLatencies();
+            sb.append("{\"name\":").append(str(m.getName()))
+                    .append(",\"calls\":").append(m.getCalls())
+                    .append(",\"errors\":").append(m.getErrors())
+                    .append(",\"meanNanos\":").append(Math.round(h.getMeanNanos()))
+                    .append(",\"p50Nanos\":").append(h.getValueAtPercentile(0.5))
+                    .append(",\"p99Nanos\":").append(h.getValueAtPercentile(0.99))
+                    .append(",\"p999Nanos\":").append(h.getValueAtPercentile(0.999))
+                    .append(",\"maxNanos\":").append(h.getMaxNanos()).append('}');
+        }
+        return sb.append("]}").toString();
+    }
+
+    private Internship findInternship(Map<String, String> p) {
+        Internship it = internshipService.getInternshipById(Integer.parseInt(required(p, "id")));
+        if (it == null) throw new HttpError(404, "No such internship");
+        return it;
+    }
+
+    private Internship ownPosting(Map<String, String> p, User user) {
+        CompanyRepresentative rep = requireRole(user, CompanyRepresentative.class);
+        Internship it = findInternship(p);
+        if (it.getPostedBy() != rep) throw new HttpError(403, "Not your posting");
+        return it;
+    }
+
+    private static <T extends User> T requireRole(User user, Class<T> role) {
+        if (!role.isInstance(user)) throw new HttpError(403, "Not allowed for this account");
+        return role.cast(user);
+    }
+
+    private static String required(Map<String, String> p, String name) {
+        String v = p.get(name);
+        if (v == null || v.isBlank()) throw new HttpError(400, "Missing parameter: " + name);
+        return v;
+    }
+
+    private static boolean bool(Map<String, String> p, String name) {
+        String v = required(p, name).toLowerCase();
+        return v.equals("true") || v.startsWith("y") || v.equals("1");
+    }
+
+    private static Map<String, String> readParams(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        parseQuery(exchange.getRequestURI().getRawQuery(), params);
+        if (exchange.getRequestMethod().equalsIgnoreCase("POST")) {
+            parseQuery(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8), params);
+        }
+        return params;
+    }
+
+    private static void parseQuery(String query, Map<String, String> params) {
+        if (query == null || query.isEmpty()) return;
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) continue;
+            params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void send(HttpExchange exchange, int code, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(code, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    // --- JSON ---
+
+    private static String ok(boolean ok) {
+        return "{\"ok\":" + ok + "}";
+    }
+
+    private static String error(String message) {
+        return "{\"error\":" + str(message) + "}";
+    }
+
+    private static String user(User u) {
+        String role = u instanceof Student ? "student"
+                : u instanceof CareerCenterStaff ? "staff"
+                : "companyRep";
+        return "{\"id\":" + str(u.getId()) + ",\"name\":" + str(u.getName()) + ",\"role\":" + str(role) + "}";
+    }
+
+    private static String internships(List<Internship> list) {
+        StringBuilder sb = new StringBuilder("[");
+        for (Internship it : list) {
+            if (sb.length() > 1) sb.append(',');
+            sb.append(internship(it));
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String internship(Internship it) {
+        return "{\"id\":" + it.getId()
+                + ",\"title\":" + str(it.getTitle())
+                + ",\"company\":" + str(it.getCompanyName())
+                + ",\"description\":" + str(it.getDescription())
+                + ",\"level\":" + str(it.getLevel().name())
+                + ",\"major\":" + str(it.getPreferredMajor())
+                + ",\"status\":" + str(it.getStatus().name())
+                + ",\"visible\":" + it.isVisible()
+                + ",\"slots\":" + it.getSlots()
+                + ",\"applicants\":" + it.getApplications().size()
+                + ",\"confirmed\":" + it.countApplicationsByStatus(ApplicationStatus.CONFIRMED)
+                + ",\"openingDate\":" + str(String.valueOf(it.getOpeningDate()))
+                + ",\"closingDate\":" + str(String.valueOf(it.getClosingDate())) + "}";
+    }
+
+    private static String withdrawal(WithdrawalRequest r) {
+        return "{\"studentId\":" + str(r.getStudent().getId())
+                + ",\"studentName\":" + str(r.getStudent().getName())
+                + ",\"internshipId\":" + r.getInternship().getId()
+                + ",\"internshipTitle\":" + str(r.getInternship().getTitle())
+                + ",\"afterConfirmation\":" + r.wasAfterConfirmation() + "}";
+    }
+
+    private static String str(String s) {
+        if (s == null) return "null";
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
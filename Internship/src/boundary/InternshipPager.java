@@ -0,0 +1,57 @@
+package boundary;
+
+import control.IInternshipService;
+import control.InternshipFilter;
+import control.InternshipPage;
+import control.InternshipSort;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+// Steps forwards and backwards through the pages of one internship query for the console screens.
+// Only the cursors of earlier pages are kept, never their items.
+class InternshipPager {
+    private final IInternshipService service;
+    private final InternshipFilter filter;
+    private final InternshipSort sort;
+    private final int pageSize;
+    private final Deque<String> earlier = new ArrayDeque<>();
+    private String cursor;
+    private InternshipPage page;
+
+    InternshipPager(IInternshipService service, InternshipFilter filter, InternshipSort sort, int pageSize) {
+        this.service = service;
+        this.filter = filter;
+        this.sort = sort;
+        this.pageSize = pageSize;
+    }
+
+    InternshipPage current() {
+        if (page == null) page = service.queryInternships(filter, sort, pageSize, cursor);
+        return page;
+    }
+
+    int pageNumber() {
+        return earlier.size() + 1;
+    }
+
+    boolean hasPrevious() {
+        return !earlier.isEmpty();
+    }
+
+    boolean next() {
+        if (!current().hasNext()) return false;
+        earlier.push(cursor == null ? "" : cursor);
+        cursor = page.getNextCursor();
+        page = null;
+        return true;
+    }
+
+    boolean previous() {
+        if (earlier.isEmpty()) return false;
+        String c = earlier.pop();
+        cursor = c.isEmpty() ? null : c;
+        page = null;
+        return true;
+    }
+}
@@ -1,19 +1,29 @@
 package boundary;
 
+import control.ApplicationStore;
 import control.InternshipManager;
 import control.UserManager;
+import data.ApplicationLedger;
+import data.InternshipLog;
 import data.UserDataHandler;
+import data.UserStore;
+
+import java.io.IOException;
 import java.util.Scanner;
 
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
 
         UserDataHandler dataHandler = new UserDataHandler();
         UserManager userManager = new UserManager(dataHandler);
-        InternshipManager internshipManager = new InternshipManager();
+        ApplicationLedger ledger = ApplicationLedger.openConfigured();
+        InternshipManager internshipManager = new InternshipManager(ledger != null ? ledger : ApplicationStore.ON_HEAP);
         Scanner sc = new Scanner(System.in);
 
         userManager.loadAllUsers();
+        UserStore userStore = UserStore.openConfigured(userManager);
+        InternshipLog internshipLog = InternshipLog.openConfigured(internshipManager, userManager);
+        System.out.println(internshipLog.getRestoreStats().summary());
 
         boolean exit = false;
         while (!exit) {
@@ -31,6 +41,9 @@ public class Main {
             }
         }
 
+        internshipLog.close();
+        if (ledger != null) ledger.close();
+        userStore.close();
         dataHandler.saveUsersToCSV(userManager);
     }
 
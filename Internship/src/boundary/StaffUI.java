@@ -1,15 +1,18 @@
 package boundary;
 
+import control.BatchResult;
 import control.IInternshipService;
 import control.IUserService;
+import control.InternshipFilter;
+import control.InternshipSort;
 import entities.*;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Scanner;
 
 public class StaffUI implements IStaffUI {
+    private static final int WITHDRAWAL_PAGE_SIZE = 10;
 
     private final IUserService userService;
     private final IInternshipService internshipService;
@@ -78,17 +81,27 @@ public class StaffUI implements IStaffUI {
                 CompanyRepresentative rep = pending.get(i);
                 System.out.println((i + 1) + ". " + rep.getName() + " (" + rep.getCompanyName() + ")");
             }
-            System.out.print("Select account (0 to cancel): ");
-            int ch = Integer.parseInt(sc.nextLine());
-            if (ch <= 0 || ch > pending.size()) return;
-            CompanyRepresentative rep = pending.get(ch - 1);
+            System.out.print("Select account(s) (e.g. 2, 1,3-5 or all; 0 to cancel): ");
+            List<Integer> picked = parseSelection(sc.nextLine(), pending.size());
+            if (picked.isEmpty()) return;
+            if (picked.size() > 1) {
+                System.out.print("Approve these " + picked.size() + " accounts? (y = approve, n = reject and remove): ");
+                boolean approve = sc.nextLine().trim().toLowerCase().startsWith("y");
+                List<String> ids = new ArrayList<>(picked.size());
+                for (int i : picked) ids.add(pending.get(i).getId());
+                printBatchResult(userService.reviewCompanyReps(ids, approve), picked,
+                        approve ? "account(s) approved." : "account(s) rejected and removed.");
+                return;
+            }
+            CompanyRepresentative rep = pending.get(picked.get(0));
             System.out.print("Approve this account? (y/n): ");
-            if (sc.nextLine().trim().toLowerCase().startsWith("y")) {
-                rep.setApproved(true);
-                System.out.println("Account approved. The representative may now log in.");
+            boolean approve = sc.nextLine().trim().toLowerCase().startsWith("y");
+            var result = userService.reviewCompanyReps(List.of(rep.getId()), approve);
+            if (!result.getErrors().isEmpty()) {
+                System.out.println("Error: " + result.getErrors().get(0).getMessage());
             } else {
-                userService.removeUser(rep.getId());
-                System.out.println("Account rejected and removed.");
+                System.out.println(approve ? "Account approved. The representative may now log in."
+                        : "Account rejected and removed.");
             }
         } catch (NumberFormatException e) {
             System.out.println("Invalid input. Please enter a number.");
@@ -99,9 +112,8 @@ public class StaffUI implements IStaffUI {
 
     private void approveInternships() {
         try {
-            var pending = internshipService.getAllInternships().stream()
-                    .filter(i -> i.getStatus() == InternshipStatus.PENDING)
-                    .toList();
+            var pending = internshipService.filterInternships(
+                    new InternshipFilter().status(InternshipStatus.PENDING));
             if (pending.isEmpty()) {
                 System.out.println("No pending internship postings.");
                 return;
@@ -110,10 +122,24 @@ public class StaffUI implements IStaffUI {
                 Internship it = pending.get(i);
                 System.out.println((i + 1) + ". " + it.getTitle() + " (" + it.getCompanyName() + ","+it.getDescription()+ ")");
             }
-            System.out.print("Select posting (0 to cancel): ");
-            int ch = Integer.parseInt(sc.nextLine());
-            if (ch <= 0 || ch > pending.size()) return;
-            Internship internship = pending.get(ch - 1);
+            System.out.print("Select posting(s) (e.g. 2, 1,3-5 or all; 0 to cancel): ");
+            List<Integer> picked = parseSelection(sc.nextLine(), pending.size());
+            if (picked.isEmpty()) return;
+            if (picked.size() > 1) {
+                System.out.print("Approve these " + picked.size() + " internships? (y = approve, n = reject): ");
+                boolean approve = sc.nextLine().trim().toLowerCase().startsWith("y");
+                List<Integer> ids = new ArrayList<>(picked.size());
+                for (int i : picked) ids.add(pending.get(i).getId());
+                printBatchResult(internshipService.reviewInternshipPostings(ids, approve), picked,
+                        approve ? "posting(s) approved and now visible to students." : "posting(s) rejected.");
+                return;
+            }
+            // The list may be stale by now; the rep can delete a pending posting while it is on screen.
+            Internship internship = internshipService.getInternshipById(pending.get(picked.get(0)).getId());
+            if (internship == null) {
+                System.out.println("That posting no longer exists.");
+                return;
+            }
             System.out.print("Approve this internship? (y/n): ");
             boolean approve = sc.nextLine().trim().toLowerCase().startsWith("y");
             internshipService.reviewInternshipPosting(internship, approve);
@@ -127,21 +153,45 @@ public class StaffUI implements IStaffUI {
 
     private void reviewWithdrawals() {
         try {
-            var reqs = internshipService.getPendingWithdrawalRequests();
-            if (reqs.isEmpty()) {
-                System.out.println("No withdrawal requests pending.");
-                return;
-            }
-            for (int i = 0; i < reqs.size(); i++) {
-                WithdrawalRequest r = reqs.get(i);
-                System.out.println((i + 1) + ". Student: " + r.getStudent().getName() +
-                        " | Internship: " + r.getInternship().getTitle() +
-                        (r.wasAfterConfirmation() ? " (After Confirmation)" : ""));
+            int offset = 0;
+            WithdrawalRequest req = null;
+            while (req == null) {
+                int total = internshipService.getPendingWithdrawalCount();
+                if (total == 0) {
+                    System.out.println("No withdrawal requests pending.");
+                    return;
+                }
+                if (offset >= total) offset = (total - 1) / WITHDRAWAL_PAGE_SIZE * WITHDRAWAL_PAGE_SIZE;
+                List<WithdrawalRequest> reqs = internshipService.getPendingWithdrawalRequests(offset, WITHDRAWAL_PAGE_SIZE);
+                System.out.println("Requests " + (offset + 1) + "-" + (offset + reqs.size()) + " of " + total + ":");
+                for (int i = 0; i < reqs.size(); i++) {
+                    WithdrawalRequest r = reqs.get(i);
+                    System.out.println((i + 1) + ". Student: " + r.getStudent().getName() +
+                            " | Internship: " + r.getInternship().getTitle() +
+                            (r.wasAfterConfirmation() ? " (After Confirmation)" : ""));
+                }
+                System.out.print("Select request(s) on this page (e.g. 2, 1,3-5 or all; n = next page, "
+                        + "p = previous page, 0 to cancel): ");
+                String input = sc.nextLine().trim().toLowerCase();
+                if (input.equals("n")) {
+                    if (offset + WITHDRAWAL_PAGE_SIZE < total) offset += WITHDRAWAL_PAGE_SIZE;
+                } else if (input.equals("p")) {
+                    offset = Math.max(0, offset - WITHDRAWAL_PAGE_SIZE);
+                } else {
+                    List<Integer> picked = parseSelection(input, reqs.size());
+                    if (picked.isEmpty()) return;
+                    if (picked.size() > 1) {
+                        System.out.print("Approve these " + picked.size() + " withdrawals? (y = approve, n = reject): ");
+                        boolean approve = sc.nextLine().trim().toLowerCase().startsWith("y");
+                        List<WithdrawalRequest> selected = new ArrayList<>(picked.size());
+                        for (int i : picked) selected.add(reqs.get(i));
+                        printBatchResult(internshipService.processWithdrawalRequests(selected, approve), picked,
+                                approve ? "withdrawal(s) approved." : "withdrawal(s) rejected.");
+                        return;
+                    }
+                    req = reqs.get(picked.get(0));
+                }
             }
-            System.out.print("Select request (0 to cancel): ");
-            int ch = Integer.parseInt(sc.nextLine());
-            if (ch <= 0 || ch > reqs.size()) return;
-            WithdrawalRequest req = reqs.get(ch - 1);
             System.out.print("Approve this withdrawal? (y/n): ");
             boolean approve = sc.nextLine().trim().toLowerCase().startsWith("y");
             internshipService.processWithdrawalRequest(req, approve);
@@ -153,6 +203,37 @@ public class StaffUI implements IStaffUI {
         }
     }
 
+    // Parses a selection such as "3", "1,4,7", "2-5" or "all" against a list of count items. Returns
+    // zero-based indexes in ascending order without duplicates, or an empty list for "0".
+    static List<Integer> parseSelection(String input, int count) {
+        String text = input.trim().toLowerCase();
+        List<Integer> picked = new ArrayList<>();
+        if (text.equals("0")) return picked;
+        if (text.equals("all")) {
+            for (int i = 0; i < count; i++) picked.add(i);
+            return picked;
+        }
+        boolean[] chosen = new boolean[count];
+        for (String part : text.split(",")) {
+            String[] range = part.trim().split("-", 2);
+            int from = Integer.parseInt(range[0].trim());
+            int to = range.length == 2 ? Integer.parseInt(range[1].trim()) : from;
+            if (from < 1 || to > count || from > to) throw new NumberFormatException("selection out of range");
+            for (int i = from; i <= to; i++) chosen[i - 1] = true;
+        }
+        for (int i = 0; i < count; i++) {
+            if (chosen[i]) picked.add(i);
+        }
+        return picked;
+    }
+
+    private static void printBatchResult(BatchResult<?> result, List<Integer> picked, String done) {
+        System.out.println(result.getSucceededCount() + " " + done);
+        for (BatchResult.RowError e : result.getErrors()) {
+            System.out.println("  #" + (picked.get(e.getRow()) + 1) + ": " + e.getMessage());
+        }
+    }
+
     private void generateReports() {
         try {
             System.out.println("-- Internship Report Filters --");
@@ -176,13 +257,10 @@ public class StaffUI implements IStaffUI {
                 catch (Exception e) { lastLevelFilter = null; }
             }
 
-            List<Internship> list = new ArrayList<>(internshipService.getAllInternships());
-            list.sort(Comparator.comparing(Internship::getTitle, String.CASE_INSENSITIVE_ORDER));
-            list.removeIf(it ->
-                    (lastStatusFilter != null && it.getStatus() != lastStatusFilter) ||
-                            (lastMajorFilter != null && !it.getPreferredMajor().equalsIgnoreCase(lastMajorFilter)) ||
-                            (lastLevelFilter != null && it.getLevel() != lastLevelFilter)
-            );
+            List<Internship> list = internshipService.filterInternships(new InternshipFilter()
+                    .status(lastStatusFilter)
+                    .major(lastMajorFilter)
+                    .level(lastLevelFilter), InternshipSort.TITLE);
 
             if (list.isEmpty()) {
                 System.out.println("No internship postings match the filters.");
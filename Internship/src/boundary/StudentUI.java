@@ -2,17 +2,19 @@ package boundary;
 
 import control.IInternshipService;
 import control.IUserService;
+import control.InternshipFilter;
+import control.InternshipSort;
 import entities.*;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Scanner;
 
 public class StudentUI implements IStudentUI {
+    private static final int PAGE_SIZE = 20;
 
     private final IUserService userService;
     private final IInternshipService internshipService;
@@ -64,6 +66,9 @@ public class StudentUI implements IStudentUI {
             System.out.println("-- Internship Filters --");
             System.out.println("Press Enter to keep previous filters");
 
+            System.out.print("Keywords in title or description (Enter for none): ");
+            String keywords = sc.nextLine().trim();
+
             System.out.print("Status (Pending/Approved/Rejected/Filled): ");
             String st = sc.nextLine().trim();
             if (!st.isEmpty()) {
@@ -89,44 +94,62 @@ public class StudentUI implements IStudentUI {
                 catch (DateTimeParseException e) { lastClosingDateFilter = null; }
             }
 
-            List<Internship> list = new ArrayList<>(internshipService.getAllInternships());
-            list.removeIf(it ->
-                    it.getStatus() != InternshipStatus.APPROVED ||
-                            !it.isVisible() ||
-                            !it.getPreferredMajor().equalsIgnoreCase(s.getMajor()) ||
-                            (s.getYear() <= 2 && it.getLevel() != InternshipLevel.BASIC) ||
-                            (lastStatusFilter != null && it.getStatus() != lastStatusFilter) ||
-                            (lastMajorFilter != null && !it.getPreferredMajor().equalsIgnoreCase(lastMajorFilter)) ||
-                            (lastLevelFilter != null && it.getLevel() != lastLevelFilter) ||
-                            (lastClosingDateFilter != null && it.getClosingDate().isAfter(lastClosingDateFilter))
-            );
-
-            list.sort(Comparator.comparing(Internship::getTitle, String.CASE_INSENSITIVE_ORDER));
-
-            if (list.isEmpty()) {
-                System.out.println("No internships match the filters.");
+            InternshipFilter filter = new InternshipFilter()
+                    .eligibleFor(s)
+                    .status(lastStatusFilter)
+                    .major(lastMajorFilter)
+                    .level(lastLevelFilter)
+                    .closingBy(lastClosingDateFilter);
+
+            if (!keywords.isEmpty()) {
+                List<Internship> hits = internshipService.searchInternships(keywords, filter, PAGE_SIZE);
+                if (hits.isEmpty()) {
+                    System.out.println("No internships match the keywords and filters.");
+                    return;
+                }
+                System.out.println("Best matches for \"" + keywords + "\":");
+                for (Internship it : hits) printListing(it);
                 return;
             }
 
-            for (Internship it : list) {
-                System.out.println(it.getTitle() + " | " + it.getCompanyName() +
-                        " | Description: " + it.getDescription()+
-                        " | Level: " + it.getLevel() +
-                        " | Major: " + it.getPreferredMajor() +
-                        " | Closes: " + it.getClosingDate());
+            InternshipPager pager = new InternshipPager(internshipService, filter, InternshipSort.TITLE, PAGE_SIZE);
+            while (true) {
+                List<Internship> list = pager.current().getItems();
+                if (list.isEmpty()) {
+                    System.out.println("No internships match the filters.");
+                    return;
+                }
+
+                for (Internship it : list) printListing(it);
+                if (!pager.current().hasNext() && !pager.hasPrevious()) return;
+
+                System.out.print("Page " + pager.pageNumber() + " (n = next page, p = previous page, Enter to finish): ");
+                String input = sc.nextLine().trim().toLowerCase();
+                if (input.equals("n")) pager.next();
+                else if (input.equals("p")) pager.previous();
+                else return;
             }
         } catch (Exception e) {
             System.out.println("Error while filtering internships: " + e.getMessage());
         }
     }
 
+    private static void printListing(Internship it) {
+        System.out.println(it.getTitle() + " | " + it.getCompanyName() +
+                " | Description: " + it.getDescription()+
+                " | Level: " + it.getLevel() +
+                " | Major: " + it.getPreferredMajor() +
+                " | Closes: " + it.getClosingDate());
+    }
+
     private void listMyApplications(Student s) {
         try {
             System.out.println("-- My Applications --");
             boolean found = false;
 
-            for (Internship it : internshipService.getAllInternships()) {
-                ApplicationStatus appStatus = it.getApplications().get(s.getId());
+            for (var entry : internshipService.getApplicationsForStudent(s).entrySet()) {
+                Internship it = entry.getKey();
+                ApplicationStatus appStatus = entry.getValue();
 
                 if (appStatus != null) {
                     found = true;
@@ -160,26 +183,40 @@ public class StudentUI implements IStudentUI {
 
     private void applyToInternship(Student s) {
         try {
-            List<Internship> openList = new ArrayList<>();
-            for (Internship it : internshipService.getAllInternships()) {
-                if (it.isOpenForApplication(s)) openList.add(it);
-            }
-
-            openList.sort(Comparator.comparing(Internship::getTitle, String.CASE_INSENSITIVE_ORDER));
-
-            if (openList.isEmpty()) {
-                System.out.println("No internships available for application.");
-                return;
-            }
+            InternshipFilter filter = new InternshipFilter()
+                    .eligibleFor(s)
+                    .phase(PostingPhase.OPEN);
+            InternshipPager pager = new InternshipPager(internshipService, filter, InternshipSort.TITLE, PAGE_SIZE);
+
+            Internship selected = null;
+            while (selected == null) {
+                List<Internship> openList = pager.current().getItems();
+                if (openList.isEmpty()) {
+                    System.out.println("No internships available for application.");
+                    return;
+                }
 
-            for (int i = 0; i < openList.size(); i++) {
-                System.out.println((i + 1) + ". " + openList.get(i).getTitle());
+                for (Internship it : openList) {
+                    System.out.println("[" + it.getId() + "] " + it.getTitle());
+                }
+                boolean paged = pager.current().hasNext() || pager.hasPrevious();
+                System.out.print(paged ? "Enter internship ID to apply (n = next page, p = previous page, 0 to cancel): "
+                        : "Enter internship ID to apply (0 to cancel): ");
+                String input = sc.nextLine().trim().toLowerCase();
+                if (paged && input.equals("n")) {
+                    pager.next();
+                } else if (paged && input.equals("p")) {
+                    pager.previous();
+                } else {
+                    int id = Integer.parseInt(input);
+                    if (id == 0) return;
+                    selected = internshipService.getInternshipById(id);
+                    if (selected == null) {
+                        System.out.println("No internship with ID " + id + ".");
+                        return;
+                    }
+                }
             }
-            System.out.print("Choose internship to apply: ");
-            int ch = Integer.parseInt(sc.nextLine());
-            if (ch < 1 || ch > openList.size()) return;
-
-            Internship selected = openList.get(ch - 1);
 
             if (internshipService.applyForInternship(s, selected))
                 System.out.println("Application submitted.");
@@ -197,13 +234,13 @@ public class StudentUI implements IStudentUI {
         try {
             List<Internship> withdrawable = new ArrayList<>();
 
-            for (Internship it : internshipService.getAllInternships()) {
-                ApplicationStatus st = it.getApplications().get(s.getId());
+            for (var entry : internshipService.getApplicationsForStudent(s).entrySet()) {
+                ApplicationStatus st = entry.getValue();
                 if (st == ApplicationStatus.APPLIED ||
                         st == ApplicationStatus.OFFERED ||
                         st == ApplicationStatus.CONFIRMED)
                 {
-                    withdrawable.add(it);
+                    withdrawable.add(entry.getKey());
                 }
             }
 
@@ -212,14 +249,18 @@ public class StudentUI implements IStudentUI {
                 return;
             }
 
-            for (int i = 0; i < withdrawable.size(); i++)
-                System.out.println((i + 1) + ". " + withdrawable.get(i).getTitle());
+            for (Internship it : withdrawable)
+                System.out.println("[" + it.getId() + "] " + it.getTitle());
 
-            System.out.print("Choose internship to withdraw: ");
-            int ch = Integer.parseInt(sc.nextLine());
-            if (ch < 1 || ch > withdrawable.size()) return;
+            System.out.print("Enter internship ID to withdraw (0 to cancel): ");
+            int id = Integer.parseInt(sc.nextLine().trim());
+            if (id == 0) return;
 
-            Internship selected = withdrawable.get(ch - 1);
+            Internship selected = internshipService.getInternshipById(id);
+            if (selected == null || !withdrawable.contains(selected)) {
+                System.out.println("No withdrawable application for internship ID " + id + ".");
+                return;
+            }
             WithdrawalRequest req = internshipService.requestWithdrawal(s, selected);
 
             if (req == null) System.out.println("Withdrawal request failed or already pending.");
@@ -236,9 +277,8 @@ public class StudentUI implements IStudentUI {
         try {
             List<Internship> offerList = new ArrayList<>();
 
-            for (Internship it : internshipService.getAllInternships()) {
-                ApplicationStatus st = it.getApplications().get(s.getId());
-                if (st == ApplicationStatus.OFFERED) offerList.add(it);
+            for (var entry : internshipService.getApplicationsForStudent(s).entrySet()) {
+                if (entry.getValue() == ApplicationStatus.OFFERED) offerList.add(entry.getKey());
             }
 
             if (offerList.isEmpty()) {
@@ -247,21 +287,24 @@ public class StudentUI implements IStudentUI {
             }
 
             System.out.println("-- Offers Available --");
-            for (int i = 0; i < offerList.size(); i++) {
-                Internship it = offerList.get(i);
-                System.out.println((i + 1) + ". " + it.getTitle() +
+            for (Internship it : offerList) {
+                System.out.println("[" + it.getId() + "] " + it.getTitle() +
                         " | Company: " + it.getCompanyName() +
                         " | Level: " + it.getLevel());
             }
 
-            System.out.print("Choose offer to accept (0 to cancel): ");
-            int ch = Integer.parseInt(sc.nextLine());
-            if (ch < 1 || ch > offerList.size()) {
+            System.out.print("Enter internship ID of the offer to accept (0 to cancel): ");
+            int id = Integer.parseInt(sc.nextLine().trim());
+            if (id == 0) {
                 System.out.println("Cancelled.");
                 return;
             }
 
-            Internship chosen = offerList.get(ch - 1);
+            Internship chosen = internshipService.getInternshipById(id);
+            if (chosen == null || !offerList.contains(chosen)) {
+                System.out.println("No offer for internship ID " + id + ".");
+                return;
+            }
 
             if (internshipService.acceptOffer(s, chosen)) {
                 System.out.println("Offer accepted successfully for " + chosen.getTitle());
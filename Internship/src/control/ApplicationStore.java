@@ -0,0 +1,21 @@
+package control;
+
+import entities.ApplicationTable;
+
+// Where InternshipManager keeps each posting's applications. ON_HEAP keeps them in ordinary objects; an
+// implementation can keep them off the heap, or in a file that outlives the process.
+public interface ApplicationStore {
+    ApplicationStore ON_HEAP = internshipId -> ApplicationTable.onHeap();
+
+    // The table for the posting with this id, holding whatever the store already has for it.
+    ApplicationTable tableFor(int internshipId);
+
+    // The posting was deleted; its applications can be discarded.
+    default void drop(int internshipId) {}
+
+    // True if the store came back with the applications it held when last closed, so a restore can skip
+    // loading them again.
+    default boolean isRestored() {
+        return false;
+    }
+}
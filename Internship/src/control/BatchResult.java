@@ -0,0 +1,41 @@
+package control;
+
+import java.util.Collections;
+import java.util.List;
+
+// Outcome of a batch call: the items it created or reviewed, in input order (null where a row failed), and
+// one error per rejected row.
+public class BatchResult<T> {
+    public static class RowError {
+        private final int row;
+        private final String message;
+
+        public RowError(int row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public int getRow() { return row; }
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() {
+            return "Row " + row + ": " + message;
+        }
+    }
+
+    private final List<T> succeeded;
+    private final List<RowError> errors;
+
+    public BatchResult(List<T> succeeded, List<RowError> errors) {
+        this.succeeded = Collections.unmodifiableList(succeeded);
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    public List<T> getSucceeded() { return succeeded; }
+    public List<RowError> getErrors() { return errors; }
+
+    public int getSucceededCount() {
+        return succeeded.size() - errors.size();
+    }
+}
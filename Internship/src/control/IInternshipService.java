@@ -2,17 +2,34 @@ package control;
 
 import entities.*;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 public interface IInternshipService {
-    List<Internship> getAllInternships();
+    Internship getInternshipById(int id);
+    List<Internship> filterInternships(InternshipFilter filter);
+    List<Internship> filterInternships(InternshipFilter filter, InternshipSort sort);
+    PostingPhase getPostingPhase(Internship internship);
+    InternshipPage queryInternships(InternshipFilter filter, InternshipSort sort, int pageSize, String cursor);
+    List<Internship> searchInternships(String query, InternshipFilter filter, int limit);
+    List<Internship> searchInternshipsByPrefix(String query, InternshipFilter filter, int limit);
 
     void reviewInternshipPosting(Internship internship, boolean approve);
+    BatchResult<Internship> reviewInternshipPostings(Collection<Integer> ids, boolean approve);
+    BatchResult<Internship> reviewInternshipPostingsWhere(Predicate<Internship> which, boolean approve);
     List<WithdrawalRequest> getPendingWithdrawalRequests();
+    List<WithdrawalRequest> getPendingWithdrawalRequests(int offset, int limit);
+    int getPendingWithdrawalCount();
+    WithdrawalRequest getPendingWithdrawalRequest(String studentId, int internshipId);
     void processWithdrawalRequest(WithdrawalRequest req, boolean approve);
+    BatchResult<WithdrawalRequest> processWithdrawalRequests(Collection<WithdrawalRequest> reqs, boolean approve);
+    BatchResult<WithdrawalRequest> processWithdrawalRequestsWhere(Predicate<WithdrawalRequest> which, boolean approve);
     WithdrawalRequest requestWithdrawal(Student student, Internship internship);
     boolean acceptOffer(Student student, Internship internship);
     boolean applyForInternship(Student student, Internship internship);
+    Map<Internship, ApplicationStatus> getApplicationsForStudent(Student student);
 
     Internship createInternship(
             CompanyRepresentative rep,
@@ -25,10 +42,14 @@ public interface IInternshipService {
             int slots
     );
 
+    BatchResult<Internship> createInternships(List<InternshipDraft> drafts);
+
     void toggleVisibility(Internship internship);
 
-    boolean updateInternship(Internship internship);
+    // Returns null once the edit is applied, otherwise why it was refused.
+    String updateInternship(Internship internship, InternshipEdit edit);
 
+    // Throws IllegalStateException if the posting has applicants.
     boolean deleteInternship(Internship internship);
 
     boolean reviewApplication(Internship internship, Student student, boolean approve);
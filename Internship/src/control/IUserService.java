@@ -2,12 +2,18 @@ package control;
 
 import entities.*;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 public interface IUserService {
     CompanyRepresentative registerCompanyRep(String email, String name, String company, String dept, String position);
     User getUserById(String id);
     List<CompanyRepresentative> getPendingCompanyReps();
+    BatchResult<CompanyRepresentative> reviewCompanyReps(Collection<String> repIds, boolean approve);
+    BatchResult<CompanyRepresentative> reviewCompanyRepsWhere(Predicate<CompanyRepresentative> which, boolean approve);
     void removeUser(String id);
+    BatchResult<Student> importStudents(Stream<Student> students);
     User authenticateUser(String id, String password);
 }
@@ -0,0 +1,426 @@
+package control;
+
+import entities.*;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+// Wraps an IInternshipService and records the count, failures and latency of every call in a ServiceMetrics.
+// Each method records through its own pre-registered timer, so the wrapper adds no allocation.
+public class InstrumentedInternshipService implements IInternshipService {
+    private final IInternshipService delegate;
+    private final ServiceMetrics.Timer getInternshipById;
+    private final ServiceMetrics.Timer filterInternships;
+    private final ServiceMetrics.Timer queryInternships;
+    private final ServiceMetrics.Timer filterInternshipsSorted;
+    private final ServiceMetrics.Timer searchInternships;
+    private final ServiceMetrics.Timer getPostingPhase;
+    private final ServiceMetrics.Timer searchInternshipsByPrefix;
+    private final ServiceMetrics.Timer reviewInternshipPosting;
+    private final ServiceMetrics.Timer reviewInternshipPostings;
+    private final ServiceMetrics.Timer reviewInternshipPostingsWhere;
+    private final ServiceMetrics.Timer processWithdrawalRequests;
+    private final ServiceMetrics.Timer processWithdrawalRequestsWhere;
+    private final ServiceMetrics.Timer getPendingWithdrawalRequests;
+    private final ServiceMetrics.Timer getPendingWithdrawalPage;
+    private final ServiceMetrics.Timer getPendingWithdrawalCount;
+    private final ServiceMetrics.Timer getPendingWithdrawalRequest;
+    private final ServiceMetrics.Timer processWithdrawalRequest;
+    private final ServiceMetrics.Timer requestWithdrawal;
+    private final ServiceMetrics.Timer acceptOffer;
+    private final ServiceMetrics.Timer applyForInternship;
+    private final ServiceMetrics.Timer getApplicationsForStudent;
+    private final ServiceMetrics.Timer createInternship;
+    private final ServiceMetrics.Timer createInternships;
+    private final ServiceMetrics.Timer toggleVisibility;
+    private final ServiceMetrics.Timer updateInternship;
+    private final ServiceMetrics.Timer deleteInternship;
+    private final ServiceMetrics.Timer reviewApplication;
+
+    public InstrumentedInternshipService(IInternshipService delegate, ServiceMetrics metrics) {
+        this.delegate = delegate;
+        getInternshipById = metrics.timer("InternshipService.getInternshipById");
+        filterInternships = metrics.timer("InternshipService.filterInternships");
+        queryInternships = metrics.timer("InternshipService.queryInternships");
+        filterInternshipsSorted = metrics.timer("InternshipService.filterInternships(sorted)");
+        searchInternships = metrics.timer("InternshipService.searchInternships");
+        getPostingPhase = metrics.timer("InternshipService.getPostingPhase");
+        searchInternshipsByPrefix = metrics.timer("InternshipService.searchInternshipsByPrefix");
+        reviewInternshipPosting = metrics.timer("InternshipService.reviewInternshipPosting");
+        reviewInternshipPostings = metrics.timer("InternshipService.reviewInternshipPostings");
+        reviewInternshipPostingsWhere = metrics.timer("InternshipService.reviewInternshipPostingsWhere");
+        processWithdrawalRequests = metrics.timer("InternshipService.processWithdrawalRequests");
+        processWithdrawalRequestsWhere = metrics.timer("InternshipService.processWithdrawalRequestsWhere");
+        getPendingWithdrawalRequests = metrics.timer("InternshipService.getPendingWithdrawalRequests");
+        getPendingWithdrawalPage = metrics.timer("InternshipService.getPendingWithdrawalRequests(page)");
+        getPendingWithdrawalCount = metrics.timer("InternshipService.getPendingWithdrawalCount");
+        getPendingWithdrawalRequest = metrics.timer("InternshipService.getPendingWithdrawalRequest");
+        processWithdrawalRequest = metrics.timer("InternshipService.processWithdrawalRequest");
+        requestWithdrawal = metrics.timer("InternshipService.requestWithdrawal");
+        acceptOffer = metrics.timer("InternshipService.acceptOffer");
+        applyForInternship = metrics.timer("InternshipService.applyForInternship");
+        getApplicationsForStudent = metrics.timer("InternshipService.getApplicationsForStudent");
+        createInternship = metrics.timer("InternshipService.createInternship");
+        createInternships = metrics.timer("InternshipService.createInternships");
+        toggleVisibility = metrics.timer("InternshipService.toggleVisibility");
+        updateInternship = metrics.timer("InternshipService.updateInternship");
+        deleteInternship = metrics.timer("InternshipService.deleteInternship");
+        reviewApplication = metrics.timer("InternshipService.reviewApplication");
+    }
+
+    @Override
+    public Internship getInternshipById(int id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getInternshipById(id);
+        } catch (RuntimeException | Error e) {
+            getInternshipById.failed();
+            throw e;
+        } finally {
+            getInternshipById.record(start);
+        }
+    }
+
+    @Override
+    public List<Internship> filterInternships(InternshipFilter filter) {
+        long start = System.nanoTime();
+        try {
+            return delegate.filterInternships(filter);
+        } catch (RuntimeException | Error e) {
+            filterInternships.failed();
+            throw e;
+        } finally {
+            filterInternships.record(start);
+        }
+    }
+
+    @Override
+    public List<Internship> filterInternships(InternshipFilter filter, InternshipSort sort) {
+        long start = System.nanoTime();
+        try {
+            return delegate.filterInternships(filter, sort);
+        } catch (RuntimeException | Error e) {
+            filterInternshipsSorted.failed();
+            throw e;
+        } finally {
+            filterInternshipsSorted.record(start);
+        }
+    }
+
+    @Override
+    public InternshipPage queryInternships(InternshipFilter filter, InternshipSort sort, int pageSize, String cursor) {
+        long start = System.nanoTime();
+        try {
+            return delegate.queryInternships(filter, sort, pageSize, cursor);
+        } catch (RuntimeException | Error e) {
+            queryInternships.failed();
+            throw e;
+        } finally {
+            queryInternships.record(start);
+        }
+    }
+
+    @Override
+    public PostingPhase getPostingPhase(Internship internship) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPostingPhase(internship);
+        } catch (RuntimeException | Error e) {
+            getPostingPhase.failed();
+            throw e;
+        } finally {
+            getPostingPhase.record(start);
+        }
+    }
+
+    @Override
+    public List<Internship> searchInternships(String query, InternshipFilter filter, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.searchInternships(query, filter, limit);
+        } catch (RuntimeException | Error e) {
+            searchInternships.failed();
+            throw e;
+        } finally {
+            searchInternships.record(start);
+        }
+    }
+
+    @Override
+    public List<Internship> searchInternshipsByPrefix(String query, InternshipFilter filter, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.searchInternshipsByPrefix(query, filter, limit);
+        } catch (RuntimeException | Error e) {
+            searchInternshipsByPrefix.failed();
+            throw e;
+        } finally {
+            searchInternshipsByPrefix.record(start);
+        }
+    }
+
+    @Override
+    public void reviewInternshipPosting(Internship internship, boolean approve) {
+        long start = System.nanoTime();
+        try {
+            delegate.reviewInternshipPosting(internship, approve);
+        } catch (RuntimeException | Error e) {
+            reviewInternshipPosting.failed();
+            throw e;
+        } finally {
+            reviewInternshipPosting.record(start);
+        }
+    }
+
+    @Override
+    public BatchResult<Internship> reviewInternshipPostings(Collection<Integer> ids, boolean approve) {
+        long start = System.nanoTime();
+        try {
+            return delegate.reviewInternshipPostings(ids, approve);
+        } catch (RuntimeException | Error e) {
+            reviewInternshipPostings.failed();
+            throw e;
+        } finally {
+            reviewInternshipPostings.record(start);
+        }
+    }
+
+    @Override
+    public BatchResult<Internship> reviewInternshipPostingsWhere(Predicate<Internship> which, boolean approve) {
+        long start = System.nanoTime();
+        try {
+            return delegate.reviewInternshipPostingsWhere(which, approve);
+        } catch (RuntimeException | Error e) {
+            reviewInternshipPostingsWhere.failed();
+            throw e;
+        } finally {
+            reviewInternshipPostingsWhere.record(start);
+        }
+    }
+
+    @Override
+    public BatchResult<WithdrawalRequest> processWithdrawalRequests(Collection<WithdrawalRequest> reqs, boolean approve) {
+        long start = System.nanoTime();
+        try {
+            return delegate.processWithdrawalRequests(reqs, approve);
+        } catch (RuntimeException | Error e) {
+            processWithdrawalRequests.failed();
+            throw e;
+        } finally {
+            processWithdrawalRequests.record(start);
+        }
+    }
+
+    @Override
+    public BatchResult<WithdrawalRequest> processWithdrawalRequestsWhere(Predicate<WithdrawalRequest> which, boolean approve) {
+        long start = System.nanoTime();
+        try {
+            return delegate.processWithdrawalRequestsWhere(which, approve);
+        } catch (RuntimeException | Error e) {
+            processWithdrawalRequestsWhere.failed();
+            throw e;
+        } finally {
+            processWithdrawalRequestsWhere.record(start);
+        }
+    }
+
+    @Override
+    public List<WithdrawalRequest> getPendingWithdrawalRequests() {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPendingWithdrawalRequests();
+        } catch (RuntimeException | Error e) {
+            getPendingWithdrawalRequests.failed();
+            throw e;
+        } finally {
+            getPendingWithdrawalRequests.record(start);
+        }
+    }
+
+    @Override
+    public List<WithdrawalRequest> getPendingWithdrawalRequests(int offset, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPendingWithdrawalRequests(offset, limit);
+        } catch (RuntimeException | Error e) {
+            getPendingWithdrawalPage.failed();
+            throw e;
+        } finally {
+            getPendingWithdrawalPage.record(start);
+        }
+    }
+
+    @Override
+    public int getPendingWithdrawalCount() {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPendingWithdrawalCount();
+        } catch (RuntimeException | Error e) {
+            getPendingWithdrawalCount.failed();
+            throw e;
+        } finally {
+            getPendingWithdrawalCount.record(start);
+        }
+    }
+
+    @Override
+    public WithdrawalRequest getPendingWithdrawalRequest(String studentId, int internshipId) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPendingWithdrawalRequest(studentId, internshipId);
+        } catch (RuntimeException | Error e) {
+            getPendingWithdrawalRequest.failed();
+            throw e;
+        } finally {
+            getPendingWithdrawalRequest.record(start);
+        }
+    }
+
+    @Override
+    public void processWithdrawalRequest(WithdrawalRequest req, boolean approve) {
+        long start = System.nanoTime();
+        try {
+            delegate.processWithdrawalRequest(req, approve);
+        } catch (RuntimeException | Error e) {
+            processWithdrawalRequest.failed();
+            throw e;
+        } finally {
+            processWithdrawalRequest.record(start);
+        }
+    }
+
+    @Override
+    public WithdrawalRequest requestWithdrawal(Student student, Internship internship) {
+        long start = System.nanoTime();
+        try {
+            return delegate.requestWithdrawal(student, internship);
+        } catch (RuntimeException | Error e) {
+            requestWithdrawal.failed();
+            throw e;
+        } finally {
+            requestWithdrawal.record(start);
+        }
+    }
+
+    @Override
+    public boolean acceptOffer(Student student, Internship internship) {
+        long start = System.nanoTime();
+        try {
+            return delegate.acceptOffer(student, internship);
+        } catch (RuntimeException | Error e) {
+            acceptOffer.failed();
+            throw e;
+        } finally {
+            acceptOffer.record(start);
+        }
+    }
+
+    @Override
+    public boolean applyForInternship(Student student, Internship internship) {
+        long start = System.nanoTime();
+        try {
+            return delegate.applyForInternship(student, internship);
+        } catch (RuntimeException | Error e) {
+            applyForInternship.failed();
+            throw e;
+        } finally {
+            applyForInternship.record(start);
+        }
+    }
+
+    @Override
+    public Map<Internship, ApplicationStatus> getApplicationsForStudent(Student student) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getApplicationsForStudent(student);
+        } catch (RuntimeException | Error e) {
+            getApplicationsForStudent.failed();
+            throw e;
+        } finally {
+            getApplicationsForStudent.record(start);
+        }
+    }
+
+    @Override
+    public Internship createInternship(CompanyRepresentative rep, String title, String description, InternshipLevel level,
+                                       String prefer_major, LocalDate openingDate, LocalDate closingDate, int slots) {
+        long start = System.nanoTime();
+        try {
+            return delegate.createInternship(rep, title, description, level, prefer_major, openingDate, closingDate,
+                    slots);
+        } catch (RuntimeException | Error e) {
+            createInternship.failed();
+            throw e;
+        } finally {
+            createInternship.record(start);
+        }
+    }
+
+    @Override
+    public BatchResult<Internship> createInternships(List<InternshipDraft> drafts) {
+        long start = System.nanoTime();
+        try {
+            return delegate.createInternships(drafts);
+        } catch (RuntimeException | Error e) {
+            createInternships.failed();
+            throw e;
+        } finally {
+            createInternships.record(start);
+        }
+    }
+
+    @Override
+    public void toggleVisibility(Internship internship) {
+        long start = System.nanoTime();
+        try {
+            delegate.toggleVisibility(internship);
+        } catch (RuntimeException | Error e) {
+            toggleVisibility.failed();
+            throw e;
+        } finally {
+            toggleVisibility.record(start);
+        }
+    }
+
+    @Override
+    public String updateInternship(Internship internship, InternshipEdit edit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.updateInternship(internship, edit);
+        } catch (RuntimeException | Error e) {
+            updateInternship.failed();
+            throw e;
+        } finally {
+            updateInternship.record(start);
+        }
+    }
+
+    @Override
+    public boolean deleteInternship(Internship internship) {
+        long start = System.nanoTime();
+        try {
+            return delegate.deleteInternship(internship);
+        } catch (RuntimeException | Error e) {
+            deleteInternship.failed();
+            throw e;
+        } finally {
+            deleteInternship.record(start);
+        }
+    }
+
+    @Override
+    public boolean reviewApplication(Internship internship, Student student, boolean approve) {
+        long start = System.nanoTime();
+        try {
+            return delegate.reviewApplication(internship, student, approve);
+        } catch (RuntimeException | Error e) {
+            reviewApplication.failed();
+            throw e;
+        } finally {
+            reviewApplication.record(start);
+        }
+    }
+}
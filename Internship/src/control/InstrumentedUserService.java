@@ -0,0 +1,137 @@
+package control;
+
+import entities.*;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+// Wraps an IUserService and records every call in a ServiceMetrics, like InstrumentedInternshipService.
+public class InstrumentedUserService implements IUserService {
+    private final IUserService delegate;
+    private final ServiceMetrics.Timer registerCompanyRep;
+    private final ServiceMetrics.Timer getUserById;
+    private final ServiceMetrics.Timer getPendingCompanyReps;
+    private final ServiceMetrics.Timer reviewCompanyReps;
+    private final ServiceMetrics.Timer reviewCompanyRepsWhere;
+    private final ServiceMetrics.Timer removeUser;
+    private final ServiceMetrics.Timer importStudents;
+    private final ServiceMetrics.Timer authenticateUser;
+
+    public InstrumentedUserService(IUserService delegate, ServiceMetrics metrics) {
+        this.delegate = delegate;
+        registerCompanyRep = metrics.timer("UserService.registerCompanyRep");
+        getUserById = metrics.timer("UserService.getUserById");
+        getPendingCompanyReps = metrics.timer("UserService.getPendingCompanyReps");
+        reviewCompanyReps = metrics.timer("UserService.reviewCompanyReps");
+        reviewCompanyRepsWhere = metrics.timer("UserService.reviewCompanyRepsWhere");
+        removeUser = metrics.timer("UserService.removeUser");
+        importStudents = metrics.timer("UserService.importStudents");
+        authenticateUser = metrics.timer("UserService.authenticateUser");
+    }
+
+    @Override
+    public CompanyRepresentative registerCompanyRep(String email, String name, String company, String dept, String position) {
+        long start = System.nanoTime();
+        try {
+            return delegate.registerCompanyRep(email, name, company, dept, position);
+        } catch (RuntimeException | Error e) {
+            registerCompanyRep.failed();
+            throw e;
+        } finally {
+            registerCompanyRep.record(start);
+        }
+    }
+
+    @Override
+    public User getUserById(String id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getUserById(id);
+        } catch (RuntimeException | Error e) {
+            getUserById.failed();
+            throw e;
+        } finally {
+            getUserById.record(start);
+        }
+    }
+
+    @Override
+    public List<CompanyRepresentative> getPendingCompanyReps() {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPendingCompanyReps();
+        } catch (RuntimeException | Error e) {
+            getPendingCompanyReps.failed();
+            throw e;
+        } finally {
+            getPendingCompanyReps.record(start);
+        }
+    }
+
+    @Override
+    public BatchResult<CompanyRepresentative> reviewCompanyReps(Collection<String> repIds, boolean approve) {
+        long start = System.nanoTime();
+        try {
+            return delegate.reviewCompanyReps(repIds, approve);
+        } catch (RuntimeException | Error e) {
+            reviewCompanyReps.failed();
+            throw e;
+        } finally {
+            reviewCompanyReps.record(start);
+        }
+    }
+
+    @Override
+    public BatchResult<CompanyRepresentative> reviewCompanyRepsWhere(Predicate<CompanyRepresentative> which, boolean approve) {
+        long start = System.nanoTime();
+        try {
+            return delegate.reviewCompanyRepsWhere(which, approve);
+        } catch (RuntimeException | Error e) {
+            reviewCompanyRepsWhere.failed();
+            throw e;
+        } finally {
+            reviewCompanyRepsWhere.record(start);
+        }
+    }
+
+    @Override
+    public void removeUser(String id) {
+        long start = System.nanoTime();
+        try {
+            delegate.removeUser(id);
+        } catch (RuntimeException | Error e) {
+            removeUser.failed();
+            throw e;
+        } finally {
+            removeUser.record(start);
+        }
+    }
+
+    @Override
+    public BatchResult<Student> importStudents(Stream<Student> students) {
+        long start = System.nanoTime();
+        try {
+            return delegate.importStudents(students);
+        } catch (RuntimeException | Error e) {
+            importStudents.failed();
+            throw e;
+        } finally {
+            importStudents.record(start);
+        }
+    }
+
+    @Override
+    public User authenticateUser(String id, String password) {
+        long start = System.nanoTime();
+        try {
+            return delegate.authenticateUser(id, password);
+        } catch (RuntimeException | Error e) {
+            authenticateUser.failed();
+            throw e;
+        } finally {
+            authenticateUser.record(start);
+        }
+    }
+}
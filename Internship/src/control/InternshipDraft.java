@@ -0,0 +1,39 @@
+package control;
+
+import entities.CompanyRepresentative;
+import entities.InternshipLevel;
+
+import java.time.LocalDate;
+
+// One posting to create through createInternships.
+public class InternshipDraft {
+    private final CompanyRepresentative rep;
+    private final String title;
+    private final String description;
+    private final InternshipLevel level;
+    private final String preferredMajor;
+    private final LocalDate openingDate;
+    private final LocalDate closingDate;
+    private final int slots;
+
+    public InternshipDraft(CompanyRepresentative rep, String title, String description, InternshipLevel level,
+                           String preferredMajor, LocalDate openingDate, LocalDate closingDate, int slots) {
+        this.rep = rep;
+        this.title = title;
+        this.description = description;
+        this.level = level;
+        this.preferredMajor = preferredMajor;
+        this.openingDate = openingDate;
+        this.closingDate = closingDate;
+        this.slots = slots;
+    }
+
+    public CompanyRepresentative getRep() { return rep; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public InternshipLevel getLevel() { return level; }
+    public String getPreferredMajor() { return preferredMajor; }
+    public LocalDate getOpeningDate() { return openingDate; }
+    public LocalDate getClosingDate() { return closingDate; }
+    public int getSlots() { return slots; }
+}
@@ -0,0 +1,60 @@
+package control;
+
+import entities.InternshipLevel;
+
+import java.time.LocalDate;
+
+// Changes to a pending posting, applied together through updateInternship. Fields left unset keep the
+// posting's current value.
+public class InternshipEdit {
+    private String title;
+    private String description;
+    private String preferredMajor;
+    private InternshipLevel level;
+    private LocalDate openingDate;
+    private LocalDate closingDate;
+    private Integer slots;
+
+    public InternshipEdit title(String title) {
+        this.title = title;
+        return this;
+    }
+
+    public InternshipEdit description(String description) {
+        this.description = description;
+        return this;
+    }
+
+    public InternshipEdit preferredMajor(String preferredMajor) {
+        this.preferredMajor = preferredMajor;
+        return this;
+    }
+
+    public InternshipEdit level(InternshipLevel level) {
+        this.level = level;
+        return this;
+    }
+
+    public InternshipEdit openingDate(LocalDate openingDate) {
+        this.openingDate = openingDate;
+        return this;
+    }
+
+    public InternshipEdit closingDate(LocalDate closingDate) {
+        this.closingDate = closingDate;
+        return this;
+    }
+
+    public InternshipEdit slots(Integer slots) {
+        this.slots = slots;
+        return this;
+    }
+
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public String getPreferredMajor() { return preferredMajor; }
+    public InternshipLevel getLevel() { return level; }
+    public LocalDate getOpeningDate() { return openingDate; }
+    public LocalDate getClosingDate() { return closingDate; }
+    public Integer getSlots() { return slots; }
+}
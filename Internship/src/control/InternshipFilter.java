@@ -0,0 +1,99 @@
+package control;
+
+import entities.InternshipLevel;
+import entities.InternshipStatus;
+import entities.Majors;
+import entities.PostingPhase;
+import entities.Student;
+import entities.YearBand;
+
+import java.time.LocalDate;
+
+public class InternshipFilter {
+    private InternshipStatus status;
+    private InternshipLevel level;
+    private Integer major;
+    private Boolean visible;
+    private LocalDate closingBy;
+    private LocalDate openOn;
+    private PostingPhase phase;
+    private YearBand yearBand;
+    private boolean unsatisfiable;
+
+    public InternshipFilter status(InternshipStatus status) {
+        if (status == null) return this;
+        if (this.status != null && this.status != status) unsatisfiable = true;
+        this.status = status;
+        return this;
+    }
+
+    public InternshipFilter level(InternshipLevel level) {
+        if (level == null) return this;
+        if (this.level != null && this.level != level) unsatisfiable = true;
+        this.level = level;
+        return this;
+    }
+
+    public InternshipFilter major(String major) {
+        if (major == null) return this;
+        return majorCode(Majors.find(major));
+    }
+
+    private InternshipFilter majorCode(int code) {
+        // A major no student or posting has matches nothing.
+        if (code == Majors.UNKNOWN || (this.major != null && this.major != code)) unsatisfiable = true;
+        this.major = code;
+        return this;
+    }
+
+    public InternshipFilter visible(boolean visible) {
+        if (this.visible != null && this.visible != visible) unsatisfiable = true;
+        this.visible = visible;
+        return this;
+    }
+
+    public InternshipFilter closingBy(LocalDate date) {
+        if (date == null) return this;
+        if (closingBy == null || date.isBefore(closingBy)) closingBy = date;
+        return this;
+    }
+
+    // Keeps postings whose application window includes date.
+    public InternshipFilter openOn(LocalDate date) {
+        if (date == null) return this;
+        if (openOn != null && !openOn.equals(date)) unsatisfiable = true;
+        openOn = date;
+        return this;
+    }
+
+    // Keeps postings in the given phase today, as tracked by the service's schedule.
+    public InternshipFilter phase(PostingPhase phase) {
+        if (phase == null) return this;
+        if (this.phase != null && this.phase != phase) unsatisfiable = true;
+        this.phase = phase;
+        return this;
+    }
+
+    // Keeps postings student is eligible for: approved, visible, in their major and at a level their year
+    // allows. The service keeps these sets ready for each major and year band, so this is the cheap way to
+    // list what a student can see.
+    public InternshipFilter eligibleFor(Student student) {
+        YearBand band = student.getYearBand();
+        if (yearBand != null && yearBand != band) unsatisfiable = true;
+        yearBand = band;
+        status(InternshipStatus.APPROVED).visible(true).majorCode(student.getMajorCode());
+        if (band == YearBand.JUNIOR) level(InternshipLevel.BASIC);
+        return this;
+    }
+
+    public InternshipStatus getStatus() { return status; }
+    public InternshipLevel getLevel() { return level; }
+    // The major's code from Majors, or null if any major will do.
+    public Integer getMajorCode() { return major; }
+    public Boolean getVisible() { return visible; }
+    public LocalDate getClosingBy() { return closingBy; }
+    public LocalDate getOpenOn() { return openOn; }
+    public PostingPhase getPhase() { return phase; }
+    public YearBand getYearBand() { return yearBand; }
+    public boolean isUnsatisfiable() { return unsatisfiable; }
+}
@@ -0,0 +1,253 @@
+package control;
+
+import entities.Internship;
+import entities.InternshipLevel;
+import entities.InternshipStatus;
+import entities.YearBand;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+class InternshipIndex {
+    private record Keys(InternshipStatus status, InternshipLevel level, int major, boolean visible, String title) {
+        boolean eligible(YearBand band) {
+            return status == InternshipStatus.APPROVED && visible && band.allows(level);
+        }
+    }
+
+    // Students of one major and year band all see the same postings.
+    private record Cohort(int major, YearBand band) {}
+
+    // A cohort's postings in title order, changed with the bitmaps under the write lock. The size is kept
+    // alongside because counting a skip list walks it.
+    private static final class CohortTitles {
+        final ConcurrentSkipListSet<TitleKey> keys = new ConcurrentSkipListSet<>();
+        volatile int size;
+    }
+
+    // Ordered by (title, id) only; the posting rides along so a scan needs no lookup by id.
+    private record TitleKey(String title, int id, Internship internship) implements Comparable<TitleKey> {
+        @Override
+        public int compareTo(TitleKey o) {
+            int c = title.compareTo(o.title);
+            return c != 0 ? c : Integer.compare(id, o.id);
+        }
+    }
+
+    private final BitSet all = new BitSet();
+    private final BitSet visible = new BitSet();
+    private final Map<InternshipStatus, BitSet> byStatus = new EnumMap<>(InternshipStatus.class);
+    private final Map<InternshipLevel, BitSet> byLevel = new EnumMap<>(InternshipLevel.class);
+    private final Map<Integer, BitSet> byMajor = new HashMap<>();
+    // What each cohort may apply to, kept up to date as postings change so listings need not intersect
+    // status, visibility, major and level for every student.
+    private final Map<Cohort, BitSet> eligible = new HashMap<>();
+    // The same sets in title order, read without the lock like byTitle.
+    private final Map<Cohort, CohortTitles> cohortTitles = new ConcurrentHashMap<>();
+    private final Map<Integer, Keys> indexed = new HashMap<>();
+    // Written under the write lock like the bitmaps, but read without any lock so listings can scan it.
+    private final ConcurrentSkipListSet<TitleKey> byTitle = new ConcurrentSkipListSet<>();
+    private final ReadWriteLock rw = new ReentrantReadWriteLock();
+
+    InternshipIndex() {
+        for (InternshipStatus s : InternshipStatus.values()) byStatus.put(s, new BitSet());
+        for (InternshipLevel l : InternshipLevel.values()) byLevel.put(l, new BitSet());
+    }
+
+    // Folds each char the way String.CASE_INSENSITIVE_ORDER compares it, so plain compareTo on the
+    // folded keys gives that order without folding again on every comparison.
+    static String titleKey(String title) {
+        if (title == null) return "";
+        char[] folded = new char[title.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = Character.toLowerCase(Character.toUpperCase(title.charAt(i)));
+        }
+        return new String(folded);
+    }
+
+    void add(Internship it) {
+        rw.writeLock().lock();
+        try {
+            addLocked(it);
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    void addAll(Collection<Internship> batch) {
+        rw.writeLock().lock();
+        try {
+            for (Internship it : batch) addLocked(it);
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    void remove(Internship it) {
+        rw.writeLock().lock();
+        try {
+            removeLocked(it);
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    void update(Internship it) {
+        rw.writeLock().lock();
+        try {
+            removeLocked(it);
+            addLocked(it);
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    void updateAll(Collection<Internship> batch) {
+        if (batch.isEmpty()) return;
+        rw.writeLock().lock();
+        try {
+            for (Internship it : batch) {
+                removeLocked(it);
+                addLocked(it);
+            }
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    private void addLocked(Internship it) {
+        int id = it.getId();
+        Keys keys = new Keys(it.getStatus(), it.getLevel(), it.getMajorCode(), it.isVisible(),
+                titleKey(it.getTitle()));
+        all.set(id);
+        byStatus.get(keys.status()).set(id);
+        byLevel.get(keys.level()).set(id);
+        byMajor.computeIfAbsent(keys.major(), k -> new BitSet()).set(id);
+        if (keys.visible()) visible.set(id);
+        TitleKey titleKey = new TitleKey(keys.title(), id, it);
+        for (YearBand band : YearBand.values()) {
+            if (!keys.eligible(band)) continue;
+            Cohort cohort = new Cohort(keys.major(), band);
+            eligible.computeIfAbsent(cohort, k -> new BitSet()).set(id);
+            CohortTitles titles = cohortTitles.computeIfAbsent(cohort, k -> new CohortTitles());
+            titles.keys.add(titleKey);
+            titles.size++;
+        }
+        byTitle.add(titleKey);
+        indexed.put(id, keys);
+    }
+
+    private void removeLocked(Internship it) {
+        int id = it.getId();
+        Keys keys = indexed.remove(id);
+        if (keys == null) return;
+        all.clear(id);
+        byStatus.get(keys.status()).clear(id);
+        byLevel.get(keys.level()).clear(id);
+        BitSet majorBits = byMajor.get(keys.major());
+        majorBits.clear(id);
+        if (majorBits.isEmpty()) byMajor.remove(keys.major());
+        visible.clear(id);
+        TitleKey titleKey = new TitleKey(keys.title(), id, null);
+        for (YearBand band : YearBand.values()) {
+            if (!keys.eligible(band)) continue;
+            Cohort cohort = new Cohort(keys.major(), band);
+            BitSet cohortBits = eligible.get(cohort);
+            cohortBits.clear(id);
+            if (cohortBits.isEmpty()) eligible.remove(cohort);
+            CohortTitles titles = cohortTitles.get(cohort);
+            titles.keys.remove(titleKey);
+            if (--titles.size == 0) cohortTitles.remove(cohort);
+        }
+        byTitle.remove(titleKey);
+    }
+
+    int size() {
+        rw.readLock().lock();
+        try {
+            return indexed.size();
+        } finally {
+            rw.readLock().unlock();
+        }
+    }
+
+    // Postings in title order, starting after the position (titleKey, id), or from the start when titleKey
+    // is null. The iteration is weakly consistent: it never fails under concurrent updates, but may or may
+    // not see them.
+    Iterator<Internship> titleOrder(String titleKey, int afterId) {
+        return titleOrder(byTitle, titleKey, afterId);
+    }
+
+    // As titleOrder, but for a filter that names a cohort only that cohort's postings are walked.
+    Iterator<Internship> titleOrder(InternshipFilter filter, String titleKey, int afterId) {
+        if (filter.getYearBand() == null) return titleOrder(titleKey, afterId);
+        CohortTitles titles = cohortTitles.get(new Cohort(filter.getMajorCode(), filter.getYearBand()));
+        return titles == null ? Collections.emptyIterator() : titleOrder(titles.keys, titleKey, afterId);
+    }
+
+    // How many postings titleOrder(filter, ...) walks at most.
+    int titleOrderSize(InternshipFilter filter) {
+        if (filter.getYearBand() == null) return size();
+        CohortTitles titles = cohortTitles.get(new Cohort(filter.getMajorCode(), filter.getYearBand()));
+        return titles == null ? 0 : titles.size;
+    }
+
+    private static Iterator<Internship> titleOrder(ConcurrentSkipListSet<TitleKey> set, String titleKey, int afterId) {
+        Iterator<TitleKey> keys = titleKey == null ? set.iterator()
+                : set.tailSet(new TitleKey(titleKey, afterId, null), false).iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return keys.hasNext();
+            }
+
+            @Override
+            public Internship next() {
+                return keys.next().internship();
+            }
+        };
+    }
+
+    BitSet query(InternshipFilter filter) {
+        if (filter.isUnsatisfiable()) return new BitSet();
+
+        rw.readLock().lock();
+        try {
+            if (filter.getYearBand() != null) return queryCohort(filter);
+            BitSet result = (BitSet) all.clone();
+            if (filter.getStatus() != null) result.and(byStatus.get(filter.getStatus()));
+            if (filter.getLevel() != null) result.and(byLevel.get(filter.getLevel()));
+            if (filter.getMajorCode() != null) {
+                BitSet majorBits = byMajor.get(filter.getMajorCode());
+                if (majorBits == null) return new BitSet();
+                result.and(majorBits);
+            }
+            if (filter.getVisible() != null) {
+                if (filter.getVisible()) result.and(visible);
+                else result.andNot(visible);
+            }
+            return result;
+        } finally {
+            rw.readLock().unlock();
+        }
+    }
+
+    // The cohort's set already holds status, visibility, major and the band's levels; only a narrower
+    // level is left to apply.
+    private BitSet queryCohort(InternshipFilter filter) {
+        BitSet cohortBits = eligible.get(new Cohort(filter.getMajorCode(), filter.getYearBand()));
+        if (cohortBits == null) return new BitSet();
+        BitSet result = (BitSet) cohortBits.clone();
+        if (filter.getLevel() != null && filter.getYearBand() == YearBand.SENIOR) result.and(byLevel.get(filter.getLevel()));
+        return result;
+    }
+}
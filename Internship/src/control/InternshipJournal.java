@@ -0,0 +1,20 @@
+package control;
+
+import entities.ApplicationStatus;
+import entities.Internship;
+import entities.Student;
+import entities.WithdrawalRequest;
+
+public interface InternshipJournal {
+    InternshipJournal NONE = new InternshipJournal() {};
+
+    default void postingSaved(Internship internship) {}
+    default void postingDeleted(Internship internship) {}
+    default void applicationChanged(Internship internship, String studentId, ApplicationStatus status) {}
+    default void acceptedInternshipChanged(Student student) {}
+    default void withdrawalRequested(WithdrawalRequest req) {}
+    default void withdrawalResolved(WithdrawalRequest req) {}
+
+    // Called once a service call has released its locks; may block until the changes are durable.
+    default void commit() {}
+}
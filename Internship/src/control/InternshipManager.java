@@ -2,101 +2,425 @@ package control;
 
 import entities.*;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class InternshipManager implements IInternshipService {
-    private List<Internship> internships;
-    private List<WithdrawalRequest> withdrawalRequests;
-    private int nextInternshipId;
+    private static final Comparator<Internship> BY_ID = Comparator.comparingInt(Internship::getId);
+
+    private Map<Integer, Internship> internships;
+    private WithdrawalQueue withdrawalRequests;
+    // The postings each student has applied to, sorted by id; the statuses live in the postings' tables.
+    private Map<String, Internship[]> postingsByStudent;
+    private ApplicationStore applicationStore;
+    private InternshipIndex index;
+    private TextIndex textIndex;
+    private PostingSchedule schedule;
+    private StripedLocks locks;
+    private AtomicInteger nextInternshipId;
+    private volatile InternshipJournal journal;
 
     public InternshipManager() {
-        internships = new ArrayList<>();
-        withdrawalRequests = new ArrayList<>();
-        nextInternshipId = 1;
+        this(Clock.systemDefaultZone());
+    }
+
+    // clock decides what "today" is when postings open and close; tests can pass a fixed or offset clock.
+    public InternshipManager(Clock clock) {
+        this(clock, ApplicationStore.ON_HEAP);
+    }
+
+    public InternshipManager(ApplicationStore applicationStore) {
+        this(Clock.systemDefaultZone(), applicationStore);
+    }
+
+    // applicationStore holds every posting's applications; it must be opened before any posting exists.
+    public InternshipManager(Clock clock, ApplicationStore applicationStore) {
+        internships = new ConcurrentSkipListMap<>();
+        withdrawalRequests = new WithdrawalQueue();
+        postingsByStudent = new ConcurrentHashMap<>();
+        this.applicationStore = applicationStore;
+        index = new InternshipIndex();
+        textIndex = new TextIndex();
+        schedule = new PostingSchedule(clock);
+        locks = new StripedLocks(1024);
+        nextInternshipId = new AtomicInteger(1);
+        journal = InternshipJournal.NONE;
+    }
+
+    public void setJournal(InternshipJournal journal) {
+        this.journal = journal == null ? InternshipJournal.NONE : journal;
     }
 
    public Internship createInternship(CompanyRepresentative rep, String title, String description,
                                        InternshipLevel level, String prefer_major,
                                        LocalDate openingDate, LocalDate closingDate, int slots) {
-        int activeCount = 0;
-        for (Internship it : internships) {
-            if (it.getPostedBy().equals(rep)
-                    && it.getStatus() != InternshipStatus.FILLED
-                    && it.getStatus() != InternshipStatus.REJECTED) {
-                activeCount++;
+        if (slots < 1 || slots > 10) return null;
+        var held = locks.lock(rep.getId());
+        try (held) {
+            int activeCount = 0;
+            for (Internship it : rep.getInternshipsPosted()) {
+                if (it.getStatus() != InternshipStatus.FILLED
+                        && it.getStatus() != InternshipStatus.REJECTED) {
+                    activeCount++;
+                }
             }
+            if (activeCount >= 5) return null;
+
+            int id = nextInternshipId.getAndIncrement();
+            Internship internship = new Internship(id, title, description, level, prefer_major, openingDate,
+                    closingDate, slots, rep, applicationStore.tableFor(id));
+            internships.put(internship.getId(), internship);
+            index.add(internship);
+            textIndex.add(internship);
+            schedule.add(internship);
+            rep.addInternshipPosted(internship);
+            journal.postingSaved(internship);
+            return internship;
+        } finally {
+            journal.commit();
         }
-        if (activeCount >= 5 || slots < 1 || slots > 10) return null;
+    }
 
-        Internship internship = new Internship(nextInternshipId++, title, description, level,
-                prefer_major, openingDate, closingDate, slots, rep);
-        internships.add(internship);
-        rep.addInternshipPosted(internship);
-        return internship;
+    // Validates every draft in parallel, then inserts the accepted ones in one pass: ids are allocated as one
+    // block, the index is updated once and the journal is committed once. Rows over the per-rep limit of
+    // five active postings are rejected in input order.
+    public BatchResult<Internship> createInternships(List<InternshipDraft> drafts) {
+        int n = drafts.size();
+        String[] problems = new String[n];
+        IntStream.range(0, n).parallel().forEach(i -> problems[i] = validate(drafts.get(i)));
+
+        Map<CompanyRepresentative, List<Integer>> rowsByRep = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            if (problems[i] == null) rowsByRep.computeIfAbsent(drafts.get(i).getRep(), k -> new ArrayList<>()).add(i);
+        }
+        List<String> repIds = rowsByRep.keySet().stream().map(CompanyRepresentative::getId).toList();
+
+        Internship[] created = new Internship[n];
+        var held = locks.lockAll(repIds);
+        try (held) {
+            List<Integer> accepted = new ArrayList<>();
+            for (Map.Entry<CompanyRepresentative, List<Integer>> e : rowsByRep.entrySet()) {
+                int activeCount = 0;
+                for (Internship it : e.getKey().getInternshipsPosted()) {
+                    if (it.getStatus() != InternshipStatus.FILLED
+                            && it.getStatus() != InternshipStatus.REJECTED) {
+                        activeCount++;
+                    }
+                }
+                for (int row : e.getValue()) {
+                    if (activeCount++ >= 5) problems[row] = "Representative already has 5 active postings";
+                    else accepted.add(row);
+                }
+            }
+            Collections.sort(accepted);
+
+            int firstId = nextInternshipId.getAndAdd(accepted.size());
+            List<Internship> batch = new ArrayList<>(accepted.size());
+            for (int k = 0; k < accepted.size(); k++) {
+                InternshipDraft d = drafts.get(accepted.get(k));
+                Internship internship = new Internship(firstId + k, d.getTitle(), d.getDescription(), d.getLevel(),
+                        d.getPreferredMajor(), d.getOpeningDate(), d.getClosingDate(), d.getSlots(), d.getRep(),
+                        applicationStore.tableFor(firstId + k));
+                created[accepted.get(k)] = internship;
+                batch.add(internship);
+            }
+            index.addAll(batch);
+            textIndex.addAll(batch);
+            schedule.addAll(batch);
+            for (Internship internship : batch) {
+                internships.put(internship.getId(), internship);
+                internship.getPostedBy().addInternshipPosted(internship);
+                journal.postingSaved(internship);
+            }
+        } finally {
+            journal.commit();
+        }
+
+        List<BatchResult.RowError> errors = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (problems[i] != null) errors.add(new BatchResult.RowError(i, problems[i]));
+        }
+        return new BatchResult<>(Arrays.asList(created), errors);
     }
 
-    public boolean applyForInternship(Student student, Internship internship) {
-        if (!internship.isOpenForApplication(student)) return false;
-        if (internship.getApplications().containsKey(student.getId())) return false;
-        if (countActiveApplications(student) >= 3) return false;
+    private static String validate(InternshipDraft d) {
+        if (d == null) return "Missing posting";
+        if (d.getRep() == null) return "Missing company representative";
+        if (d.getTitle() == null || d.getTitle().isBlank()) return "Missing title";
+        if (d.getLevel() == null) return "Missing level";
+        if (d.getOpeningDate() == null || d.getClosingDate() == null) return "Missing opening or closing date";
+        if (d.getClosingDate().isBefore(d.getOpeningDate())) return "Closing date is before opening date";
+        if (d.getSlots() < 1 || d.getSlots() > 10) return "Slots must be between 1 and 10";
+        return null;
+    }
 
-        internship.getApplications().put(student.getId(), ApplicationStatus.APPLIED);
-        return true;
+    public boolean applyForInternship(Student student, Internship internship) {
+        var held = locks.lock(student.getId(), internship.getId());
+        try (held) {
+            if (!schedule.isOpen(internship.getId()) || !internship.isEligible(student)) return false;
+            if (internship.getApplications().contains(student.getId())) return false;
+            if (countActiveApplications(student) >= 3) return false;
+
+            setApplicationStatus(internship, student.getId(), ApplicationStatus.APPLIED);
+            return true;
+        } finally {
+            journal.commit();
+        }
     }
 
     public int countActiveApplications(Student student) {
+        Internship[] applied = postingsByStudent.get(student.getId());
+        if (applied == null) return 0;
+        int code = StudentIds.code(student.getId());
         int count = 0;
-        for (Internship it : internships) {
-            ApplicationStatus status = it.getApplications().get(student.getId());
+        for (Internship internship : applied) {
+            ApplicationStatus status = internship.getApplications().statusOf(code);
             if (status == ApplicationStatus.APPLIED || status == ApplicationStatus.OFFERED) count++;
         }
         return count;
     }
 
+    // The student's applications by posting id, as of the call.
+    public Map<Internship, ApplicationStatus> getApplicationsForStudent(Student student) {
+        Internship[] applied = postingsByStudent.get(student.getId());
+        if (applied == null) return Collections.emptyMap();
+        int code = StudentIds.code(student.getId());
+        Map<Internship, ApplicationStatus> apps = new LinkedHashMap<>();
+        for (Internship internship : applied) {
+            ApplicationStatus status = internship.getApplications().statusOf(code);
+            if (status != null) apps.put(internship, status);
+        }
+        return Collections.unmodifiableMap(apps);
+    }
 
-    public WithdrawalRequest requestWithdrawal(Student student, Internship internship) {
-        ApplicationStatus currentStatus = internship.getApplications().get(student.getId());
-        if (currentStatus == null) return null;
+    private void setApplicationStatus(Internship internship, String studentId, ApplicationStatus status) {
+        internship.setApplicationStatus(studentId, status);
+        indexApplication(internship, studentId, status);
+    }
 
-        boolean wasConfirmed = (currentStatus == ApplicationStatus.CONFIRMED);
-        WithdrawalRequest req = new WithdrawalRequest(student, internship, wasConfirmed);
-        withdrawalRequests.add(req);
-        return req;
+    private void indexApplication(Internship internship, String studentId, ApplicationStatus status) {
+        linkApplication(studentId, internship);
+        journal.applicationChanged(internship, studentId, status);
+    }
+
+    private void linkApplication(String studentId, Internship internship) {
+        Internship[] applied = postingsByStudent.get(studentId);
+        if (applied != null && Arrays.binarySearch(applied, internship, BY_ID) >= 0) return;
+        postingsByStudent.compute(studentId, (k, current) -> {
+            if (current == null) return new Internship[] {internship};
+            int at = Arrays.binarySearch(current, internship, BY_ID);
+            if (at >= 0) return current;
+            at = -at - 1;
+            Internship[] grown = new Internship[current.length + 1];
+            System.arraycopy(current, 0, grown, 0, at);
+            grown[at] = internship;
+            System.arraycopy(current, at, grown, at + 1, current.length - at);
+            return grown;
+        });
+    }
+
+    // Indexes the applications a reopened store already held for internship.
+    private void linkApplications(Internship internship) {
+        internship.getApplications().forEach((sid, status) -> linkApplication(sid, internship));
+    }
+
+    private void unlinkApplication(String studentId, Internship internship) {
+        postingsByStudent.computeIfPresent(studentId, (k, current) -> {
+            int at = Arrays.binarySearch(current, internship, BY_ID);
+            if (at < 0) return current;
+            if (current.length == 1) return null;
+            Internship[] shrunk = new Internship[current.length - 1];
+            System.arraycopy(current, 0, shrunk, 0, at);
+            System.arraycopy(current, at + 1, shrunk, at, shrunk.length - at);
+            return shrunk;
+        });
+    }
+
+
+    public WithdrawalRequest requestWithdrawal(Student student, Internship internship) {
+        var held = locks.lock(student.getId(), internship.getId());
+        try (held) {
+            ApplicationStatus currentStatus = internship.getApplications().statusOf(student.getId());
+            if (currentStatus == null) return null;
+
+            boolean wasConfirmed = (currentStatus == ApplicationStatus.CONFIRMED);
+            WithdrawalRequest req = new WithdrawalRequest(student, internship, wasConfirmed);
+            if (!withdrawalRequests.add(req)) return null;
+            journal.withdrawalRequested(req);
+            return req;
+        } finally {
+            journal.commit();
+        }
     }
     public void processWithdrawalRequest(WithdrawalRequest req, boolean approve) {
         Student student = req.getStudent();
         Internship internship = req.getInternship();
-        ApplicationStatus currStatus = internship.getApplications().get(student.getId());
+        var held = locks.lock(student.getId(), internship.getId());
+        try (held) {
+            if (!withdrawalRequests.contains(req)) return;
+            Internship reopened = resolveWithdrawal(req, approve);
+            if (reopened != null) index.update(reopened);
+        } finally {
+            journal.commit();
+        }
+    }
+
+    // Resolves every request in one pass under all their locks, with one index update for the postings
+    // that reopen and one journal commit. Requests that are no longer pending are reported as errors.
+    public BatchResult<WithdrawalRequest> processWithdrawalRequests(Collection<WithdrawalRequest> reqs, boolean approve) {
+        List<WithdrawalRequest> rows = List.copyOf(reqs);
+        List<WithdrawalRequest> processed = new ArrayList<>(rows.size());
+        List<BatchResult.RowError> errors = new ArrayList<>();
+        List<Object> keys = new ArrayList<>(rows.size() * 2);
+        for (WithdrawalRequest req : rows) {
+            keys.add(req.getStudent().getId());
+            keys.add(req.getInternship().getId());
+        }
+        List<Internship> reopened = new ArrayList<>();
+        var held = locks.lockAll(keys);
+        try (held) {
+            for (int row = 0; row < rows.size(); row++) {
+                WithdrawalRequest req = rows.get(row);
+                if (!withdrawalRequests.contains(req)) {
+                    processed.add(null);
+                    errors.add(new BatchResult.RowError(row, "Request is no longer pending"));
+                    continue;
+                }
+                Internship posting = resolveWithdrawal(req, approve);
+                if (posting != null) reopened.add(posting);
+                processed.add(req);
+            }
+            index.updateAll(reopened);
+        } finally {
+            journal.commit();
+        }
+        return new BatchResult<>(processed, errors);
+    }
+
+    public BatchResult<WithdrawalRequest> processWithdrawalRequestsWhere(Predicate<WithdrawalRequest> which, boolean approve) {
+        List<WithdrawalRequest> matching = new ArrayList<>();
+        for (WithdrawalRequest req : withdrawalRequests.all()) {
+            if (which.test(req)) matching.add(req);
+        }
+        return processWithdrawalRequests(matching, approve);
+    }
+
+    // Caller holds the student and internship locks and has checked that req is still queued. Returns the
+    // posting if it went from FILLED back to APPROVED, so the caller can update the index.
+    private Internship resolveWithdrawal(WithdrawalRequest req, boolean approve) {
+        Student student = req.getStudent();
+        Internship internship = req.getInternship();
+        ApplicationStatus currStatus = internship.getApplications().statusOf(student.getId());
 
         if (!approve || currStatus == null) {
-            withdrawalRequests.remove(req);
-            return;
+            if (withdrawalRequests.remove(req)) journal.withdrawalResolved(req);
+            return null;
         }
 
+        Internship reopened = null;
         if (req.wasAfterConfirmation()) {
             student.setAcceptedInternshipId(-1);
-            internship.getApplications().put(student.getId(), ApplicationStatus.WITHDRAWN);
+            journal.acceptedInternshipChanged(student);
+            setApplicationStatus(internship, student.getId(), ApplicationStatus.WITHDRAWN);
 
-            if (internship.getStatus() == InternshipStatus.FILLED)
-                internship.setStatus(InternshipStatus.APPROVED);
+            if (internship.compareAndSetStatus(InternshipStatus.FILLED, InternshipStatus.APPROVED)) {
+                reopened = internship;
+                journal.postingSaved(internship);
+            }
         } else {
-            internship.getApplications().put(student.getId(), ApplicationStatus.WITHDRAWN);
+            setApplicationStatus(internship, student.getId(), ApplicationStatus.WITHDRAWN);
         }
 
         req.setApproved(true);
         withdrawalRequests.remove(req);
+        journal.withdrawalResolved(req);
+        return reopened;
     }
 
     public List<WithdrawalRequest> getPendingWithdrawalRequests() {
-        return withdrawalRequests.stream()
-                .filter(r -> !r.isApproved())
-                .collect(Collectors.toList());
+        return withdrawalRequests.all();
+    }
+
+    public List<WithdrawalRequest> getPendingWithdrawalRequests(int offset, int limit) {
+        return withdrawalRequests.page(offset, limit);
+    }
+
+    public int getPendingWithdrawalCount() {
+        return withdrawalRequests.size();
+    }
+
+    public WithdrawalRequest getPendingWithdrawalRequest(String studentId, int internshipId) {
+        return withdrawalRequests.get(studentId, internshipId);
     }
 
     public void reviewInternshipPosting(Internship internship, boolean approve) {
+        var held = locks.lock(internship.getId());
+        try (held) {
+            applyReview(internship, approve);
+            index.update(internship);
+            journal.postingSaved(internship);
+        } finally {
+            journal.commit();
+        }
+    }
+
+    // Reviews the pending postings with the given ids in one pass: every posting lock is taken up front,
+    // the index is updated once and the journal committed once. Unknown ids and postings that are not
+    // pending are reported as errors.
+    public BatchResult<Internship> reviewInternshipPostings(Collection<Integer> ids, boolean approve) {
+        List<Integer> rows = List.copyOf(ids);
+        List<Internship> reviewed = new ArrayList<>(rows.size());
+        List<BatchResult.RowError> errors = new ArrayList<>();
+        List<Internship> changed = new ArrayList<>(rows.size());
+        var held = locks.lockAll(rows);
+        try (held) {
+            for (int row = 0; row < rows.size(); row++) {
+                Internship internship = internships.get(rows.get(row));
+                String error = internship == null ? "No such internship"
+                        : internship.getStatus() != InternshipStatus.PENDING ? "Internship is not pending review" : null;
+                if (error != null) {
+                    reviewed.add(null);
+                    errors.add(new BatchResult.RowError(row, error));
+                    continue;
+                }
+                applyReview(internship, approve);
+                journal.postingSaved(internship);
+                changed.add(internship);
+                reviewed.add(internship);
+            }
+            index.updateAll(changed);
+        } finally {
+            journal.commit();
+        }
+        return new BatchResult<>(reviewed, errors);
+    }
+
+    public BatchResult<Internship> reviewInternshipPostingsWhere(Predicate<Internship> which, boolean approve) {
+        List<Integer> ids = new ArrayList<>();
+        for (Internship it : filterInternships(new InternshipFilter().status(InternshipStatus.PENDING))) {
+            if (which.test(it)) ids.add(it.getId());
+        }
+        return reviewInternshipPostings(ids, approve);
+    }
+
+    private static void applyReview(Internship internship, boolean approve) {
         if (approve) {
             internship.setStatus(InternshipStatus.APPROVED);
             internship.setVisible(true);
@@ -107,79 +431,351 @@ public class InternshipManager implements IInternshipService {
     }
 
     public boolean reviewApplication(Internship internship, Student student, boolean approve) {
-        ApplicationStatus status = internship.getApplications().get(student.getId());
-        if (status == null || status != ApplicationStatus.APPLIED) return false;
-
-        if (approve) {
-            int offeredCount = internship.countApplicationsByStatus(ApplicationStatus.OFFERED);
-            int confirmedCount = internship.countApplicationsByStatus(ApplicationStatus.CONFIRMED);
-            if (offeredCount + confirmedCount >= internship.getSlots()) return false;
-
-            internship.getApplications().put(student.getId(), ApplicationStatus.OFFERED);
-        } else {
-            internship.getApplications().put(student.getId(), ApplicationStatus.REJECTED);
+        var held = locks.lock(student.getId(), internship.getId());
+        try (held) {
+            ApplicationStatus status = internship.getApplications().statusOf(student.getId());
+            if (status == null || status != ApplicationStatus.APPLIED) return false;
+
+            if (approve) {
+                int offeredCount = internship.countApplicationsByStatus(ApplicationStatus.OFFERED);
+                int confirmedCount = internship.countApplicationsByStatus(ApplicationStatus.CONFIRMED);
+                if (offeredCount + confirmedCount >= internship.getSlots()) return false;
+
+                setApplicationStatus(internship, student.getId(), ApplicationStatus.OFFERED);
+            } else {
+                setApplicationStatus(internship, student.getId(), ApplicationStatus.REJECTED);
+            }
+            return true;
+        } finally {
+            journal.commit();
         }
-        return true;
     }
 
    public boolean acceptOffer(Student student, Internship internship) {
-        ApplicationStatus status = internship.getApplications().get(student.getId());
-        if (status == null || status != ApplicationStatus.OFFERED) return false;
-        if (student.getAcceptedInternshipId() != -1) return false;
-
-        internship.getApplications().put(student.getId(), ApplicationStatus.CONFIRMED);
-        student.setAcceptedInternshipId(internship.getId());
+        try {
+            int confirmedCount;
+            // Only the student is locked: the posting's slot is taken by a CAS in Internship.confirmOffer.
+            var held = locks.lock(student.getId());
+            try (held) {
+                ApplicationStatus status = internship.getApplications().statusOf(student.getId());
+                if (status == null || status != ApplicationStatus.OFFERED) return false;
+                if (student.getAcceptedInternshipId() != -1) return false;
+
+                confirmedCount = internship.confirmOffer(student.getId());
+                if (confirmedCount < 0) return false;
+                indexApplication(internship, student.getId(), ApplicationStatus.CONFIRMED);
+                student.setAcceptedInternshipId(internship.getId());
+                journal.acceptedInternshipChanged(student);
+            }
 
-        int confirmedCount = internship.countApplicationsByStatus(ApplicationStatus.CONFIRMED);
-        if (confirmedCount >= internship.getSlots()){
-            internship.setStatus(InternshipStatus.FILLED);
-            autoWithdrawOtherApplications(student, internship);
+            // The caller that takes the last slot flips the posting; the rest of the work stays off the hot path.
+            if (confirmedCount >= internship.getSlots()) {
+                boolean filled;
+                var postingHeld = locks.lock(internship.getId());
+                try (postingHeld) {
+                    // An approved withdrawal may have freed a slot since ours was reserved; it holds this lock
+                    // too, so counting again here leaves the posting FILLED only when it really is full.
+                    filled = internship.countApplicationsByStatus(ApplicationStatus.CONFIRMED) >= internship.getSlots()
+                            && internship.compareAndSetStatus(InternshipStatus.APPROVED, InternshipStatus.FILLED);
+                    if (filled) {
+                        index.update(internship);
+                        journal.postingSaved(internship);
+                    }
+                }
+                if (filled) autoWithdrawOtherApplications(student, internship);
+            }
+            return true;
+        } finally {
+            journal.commit();
         }
-        return true;
     }
 
     public void toggleVisibility(Internship internship) {
-        internship.setVisible(!internship.isVisible());
+        var held = locks.lock(internship.getId());
+        try (held) {
+            internship.setVisible(!internship.isVisible());
+            index.update(internship);
+            journal.postingSaved(internship);
+        } finally {
+            journal.commit();
+        }
     }
 
 
 
+    // Read-only copy of every posting, for persistence and reporting; screens should page with queryInternships.
     public List<Internship> getAllInternships() {
-        return internships;
+        return Collections.unmodifiableList(new ArrayList<>(internships.values()));
     }
 
-    public boolean updateInternship(Internship internship) {
-        if (internship == null) return false;
-        for (int i = 0; i < internships.size(); i++) {
-            if (internships.get(i).getId() == internship.getId()) {
-                internships.set(i, internship); 
-                return true;
+    public Internship getInternshipById(int id) {
+        return internships.get(id);
+    }
+
+    public List<Internship> filterInternships(InternshipFilter filter) {
+        BitSet ids = candidates(filter);
+        List<Internship> result = new ArrayList<>(ids.cardinality());
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            Internship it = internships.get(id);
+            if (it != null && matchesDates(filter, it)) result.add(it);
+        }
+        return result;
+    }
+
+    // All postings matching filter in the given order. Title order is a scan of the title index.
+    public List<Internship> filterInternships(InternshipFilter filter, InternshipSort sort) {
+        if (sort != InternshipSort.TITLE) {
+            List<Internship> result = filterInternships(filter);
+            if (sort != InternshipSort.ID) result.sort(sort.comparator());
+            return result;
+        }
+        BitSet ids = candidates(filter);
+        List<Internship> result = new ArrayList<>(ids.cardinality());
+        for (var scan = index.titleOrder(filter, null, 0); scan.hasNext(); ) {
+            Internship it = scan.next();
+            if (ids.get(it.getId()) && matchesDates(filter, it)) result.add(it);
+        }
+        return result;
+    }
+
+    // Returns up to pageSize postings matching filter that come after cursor in the given order (from the
+    // start when cursor is null). Ordering by id walks the index bitmap from the cursor, and ordering by
+    // title walks the title index (or, for a student's eligibility filter, their cohort's) from the cursor.
+    // Other orders, and a title order whose filter matches so few postings that ranking them is cheaper
+    // than the walk, keep only the best pageSize + 1 matches in a bounded heap, so nothing proportional to
+    // the result is copied.
+    public InternshipPage queryInternships(InternshipFilter filter, InternshipSort sort, int pageSize, String cursor) {
+        if (pageSize < 1) throw new IllegalArgumentException("Page size must be positive");
+        InternshipPage.Position after = cursor == null ? null : InternshipPage.decodeCursor(sort, cursor);
+        BitSet ids = candidates(filter);
+        List<Internship> items = new ArrayList<>(Math.min(pageSize, ids.cardinality()) + 1);
+
+        if (sort == InternshipSort.TITLE && ids.cardinality() * 8L >= index.titleOrderSize(filter)) {
+            var scan = after == null ? index.titleOrder(filter, null, 0)
+                    : index.titleOrder(filter, InternshipIndex.titleKey(after.key()), after.id());
+            while (scan.hasNext() && items.size() <= pageSize) {
+                Internship it = scan.next();
+                if (ids.get(it.getId()) && matchesDates(filter, it)) items.add(it);
             }
+        } else if (sort == InternshipSort.ID) {
+            int start = after == null ? 0 : Math.max(0, after.id() + 1);
+            for (int id = ids.nextSetBit(start); id >= 0 && items.size() <= pageSize; id = ids.nextSetBit(id + 1)) {
+                Internship it = internships.get(id);
+                if (it != null && matchesDates(filter, it)) items.add(it);
+            }
+        } else {
+            Comparator<Internship> order = sort.comparator();
+            PriorityQueue<Internship> best = new PriorityQueue<>(pageSize + 2, order.reversed());
+            for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+                Internship it = internships.get(id);
+                if (it == null || !matchesDates(filter, it)) continue;
+                if (after != null && sort.compare(it, after.key(), after.id()) <= 0) continue;
+                if (best.size() <= pageSize) {
+                    best.add(it);
+                } else if (order.compare(it, best.peek()) < 0) {
+                    best.poll();
+                    best.add(it);
+                }
+            }
+            items.addAll(best);
+            items.sort(order);
+        }
+
+        String next = null;
+        if (items.size() > pageSize) {
+            items.remove(pageSize);
+            next = InternshipPage.encodeCursor(sort, items.get(pageSize - 1));
         }
-        return false;
+        return new InternshipPage(items, next);
     }
 
-    public boolean deleteInternship(Internship internship) {
-        if (!internships.contains(internship))
-            return false;
+    // Up to limit postings matching filter whose title or description contains every word of query, best
+    // match first. Title words count more than description words, and rarer words more than common ones.
+    public List<Internship> searchInternships(String query, InternshipFilter filter, int limit) {
+        return search(query, false, filter, limit);
+    }
 
-        internships.remove(internship);
+    // As searchInternships, but the last word also matches longer words that start with it, so results can
+    // be suggested while the user is still typing.
+    public List<Internship> searchInternshipsByPrefix(String query, InternshipFilter filter, int limit) {
+        return search(query, true, filter, limit);
+    }
 
-        CompanyRepresentative rep = internship.getPostedBy();
-        if (rep != null) {
-            rep.getInternshipsPosted().remove(internship);
+    private List<Internship> search(String query, boolean prefixLast, InternshipFilter filter, int limit) {
+        if (limit < 1) throw new IllegalArgumentException("Limit must be positive");
+        BitSet ids = candidates(filter);
+        IntPredicate dated = filter.getClosingBy() == null && filter.getOpenOn() == null ? null : id -> {
+            Internship it = internships.get(id);
+            return it != null && matchesDates(filter, it);
+        };
+        int[] hits = textIndex.search(query, prefixLast, ids, dated, limit);
+        List<Internship> result = new ArrayList<>(hits.length);
+        for (int id : hits) {
+            Internship it = internships.get(id);
+            if (it != null) result.add(it);
         }
+        return result;
+    }
+
+    // Ids matching every indexed part of filter; dates other than the phase are left to matchesDates.
+    private BitSet candidates(InternshipFilter filter) {
+        BitSet ids = index.query(filter);
+        if (filter.getPhase() != null) schedule.retain(ids, filter.getPhase());
+        return ids;
+    }
 
-        return true;
+    // Where internship stands relative to its application window today, or null if it is not managed here.
+    public PostingPhase getPostingPhase(Internship internship) {
+        return schedule.phaseOf(internship.getId());
+    }
+
+    private static boolean matchesDates(InternshipFilter filter, Internship it) {
+        if (filter.getClosingBy() != null && it.getClosingDate().isAfter(filter.getClosingBy())) return false;
+        LocalDate openOn = filter.getOpenOn();
+        return openOn == null || (!openOn.isBefore(it.getOpeningDate()) && !openOn.isAfter(it.getClosingDate()));
+    }
+
+    // Validates edit against the posting as it stands under its lock, then applies every change at once, so
+    // no reader, index or journal record sees half of it. Returns null once applied, otherwise why not.
+    public String updateInternship(Internship internship, InternshipEdit edit) {
+        if (internship == null) return "Internship not found";
+        var held = locks.lock(internship.getId());
+        try (held) {
+            if (internships.get(internship.getId()) != internship) return "Internship not found";
+            if (internship.getStatus() != InternshipStatus.PENDING)
+                return "Cannot edit an internship that is already " + internship.getStatus();
+            if (edit.getTitle() != null && edit.getTitle().isBlank()) return "Missing title";
+            LocalDate opening = edit.getOpeningDate() != null ? edit.getOpeningDate() : internship.getOpeningDate();
+            LocalDate closing = edit.getClosingDate() != null ? edit.getClosingDate() : internship.getClosingDate();
+            if (closing.isBefore(opening)) return "Closing date is before opening date";
+            Integer slots = edit.getSlots();
+            if (slots != null && (slots < 1 || slots > 10)) return "Slots must be between 1 and 10";
+            int confirmed = internship.countApplicationsByStatus(ApplicationStatus.CONFIRMED);
+            if (slots != null && slots < confirmed) return "Slots cannot be fewer than the " + confirmed + " confirmed";
+
+            if (edit.getTitle() != null) internship.setTitle(edit.getTitle());
+            if (edit.getDescription() != null) internship.setDescription(edit.getDescription());
+            if (edit.getPreferredMajor() != null) internship.setPrefer_major(edit.getPreferredMajor());
+            if (edit.getLevel() != null) internship.setLevel(edit.getLevel());
+            internship.setOpeningDate(opening);
+            internship.setClosingDate(closing);
+            if (slots != null) internship.setSlots(slots);
+            index.update(internship);
+            textIndex.update(internship);
+            schedule.update(internship);
+            journal.postingSaved(internship);
+            return null;
+        } finally {
+            journal.commit();
+        }
+    }
+
+    // Refuses a posting that has applicants with an IllegalStateException. The check is made under the
+    // posting's lock, which applyForInternship also takes, so no application can slip in after it.
+    public boolean deleteInternship(Internship internship) {
+        if (internship == null) return false;
+        CompanyRepresentative rep = internship.getPostedBy();
+        var held = rep != null ? locks.lock(internship.getId(), rep.getId()) : locks.lock(internship.getId());
+        try (held) {
+            if (!internship.getApplications().isEmpty())
+                throw new IllegalStateException("Cannot delete posting. It has applicants.");
+            if (!internships.remove(internship.getId(), internship))
+                return false;
+
+            index.remove(internship);
+            textIndex.remove(internship);
+            schedule.remove(internship);
+            withdrawalRequests.removeInternship(internship.getId());
+            if (rep != null) {
+                rep.getInternshipsPosted().remove(internship);
+            }
+            journal.postingDeleted(internship);
+            return true;
+        } finally {
+            journal.commit();
+        }
     }
 
     public void autoWithdrawOtherApplications(Student student, Internship acceptedInternship) {
         String sid = student.getId();
-        for (Internship internship : internships) {
+        Internship[] applied = postingsByStudent.get(sid);
+        if (applied == null) return;
+        for (Internship internship : applied) {
             if (internship.getId() == acceptedInternship.getId()) continue;
-            if (internship.getApplications().containsKey(sid)) {
-                internship.getApplications().put(sid, ApplicationStatus.WITHDRAWN);
+            var held = locks.lock(sid, internship.getId());
+            try (held) {
+                setApplicationStatus(internship, sid, ApplicationStatus.WITHDRAWN);
             }
         }
     }
+
+    // --- restore: rebuilds state from a log or snapshot without validation or journaling ---
+
+    public Internship restoreInternship(int id, CompanyRepresentative rep, String title, String description,
+                                        InternshipLevel level, String prefer_major, LocalDate openingDate,
+                                        LocalDate closingDate, int slots, InternshipStatus status, boolean visible) {
+        Internship internship = internships.get(id);
+        if (internship == null) {
+            internship = new Internship(id, title, description, level, prefer_major, openingDate, closingDate, slots, rep,
+                    applicationStore.tableFor(id));
+            internships.put(id, internship);
+            linkApplications(internship);
+            if (rep != null) rep.addInternshipPosted(internship);
+            nextInternshipId.accumulateAndGet(id + 1, Math::max);
+        } else {
+            internship.setTitle(title);
+            internship.setDescription(description);
+            internship.setLevel(level);
+            internship.setPrefer_major(prefer_major);
+            internship.setOpeningDate(openingDate);
+            internship.setClosingDate(closingDate);
+            internship.setSlots(slots);
+        }
+        internship.setStatus(status);
+        internship.setVisible(visible);
+        index.update(internship);
+        textIndex.update(internship);
+        schedule.update(internship);
+        return internship;
+    }
+
+    public int getNextInternshipId() {
+        return nextInternshipId.get();
+    }
+
+    public void restoreNextInternshipId(int id) {
+        nextInternshipId.accumulateAndGet(id, Math::max);
+    }
+
+    public void restoreDeletion(int id) {
+        Internship internship = internships.remove(id);
+        if (internship == null) return;
+        index.remove(internship);
+        textIndex.remove(internship);
+        schedule.remove(internship);
+        withdrawalRequests.removeInternship(id);
+        if (internship.getPostedBy() != null) internship.getPostedBy().getInternshipsPosted().remove(internship);
+        internship.getApplications().forEach((sid, status) -> unlinkApplication(sid, internship));
+        applicationStore.drop(id);
+    }
+
+    // True if the application store already held every application when it was opened, so a restore need
+    // not replay them.
+    public boolean hasRestoredApplications() {
+        return applicationStore.isRestored();
+    }
+
+    public void restoreApplication(Internship internship, String studentId, ApplicationStatus status) {
+        internship.setApplicationStatus(studentId, status);
+        linkApplication(studentId, internship);
+    }
+
+    // A snapshot may already hold a request that the log tail replays again, so duplicates are skipped.
+    public void restoreWithdrawalRequest(WithdrawalRequest req) {
+        withdrawalRequests.add(req);
+    }
+
+    public void restoreWithdrawalResolved(String studentId, int internshipId) {
+        withdrawalRequests.remove(studentId, internshipId);
+    }
 }
@@ -0,0 +1,49 @@
+package control;
+
+import entities.Internship;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+// One page of a queryInternships result. The items cannot be modified; pass getNextCursor() back to the same
+// query to get the following page.
+public class InternshipPage {
+    private final List<Internship> items;
+    private final String nextCursor;
+
+    InternshipPage(List<Internship> items, String nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Internship> getItems() { return items; }
+
+    // Null on the last page.
+    public String getNextCursor() { return nextCursor; }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    // The cursor names the sort order and the (key, id) position of the last item, so it stays valid
+    // when postings are added, changed or deleted between pages.
+    static String encodeCursor(InternshipSort sort, Internship last) {
+        String raw = sort.name() + '\n' + last.getId() + '\n' + sort.keyOf(last);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    record Position(String key, int id) {}
+
+    static Position decodeCursor(InternshipSort sort, String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\n", 3);
+            if (parts.length != 3 || !parts[0].equals(sort.name())) throw new IllegalArgumentException();
+            return new Position(parts[2], Integer.parseInt(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor for sort " + sort);
+        }
+    }
+}
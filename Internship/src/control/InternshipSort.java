@@ -0,0 +1,52 @@
+package control;
+
+import entities.Internship;
+
+import java.util.Comparator;
+
+// Orders for queryInternships. Every order breaks ties by id, so each posting has exactly one position and a
+// cursor can resume right after it.
+public enum InternshipSort {
+    ID {
+        @Override
+        String keyOf(Internship it) {
+            return "";
+        }
+    },
+    TITLE {
+        @Override
+        String keyOf(Internship it) {
+            return it.getTitle() == null ? "" : it.getTitle();
+        }
+
+        @Override
+        int compareKeys(String a, String b) {
+            return String.CASE_INSENSITIVE_ORDER.compare(a, b);
+        }
+    },
+    // ISO dates order the same as strings.
+    CLOSING_DATE {
+        @Override
+        String keyOf(Internship it) {
+            return it.getClosingDate() == null ? "" : it.getClosingDate().toString();
+        }
+    };
+
+    private final Comparator<Internship> comparator = (a, b) -> compare(a, keyOf(b), b.getId());
+
+    abstract String keyOf(Internship it);
+
+    int compareKeys(String a, String b) {
+        return a.compareTo(b);
+    }
+
+    // Compares it with the position (key, id).
+    int compare(Internship it, String key, int id) {
+        int c = compareKeys(keyOf(it), key);
+        return c != 0 ? c : Integer.compare(it.getId(), id);
+    }
+
+    public Comparator<Internship> comparator() {
+        return comparator;
+    }
+}
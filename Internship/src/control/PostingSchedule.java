@@ -0,0 +1,185 @@
+package control;
+
+import entities.Internship;
+import entities.PostingPhase;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Which postings are upcoming, open or closed for applications today, one bitmap per phase. A priority
+// queue holds the date each posting next changes phase (its opening date, then the day after its closing
+// date); due changes are applied the first time the schedule is read on or after that date, so within a day
+// a read costs one clock lookup. Dates come from the given clock.
+class PostingSchedule {
+    private record Window(LocalDate opening, LocalDate closing) {}
+
+    private record Change(LocalDate date, int id, Window window) {}
+
+    private final Clock clock;
+    private final Map<PostingPhase, BitSet> byPhase = new EnumMap<>(PostingPhase.class);
+    private final Map<Integer, Window> windows = new HashMap<>();
+    private final PriorityQueue<Change> changes = new PriorityQueue<>(Comparator.comparing(Change::date));
+    private final ReadWriteLock rw = new ReentrantReadWriteLock();
+    private LocalDate today;
+    // Clock millis between which today stays the date.
+    private volatile long todayMillis;
+    private volatile long nextDayMillis;
+
+    PostingSchedule(Clock clock) {
+        this.clock = clock;
+        for (PostingPhase p : PostingPhase.values()) byPhase.put(p, new BitSet());
+        today = LocalDate.now(clock);
+        setDayBounds();
+    }
+
+    static PostingPhase phaseOn(LocalDate day, LocalDate opening, LocalDate closing) {
+        if (opening != null && day.isBefore(opening)) return PostingPhase.UPCOMING;
+        if (closing != null && day.isAfter(closing)) return PostingPhase.CLOSED;
+        return PostingPhase.OPEN;
+    }
+
+    void add(Internship it) {
+        rw.writeLock().lock();
+        try {
+            advanceLocked();
+            schedule(it);
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    void addAll(Collection<Internship> batch) {
+        rw.writeLock().lock();
+        try {
+            advanceLocked();
+            for (Internship it : batch) schedule(it);
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    // Reschedules it only if its opening or closing date changed.
+    void update(Internship it) {
+        rw.writeLock().lock();
+        try {
+            advanceLocked();
+            Window w = windows.get(it.getId());
+            if (w != null && w.equals(new Window(it.getOpeningDate(), it.getClosingDate()))) return;
+            schedule(it);
+            // Rescheduling leaves the old change queued; drop the stale ones once they dominate.
+            if (changes.size() > 2 * windows.size() + 64) {
+                changes.clear();
+                windows.forEach(this::place);
+            }
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    void remove(Internship it) {
+        rw.writeLock().lock();
+        try {
+            if (windows.remove(it.getId()) == null) return;
+            for (BitSet bits : byPhase.values()) bits.clear(it.getId());
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    // The phase of posting id today, or null if it is not scheduled.
+    PostingPhase phaseOf(int id) {
+        advance();
+        rw.readLock().lock();
+        try {
+            for (Map.Entry<PostingPhase, BitSet> e : byPhase.entrySet()) {
+                if (e.getValue().get(id)) return e.getKey();
+            }
+            return null;
+        } finally {
+            rw.readLock().unlock();
+        }
+    }
+
+    boolean isOpen(int id) {
+        advance();
+        rw.readLock().lock();
+        try {
+            return byPhase.get(PostingPhase.OPEN).get(id);
+        } finally {
+            rw.readLock().unlock();
+        }
+    }
+
+    // Clears from ids every posting not in phase today.
+    void retain(BitSet ids, PostingPhase phase) {
+        advance();
+        rw.readLock().lock();
+        try {
+            ids.and(byPhase.get(phase));
+        } finally {
+            rw.readLock().unlock();
+        }
+    }
+
+    private boolean isToday(long millis) {
+        return millis >= todayMillis && millis < nextDayMillis;
+    }
+
+    private void advance() {
+        if (isToday(clock.millis())) return;
+        rw.writeLock().lock();
+        try {
+            advanceLocked();
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    private void advanceLocked() {
+        if (isToday(clock.millis())) return;
+        LocalDate now = LocalDate.now(clock);
+        if (now.isBefore(today)) {
+            // The clock went back (only a test clock does): work every phase out again.
+            today = now;
+            changes.clear();
+            windows.forEach(this::place);
+        } else {
+            today = now;
+            while (!changes.isEmpty() && !changes.peek().date().isAfter(today)) {
+                Change c = changes.poll();
+                // Skip changes queued for a window that has since been replaced or removed.
+                if (windows.get(c.id()) == c.window()) place(c.id(), c.window());
+            }
+        }
+        setDayBounds();
+    }
+
+    private void setDayBounds() {
+        todayMillis = today.atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+        nextDayMillis = today.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    private void schedule(Internship it) {
+        Window w = new Window(it.getOpeningDate(), it.getClosingDate());
+        windows.put(it.getId(), w);
+        place(it.getId(), w);
+    }
+
+    // Puts id in the bitmap for its phase today and queues its next change, if it has one.
+    private void place(int id, Window w) {
+        for (BitSet bits : byPhase.values()) bits.clear(id);
+        PostingPhase phase = phaseOn(today, w.opening(), w.closing());
+        byPhase.get(phase).set(id);
+        if (phase == PostingPhase.UPCOMING) changes.add(new Change(w.opening(), id, w));
+        else if (phase == PostingPhase.OPEN && w.closing() != null) changes.add(new Change(w.closing().plusDays(1), id, w));
+    }
+}
@@ -0,0 +1,103 @@
+package control;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-method call statistics shared by the instrumented services. Each method registers a Timer up front;
+// recording through it does not allocate, and snapshot() copies everything out for reporting.
+public class ServiceMetrics {
+    // Calls, failures and latencies of one service method.
+    public static class Timer {
+        private final String name;
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        private Timer(String name) {
+            this.name = name;
+        }
+
+        public void record(long startNanos) {
+            latencies.record(System.nanoTime() - startNanos);
+        }
+
+        public void failed() {
+            errors.increment();
+        }
+    }
+
+    // Statistics of one method at the time of the snapshot.
+    public static class MethodStats {
+        private final String name;
+        private final long errors;
+        private final LatencyHistogram.Snapshot latencies;
+
+        private MethodStats(String name, long errors, LatencyHistogram.Snapshot latencies) {
+            this.name = name;
+            this.errors = errors;
+            this.latencies = latencies;
+        }
+
+        public String getName() { return name; }
+        public long getCalls() { return latencies.getCount(); }
+        public long getErrors() { return errors; }
+        public LatencyHistogram.Snapshot getLatencies() { return latencies; }
+    }
+
+    // Every method's statistics, sorted by name.
+    public static class Snapshot {
+        private final long takenAtMillis;
+        private final long uptimeMillis;
+        private final List<MethodStats> methods;
+
+        private Snapshot(long takenAtMillis, long uptimeMillis, List<MethodStats> methods) {
+            this.takenAtMillis = takenAtMillis;
+            this.uptimeMillis = uptimeMillis;
+            this.methods = Collections.unmodifiableList(methods);
+        }
+
+        public long getTakenAtMillis() { return takenAtMillis; }
+        public long getUptimeMillis() { return uptimeMillis; }
+        public List<MethodStats> getMethods() { return methods; }
+
+        // One line per method that has been called; latencies in microseconds.
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%-48s %10s %8s %10s %10s %10s %10s %10s %10s%n",
+                    "method", "calls", "errors", "ops/s", "mean_us", "p50_us", "p99_us", "p999_us", "max_us"));
+            double seconds = Math.max(uptimeMillis, 1) / 1000.0;
+            for (MethodStats m : methods) {
+                if (m.getCalls() == 0) continue;
+                LatencyHistogram.Snapshot h = m.latencies;
+                sb.append(String.format("%-48s %10d %8d %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                        m.name, m.getCalls(), m.errors, m.getCalls() / seconds, h.getMeanNanos() / 1e3,
+                        h.getValueAtPercentile(0.5) / 1e3, h.getValueAtPercentile(0.99) / 1e3,
+                        h.getValueAtPercentile(0.999) / 1e3, h.getMaxNanos() / 1e3));
+            }
+            return sb.toString();
+        }
+    }
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final long startNanos = System.nanoTime();
+
+    // Returns the timer for name, creating it on first use; callers keep it rather than looking it up per call.
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, Timer::new);
+    }
+
+    public Snapshot snapshot() {
+        List<MethodStats> methods = new ArrayList<>(timers.size());
+        for (Timer t : timers.values()) {
+            methods.add(new MethodStats(t.name, t.errors.sum(), t.latencies.snapshot()));
+        }
+        methods.sort((a, b) -> a.name.compareTo(b.name));
+        return new Snapshot(System.currentTimeMillis(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), methods);
+    }
+}
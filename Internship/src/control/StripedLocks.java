@@ -0,0 +1,57 @@
+package control;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+class StripedLocks {
+    // Taken as "var held = locks.lock(key); try (held) { ... }". The body never names the resource, and
+    // declaring it outside the try keeps -Xlint:try quiet without suppressing the warning.
+    interface Held extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    StripedLocks(int minStripes) {
+        int size = Integer.highestOneBit(Math.max(1, minStripes - 1)) << 1;
+        stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) stripes[i] = new ReentrantLock();
+        mask = size - 1;
+    }
+
+    private int indexFor(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    Held lock(Object key) {
+        ReentrantLock lock = stripes[indexFor(key)];
+        lock.lock();
+        return lock::unlock;
+    }
+
+    // Stripes are always taken in ascending index order so two callers can never wait on each other.
+    Held lock(Object first, Object second) {
+        int i = indexFor(first), j = indexFor(second);
+        if (i == j) return lock(first);
+        ReentrantLock low = stripes[Math.min(i, j)];
+        ReentrantLock high = stripes[Math.max(i, j)];
+        low.lock();
+        high.lock();
+        return () -> {
+            high.unlock();
+            low.unlock();
+        };
+    }
+
+    // Locks the stripes of every key, ascending like lock(first, second); meant for batch operations.
+    Held lockAll(Collection<?> keys) {
+        int[] order = keys.stream().mapToInt(this::indexFor).distinct().sorted().toArray();
+        for (int i : order) stripes[i].lock();
+        return () -> {
+            for (int k = order.length - 1; k >= 0; k--) stripes[order[k]].unlock();
+        };
+    }
+}
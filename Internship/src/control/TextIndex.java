@@ -0,0 +1,380 @@
+package control;
+
+import entities.Internship;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+// Inverted index over posting titles and descriptions. Text is split into runs of letters and digits and
+// case-folded; each term maps to an id-sorted postings list with a per-posting weight in which title
+// occurrences count three times. A posting's score is the sum over the query terms of its log-scaled weight
+// times the term's inverse document frequency, and every term must match.
+//
+// Search walks the shortest list and probes the others, keeping the best results in a bounded heap. Each
+// list also records the largest weight in every block of BLOCK postings. Once the heap is full, a block of
+// the shortest list is skipped when its maximum plus those of the overlapping blocks of the other lists
+// cannot beat the heap's worst entry, and inside a block only postings that still could are probed.
+class TextIndex {
+    private static final int TITLE_WEIGHT = 3;
+    private static final int BLOCK = 64;
+    // A prefix expands to at most this many terms, the most frequent ones.
+    private static final int MAX_PREFIX_TERMS = 64;
+
+    private static final class Postings {
+        int[] ids = new int[4];
+        float[] weights = new float[4];
+        float[] blockMax = new float[1];
+        int size;
+
+        int find(int id) {
+            return Arrays.binarySearch(ids, 0, size, id);
+        }
+
+        // Like find, but only looks at positions from `from` on, galloping forward before the binary search,
+        // so probing an ascending run of ids costs little more than a merge.
+        int findFrom(int from, int id) {
+            int step = 1;
+            int hi = from;
+            while (hi < size && ids[hi] < id) {
+                from = hi + 1;
+                hi += step;
+                step <<= 1;
+            }
+            return Arrays.binarySearch(ids, from, Math.min(hi + 1, size), id);
+        }
+
+        void put(int id, float weight) {
+            int at = find(id);
+            if (at >= 0) {
+                weights[at] = weight;
+                refreshBlocks(at, at + 1);
+                return;
+            }
+            at = -at - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            System.arraycopy(weights, at, weights, at + 1, size - at);
+            ids[at] = id;
+            weights[at] = weight;
+            size++;
+            refreshBlocks(at, size);
+        }
+
+        void remove(int id) {
+            int at = find(id);
+            if (at < 0) return;
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            System.arraycopy(weights, at + 1, weights, at, size - at - 1);
+            size--;
+            refreshBlocks(at, size);
+        }
+
+        // Recomputes the maxima of the blocks covering positions [from, to).
+        private void refreshBlocks(int from, int to) {
+            int blocks = (size + BLOCK - 1) / BLOCK;
+            if (blockMax.length < blocks) blockMax = Arrays.copyOf(blockMax, Math.max(blocks, blockMax.length * 2));
+            for (int b = from / BLOCK; b < blocks && b * BLOCK < to; b++) {
+                float max = 0;
+                for (int i = b * BLOCK, end = Math.min(size, i + BLOCK); i < end; i++) max = Math.max(max, weights[i]);
+                blockMax[b] = max;
+            }
+        }
+    }
+
+    // What was indexed for one posting, so it can be skipped when unchanged and removed again.
+    private record Doc(String title, String description, String[] terms) {}
+
+    // The best results so far, as a min-heap on score with ties going to the lower id, so the root is the
+    // entry to drop next. A distinct heap may be offered the same id more than once and keeps its best score.
+    private static final class TopK {
+        final int[] ids;
+        final float[] scores;
+        final boolean distinct;
+        int size;
+
+        TopK(int limit, boolean distinct) {
+            ids = new int[limit];
+            scores = new float[limit];
+            this.distinct = distinct;
+        }
+
+        boolean full() {
+            return size == ids.length;
+        }
+
+        // Whether nothing scoring at most bound can get in. Offers to a plain heap come in ascending id
+        // order, so there a tie with the root loses too.
+        boolean beaten(float bound) {
+            return full() && (bound < scores[0] || (!distinct && bound == scores[0]));
+        }
+
+        boolean admits(int id, float score) {
+            return !full() || worse(ids[0], scores[0], id, score);
+        }
+
+        void add(int id, float score) {
+            if (distinct) {
+                for (int i = 0; i < size; i++) {
+                    if (ids[i] != id) continue;
+                    if (score > scores[i]) place(siftDown(i, id, score), id, score);
+                    return;
+                }
+            }
+            int at;
+            if (full()) {
+                at = siftDown(0, id, score);
+            } else {
+                at = size++;
+                while (at > 0) {
+                    int parent = (at - 1) >>> 1;
+                    if (!worse(id, score, ids[parent], scores[parent])) break;
+                    place(at, ids[parent], scores[parent]);
+                    at = parent;
+                }
+            }
+            place(at, id, score);
+        }
+
+        // Ids from best to worst; empties the heap.
+        int[] drain() {
+            int[] result = new int[size];
+            while (size > 0) {
+                result[--size] = ids[0];
+                place(siftDown(0, ids[size], scores[size]), ids[size], scores[size]);
+            }
+            return result;
+        }
+
+        private void place(int at, int id, float score) {
+            ids[at] = id;
+            scores[at] = score;
+        }
+
+        private static boolean worse(int id, float score, int otherId, float otherScore) {
+            return score < otherScore || (score == otherScore && id > otherId);
+        }
+
+        // Finds where (id, score) goes when it replaces the entry at position at and can only move down.
+        private int siftDown(int at, int id, float score) {
+            while (true) {
+                int child = 2 * at + 1;
+                if (child >= size) return at;
+                if (child + 1 < size && worse(ids[child + 1], scores[child + 1], ids[child], scores[child])) child++;
+                if (!worse(ids[child], scores[child], id, score)) return at;
+                place(at, ids[child], scores[child]);
+                at = child;
+            }
+        }
+    }
+
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Integer, Doc> docs = new HashMap<>();
+    private final ReadWriteLock rw = new ReentrantReadWriteLock();
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(Character.toUpperCase(c)));
+            } else if (!sb.isEmpty()) {
+                tokens.add(sb.toString());
+                sb.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    void add(Internship it) {
+        rw.writeLock().lock();
+        try {
+            addLocked(it);
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    void addAll(List<Internship> batch) {
+        rw.writeLock().lock();
+        try {
+            for (Internship it : batch) addLocked(it);
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    // Re-indexes it only if its title or description changed.
+    void update(Internship it) {
+        rw.writeLock().lock();
+        try {
+            Doc doc = docs.get(it.getId());
+            if (doc != null && doc.title().equals(nullToEmpty(it.getTitle()))
+                    && doc.description().equals(nullToEmpty(it.getDescription()))) return;
+            removeLocked(it.getId());
+            addLocked(it);
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    void remove(Internship it) {
+        rw.writeLock().lock();
+        try {
+            removeLocked(it.getId());
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    // Ids of the best-scoring postings that match every word of query, are set in allowed and pass accept
+    // (when not null), best first. With prefixLast the last word also matches any term that starts with
+    // it. accept is only asked about postings that would make the current top limit.
+    int[] search(String query, boolean prefixLast, BitSet allowed, IntPredicate accept, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty() || limit < 1) return new int[0];
+        String prefix = prefixLast ? words.remove(words.size() - 1) : null;
+
+        rw.readLock().lock();
+        try {
+            float docCount = Math.max(1, docs.size());
+            List<Postings> exact = new ArrayList<>(words.size());
+            for (String w : words) {
+                Postings p = terms.get(w);
+                if (p == null) return new int[0];
+                if (!exact.contains(p)) exact.add(p);
+            }
+            if (prefix != null) return searchPrefix(exact, prefix, allowed, accept, limit, docCount);
+
+            exact.sort((a, b) -> Integer.compare(a.size, b.size));
+            TopK top = new TopK(Math.min(limit, exact.get(0).size), false);
+            collect(exact, allowed, accept, top, docCount);
+            return top.drain();
+        } finally {
+            rw.readLock().unlock();
+        }
+    }
+
+    // The prefix part of a score is that of the posting's best completion, so each completion is searched
+    // as one more exact word, all into one heap that keeps each posting's best score. Rare completions go
+    // first: their higher scores fill the heap early and let it prune the longer lists that follow.
+    private int[] searchPrefix(List<Postings> exact, String prefix, BitSet allowed, IntPredicate accept, int limit,
+                               float docCount) {
+        PriorityQueue<Postings> common = new PriorityQueue<>((a, b) -> Integer.compare(a.size, b.size));
+        for (Postings p : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            common.add(p);
+            if (common.size() > MAX_PREFIX_TERMS) common.poll();
+        }
+        Postings[] completions = new Postings[common.size()];
+        for (int i = 0; i < completions.length; i++) completions[i] = common.poll();
+        TopK top = new TopK(Math.min(limit, docs.size()), true);
+        for (Postings completion : completions) {
+            List<Postings> lists = new ArrayList<>(exact);
+            if (!lists.contains(completion)) lists.add(completion);
+            lists.sort((a, b) -> Integer.compare(a.size, b.size));
+            collect(lists, allowed, accept, top, docCount);
+        }
+        return top.drain();
+    }
+
+    // Offers top every allowed posting that is in all of lists, which are ordered shortest first.
+    private void collect(List<Postings> lists, BitSet allowed, IntPredicate accept, TopK top, float docCount) {
+        Postings lead = lists.get(0);
+        float leadIdf = idf(docCount, lead.size);
+        int others = lists.size() - 1;
+        Postings[] rest = new Postings[others];
+        float[] idfs = new float[others];
+        int[] from = new int[others];
+        for (int t = 0; t < others; t++) {
+            rest[t] = lists.get(t + 1);
+            idfs[t] = idf(docCount, rest[t].size);
+        }
+
+        for (int block = 0; block * BLOCK < lead.size; block++) {
+            int start = block * BLOCK;
+            int end = Math.min(lead.size, start + BLOCK);
+            // The most the other lists can add to any posting in this block, from their blocks that overlap
+            // its id range. Until the heap is full nothing is skipped.
+            float restMax = Float.POSITIVE_INFINITY;
+            if (top.full()) {
+                restMax = 0;
+                for (int t = 0; t < others; t++) {
+                    Postings p = rest[t];
+                    int at = p.findFrom(from[t], lead.ids[start]);
+                    from[t] = at < 0 ? -at - 1 : at;
+                    if (from[t] >= p.size) return;
+                    float max = 0;
+                    for (int b = from[t] / BLOCK; b * BLOCK < p.size && p.ids[b * BLOCK] <= lead.ids[end - 1]; b++) {
+                        max = Math.max(max, p.blockMax[b]);
+                    }
+                    restMax += max * idfs[t];
+                }
+                if (top.beaten(lead.blockMax[block] * leadIdf + restMax)) continue;
+            }
+            candidates:
+            for (int i = start; i < end; i++) {
+                int id = lead.ids[i];
+                float score = lead.weights[i] * leadIdf;
+                if (top.beaten(score + restMax) || !allowed.get(id)) continue;
+                for (int t = 0; t < others; t++) {
+                    Postings p = rest[t];
+                    int at = p.findFrom(from[t], id);
+                    if (at < 0) {
+                        from[t] = -at - 1;
+                        continue candidates;
+                    }
+                    from[t] = at + 1;
+                    score += p.weights[at] * idfs[t];
+                }
+                if (!top.admits(id, score)) continue;
+                if (accept != null && !accept.test(id)) continue;
+                top.add(id, score);
+            }
+        }
+    }
+
+    private static float idf(float docCount, int docFrequency) {
+        return (float) Math.log(1 + docCount / docFrequency);
+    }
+
+    private void addLocked(Internship it) {
+        String title = nullToEmpty(it.getTitle());
+        String description = nullToEmpty(it.getDescription());
+        Map<String, Integer> counts = new HashMap<>();
+        for (String t : tokenize(title)) counts.merge(t, TITLE_WEIGHT, Integer::sum);
+        for (String t : tokenize(description)) counts.merge(t, 1, Integer::sum);
+
+        for (Map.Entry<String, Integer> e : counts.entrySet()) {
+            float weight = 1 + (float) Math.log(e.getValue());
+            terms.computeIfAbsent(e.getKey(), k -> new Postings()).put(it.getId(), weight);
+        }
+        docs.put(it.getId(), new Doc(title, description, counts.keySet().toArray(new String[0])));
+    }
+
+    private void removeLocked(int id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) return;
+        for (String term : doc.terms()) {
+            Postings p = terms.get(term);
+            p.remove(id);
+            if (p.size == 0) terms.remove(term);
+        }
+    }
+
+    private static String nullToEmpty(String s) {
+        return s == null ? "" : s;
+    }
+}
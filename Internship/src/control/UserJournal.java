@@ -0,0 +1,16 @@
+package control;
+
+import entities.User;
+
+import java.util.Collection;
+
+public interface UserJournal {
+    UserJournal NONE = new UserJournal() {};
+
+    default void userChanged(User user) {}
+    default void userRemoved(String id) {}
+
+    default void usersAdded(Collection<? extends User> added) {
+        for (User u : added) userChanged(u);
+    }
+}
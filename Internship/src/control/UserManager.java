@@ -2,21 +2,35 @@ package control;
 
 import data.UserDataHandler;
 import entities.CompanyRepresentative;
+import entities.Student;
 import entities.User;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 public class UserManager implements IUserService {
     private Map<String, User> users;
     private final UserDataHandler dataHandler;
+    private final Consumer<User> onChange = this::userChanged;
+    private volatile UserJournal journal;
 
     public UserManager(UserDataHandler dataHandler) {
         this.dataHandler = dataHandler;
-        this.users = new HashMap<>();
+        this.users = new ConcurrentHashMap<>();
+        this.journal = UserJournal.NONE;
     }
 
     public void loadAllUsers() {
-        this.users = dataHandler.loadUsersFromCSV();
+        this.users = new ConcurrentHashMap<>(dataHandler.loadUsersFromCSV());
+        for (User u : users.values()) u.setChangeListener(onChange);
+    }
+
+    public void setJournal(UserJournal journal) {
+        this.journal = journal == null ? UserJournal.NONE : journal;
     }
 
     public User login(String id, String password) {
@@ -27,10 +41,8 @@ public class UserManager implements IUserService {
     }
 
     public CompanyRepresentative registerCompanyRep(String email, String name, String company, String dept, String position) {
-        if (users.containsKey(email)) return null;
         CompanyRepresentative rep = new CompanyRepresentative(email, name, company, dept, position, email);
-        users.put(email, rep);
-        return rep;
+        return addUser(rep) ? rep : null;
     }
 
     public List<CompanyRepresentative> getPendingCompanyReps() {
@@ -41,12 +53,111 @@ public class UserManager implements IUserService {
         return list;
     }
 
+    // Approves, or rejects and removes, the pending representatives with the given ids in one pass.
+    // Unknown ids and accounts that are already approved are reported as errors.
+    public BatchResult<CompanyRepresentative> reviewCompanyReps(Collection<String> repIds, boolean approve) {
+        List<String> rows = List.copyOf(repIds);
+        List<CompanyRepresentative> reviewed = new ArrayList<>(rows.size());
+        List<BatchResult.RowError> errors = new ArrayList<>();
+        for (int row = 0; row < rows.size(); row++) {
+            String id = rows.get(row);
+            if (!(users.get(id) instanceof CompanyRepresentative rep)) {
+                reviewed.add(null);
+                errors.add(new BatchResult.RowError(row, "No such company representative"));
+            } else if (rep.isApproved()) {
+                reviewed.add(null);
+                errors.add(new BatchResult.RowError(row, "Account is already approved"));
+            } else {
+                if (approve) rep.setApproved(true);
+                else removeUser(id);
+                reviewed.add(rep);
+            }
+        }
+        return new BatchResult<>(reviewed, errors);
+    }
+
+    public BatchResult<CompanyRepresentative> reviewCompanyRepsWhere(Predicate<CompanyRepresentative> which, boolean approve) {
+        List<String> ids = new ArrayList<>();
+        for (CompanyRepresentative rep : getPendingCompanyReps()) {
+            if (which.test(rep)) ids.add(rep.getId());
+        }
+        return reviewCompanyReps(ids, approve);
+    }
+
     public User getUserById(String id) {
         return users.get(id);
     }
 
+    public boolean addUser(User user) {
+        if (user.getId().length() > User.MAX_ID_LENGTH) return false;
+        if (users.putIfAbsent(user.getId(), user) != null) return false;
+        user.setChangeListener(onChange);
+        journal.userChanged(user);
+        return true;
+    }
+
+    // Validates the students in parallel, then adds every valid one whose id is not taken and journals
+    // them as one batch.
+    public BatchResult<Student> importStudents(Stream<Student> students) {
+        List<Student> rows = students.toList();
+        int n = rows.size();
+        String[] problems = new String[n];
+        IntStream.range(0, n).parallel().forEach(i -> problems[i] = validate(rows.get(i)));
+
+        Student[] created = new Student[n];
+        List<Student> added = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (problems[i] != null) continue;
+            Student s = rows.get(i);
+            if (users.putIfAbsent(s.getId(), s) != null) {
+                problems[i] = "Duplicate user id " + s.getId();
+                continue;
+            }
+            s.setChangeListener(onChange);
+            created[i] = s;
+            added.add(s);
+        }
+        journal.usersAdded(added);
+
+        List<BatchResult.RowError> errors = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (problems[i] != null) errors.add(new BatchResult.RowError(i, problems[i]));
+        }
+        return new BatchResult<>(Arrays.asList(created), errors);
+    }
+
+    private static String validate(Student s) {
+        if (s == null) return "Missing student";
+        if (s.getId() == null || s.getId().isBlank()) return "Missing student id";
+        if (s.getId().length() > User.MAX_ID_LENGTH) return "Student id is longer than " + User.MAX_ID_LENGTH + " characters";
+        if (s.getName() == null || s.getName().isBlank()) return "Missing name";
+        if (s.getMajor() == null || s.getMajor().isBlank()) return "Missing major";
+        if (s.getYear() < 1 || s.getYear() > 4) return "Year must be between 1 and 4";
+        return null;
+    }
+
     public void removeUser(String id) {
-        users.remove(id);
+        User user = users.remove(id);
+        if (user == null) return;
+        user.setChangeListener(null);
+        journal.userRemoved(id);
+    }
+
+    // --- restore: applies persisted user changes on startup without journaling ---
+
+    public void restoreUser(User user) {
+        User previous = users.put(user.getId(), user);
+        if (previous != null) previous.setChangeListener(null);
+        user.setChangeListener(onChange);
+    }
+
+    public void restoreRemoval(String id) {
+        User user = users.remove(id);
+        if (user != null) user.setChangeListener(null);
+    }
+
+    private void userChanged(User user) {
+        if (users.get(user.getId()) == user) journal.userChanged(user);
     }
 
     public Collection<User> getAllUsers() {
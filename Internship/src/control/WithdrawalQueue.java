@@ -0,0 +1,162 @@
+package control;
+
+import entities.WithdrawalRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Pending withdrawal requests in arrival order, at most one per (student, internship). A hash map finds
+// a request's node in a doubly linked list, so adding, duplicate checks and removal are all O(1).
+class WithdrawalQueue {
+    private record Key(String studentId, int internshipId) {}
+
+    private static final class Node {
+        final WithdrawalRequest req;
+        Node prev;
+        Node next;
+
+        Node(WithdrawalRequest req) {
+            this.req = req;
+        }
+    }
+
+    private final Map<Key, Node> byKey = new HashMap<>();
+    private final Node head = new Node(null);
+    private final ReadWriteLock rw = new ReentrantReadWriteLock();
+
+    WithdrawalQueue() {
+        head.prev = head;
+        head.next = head;
+    }
+
+    private static Key keyOf(WithdrawalRequest req) {
+        return new Key(req.getStudent().getId(), req.getInternship().getId());
+    }
+
+    // Returns false if the student already has a request pending for that internship.
+    boolean add(WithdrawalRequest req) {
+        Key key = keyOf(req);
+        rw.writeLock().lock();
+        try {
+            if (byKey.containsKey(key)) return false;
+            Node node = new Node(req);
+            node.prev = head.prev;
+            node.next = head;
+            head.prev.next = node;
+            head.prev = node;
+            byKey.put(key, node);
+            return true;
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    // Removes req only if it is the request queued for its pair, so a stale copy cannot drop a newer one.
+    boolean remove(WithdrawalRequest req) {
+        rw.writeLock().lock();
+        try {
+            Key key = keyOf(req);
+            Node node = byKey.get(key);
+            if (node == null || node.req != req) return false;
+            unlink(key, node);
+            return true;
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    WithdrawalRequest remove(String studentId, int internshipId) {
+        rw.writeLock().lock();
+        try {
+            Key key = new Key(studentId, internshipId);
+            Node node = byKey.get(key);
+            if (node == null) return null;
+            unlink(key, node);
+            return node.req;
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    // Drops every request for the internship; a walk of the whole queue, as postings are deleted rarely.
+    void removeInternship(int internshipId) {
+        rw.writeLock().lock();
+        try {
+            for (Node node = head.next; node != head; node = node.next) {
+                Key key = keyOf(node.req);
+                if (key.internshipId() == internshipId) unlink(key, node);
+            }
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    WithdrawalRequest get(String studentId, int internshipId) {
+        rw.readLock().lock();
+        try {
+            Node node = byKey.get(new Key(studentId, internshipId));
+            return node == null ? null : node.req;
+        } finally {
+            rw.readLock().unlock();
+        }
+    }
+
+    boolean contains(WithdrawalRequest req) {
+        rw.readLock().lock();
+        try {
+            Node node = byKey.get(keyOf(req));
+            return node != null && node.req == req;
+        } finally {
+            rw.readLock().unlock();
+        }
+    }
+
+    int size() {
+        rw.readLock().lock();
+        try {
+            return byKey.size();
+        } finally {
+            rw.readLock().unlock();
+        }
+    }
+
+    // Up to limit requests starting at position offset, oldest first. Only the page is copied; the walk
+    // starts from whichever end of the list is closer.
+    List<WithdrawalRequest> page(int offset, int limit) {
+        if (offset < 0 || limit <= 0) return Collections.emptyList();
+        rw.readLock().lock();
+        try {
+            int size = byKey.size();
+            if (offset >= size) return Collections.emptyList();
+            int count = Math.min(limit, size - offset);
+            Node node;
+            if (offset <= size / 2) {
+                node = head.next;
+                for (int i = 0; i < offset; i++) node = node.next;
+            } else {
+                node = head.prev;
+                for (int i = size - 1; i > offset; i--) node = node.prev;
+            }
+            List<WithdrawalRequest> page = new ArrayList<>(count);
+            for (int i = 0; i < count; i++, node = node.next) page.add(node.req);
+            return Collections.unmodifiableList(page);
+        } finally {
+            rw.readLock().unlock();
+        }
+    }
+
+    List<WithdrawalRequest> all() {
+        return page(0, Integer.MAX_VALUE);
+    }
+
+    private void unlink(Key key, Node node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        byKey.remove(key);
+    }
+}
@@ -0,0 +1,508 @@
+package data;
+
+import control.ApplicationStore;
+import entities.ApplicationStatus;
+import entities.ApplicationTable;
+import entities.StudentIds;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+// The ApplicationStore behind InternshipManager. Each application is a fixed-size (student, posting, status,
+// time) record outside the heap, in direct memory or a mapped file, so millions of them give the garbage
+// collector nothing to trace. A hash index finds a record and each posting's records are chained in apply
+// order. A mapped ledger closed cleanly reopens with its records and a restore skips them in the snapshot;
+// otherwise it starts empty. A region holds at most 2 GB (about 89 million records), and records of deleted
+// postings are not reclaimed.
+public class ApplicationLedger implements ApplicationStore, Closeable {
+    private static final int MAGIC = 0x41504C31;
+    private static final ApplicationStatus[] STATUSES = ApplicationStatus.values();
+    private static final byte DEAD = -1;
+
+    // Header of the records region.
+    private static final int H_MAGIC = 0;
+    private static final int H_COUNT = 4;
+    private static final int H_CLEAN = 8;
+    private static final int H_SLOTS = 12;
+    private static final int H_LIVE = 16;
+    private static final int HEADER = 32;
+
+    // One application. NEXT is the next record of the same posting plus one, or 0 at the end of the chain.
+    // STATUS is the ordinal in the low byte of an int, so it can be swapped atomically in place.
+    private static final int R_STUDENT = 0;
+    private static final int R_POSTING = 4;
+    private static final int R_STATUS = 8;
+    private static final int R_NEXT = 12;
+    private static final int R_TIME = 16;
+    private static final int RECORD = 24;
+
+    // Per posting id: its first and last record plus one, and its number of applications.
+    private static final int P_HEAD = 0;
+    private static final int P_TAIL = 4;
+    private static final int P_SIZE = 8;
+    private static final int POSTING = 12;
+
+    // Student dictionary: count and bytes used, then each id as a length-prefixed UTF-8 string.
+    private static final int S_COUNT = 0;
+    private static final int S_USED = 4;
+    private static final int S_HEADER = 8;
+
+    private static final VarHandle STATUS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle TIME = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // The write lock is held only to add records, drop a posting or close; the buffers and the index move
+    // only then. Everything else, including a status change on an existing record, takes the read lock.
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Region records;
+    private final Region slots;
+    private final Region postings;
+    private final Region students;
+    private final boolean restored;
+    private int slotCount;
+
+    // The StudentIds code of each student in the dictionary, and the ledger code plus one of each StudentIds
+    // code. Both stay small next to the records: one int per student.
+    private int[] globalCodes = new int[0];
+    private int studentCount;
+    private int[] localCodes = new int[0];
+
+    private ApplicationLedger(Region records, Region slots, Region postings, Region students, boolean clean) {
+        this.records = records;
+        this.slots = slots;
+        this.postings = postings;
+        this.students = students;
+        this.restored = clean;
+        if (clean) {
+            slotCount = records.buf.getInt(H_SLOTS);
+            loadStudents();
+        } else {
+            records.buf.putInt(H_MAGIC, MAGIC);
+            records.buf.putInt(H_COUNT, 0);
+            records.buf.putInt(H_LIVE, 0);
+            slotCount = slots.buf.capacity() / 4;
+            records.buf.putInt(H_SLOTS, slotCount);
+            students.buf.putInt(S_COUNT, 0);
+            students.buf.putInt(S_USED, S_HEADER);
+        }
+        records.buf.putInt(H_CLEAN, 0);
+        records.force();
+    }
+
+    // A ledger in direct memory, sized for about expectedApplications before it has to grow.
+    public static ApplicationLedger inMemory(int expectedApplications) {
+        int expected = Math.min(Math.max(expectedApplications, 1024), 1 << 26);
+        try {
+            return new ApplicationLedger(new Region(null, HEADER + expected * RECORD),
+                    new Region(null, slotBytes(expected)), new Region(null, 1024 * POSTING),
+                    new Region(null, S_HEADER + expected * 4), false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Maps the ledger files in dir, creating them if needed. The ledger comes back restored only if it was
+    // closed cleanly; otherwise whatever the files held is discarded.
+    public static ApplicationLedger open(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        FileChannel recordFile = channel(dir.resolve("records.bin"));
+        boolean clean = recordFile.size() >= HEADER && isClean(recordFile);
+        FileChannel slotFile = channel(dir.resolve("index.bin"));
+        FileChannel postingFile = channel(dir.resolve("postings.bin"));
+        FileChannel studentFile = channel(dir.resolve("students.bin"));
+        if (!clean) {
+            for (FileChannel file : new FileChannel[] {recordFile, slotFile, postingFile, studentFile}) file.truncate(0);
+        }
+        int expected = 1 << 16;
+        return new ApplicationLedger(new Region(recordFile, HEADER + expected * RECORD),
+                new Region(slotFile, slotBytes(expected)), new Region(postingFile, 1024 * POSTING),
+                new Region(studentFile, S_HEADER + expected * 4), clean);
+    }
+
+    // Reads internship.ledger: "off" (the default) returns null so applications stay on the heap, "memory"
+    // keeps them in direct memory, and anything else is a directory to map them to.
+    public static ApplicationLedger openConfigured() throws IOException {
+        String setting = System.getProperty("internship.ledger", "off");
+        if (setting.equals("off")) return null;
+        if (setting.equals("memory")) return inMemory(Integer.getInteger("internship.ledger.expected", 1 << 16));
+        return open(Path.of(setting));
+    }
+
+    private static FileChannel channel(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static boolean isClean(FileChannel file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER).order(ByteOrder.LITTLE_ENDIAN);
+        file.read(header, 0);
+        return header.getInt(H_MAGIC) == MAGIC && header.getInt(H_CLEAN) == 1;
+    }
+
+    // A power of two with room for expected records at half load.
+    private static int slotBytes(int expected) {
+        return Integer.highestOneBit(Math.max(expected, 8) * 2 - 1) * 2 * 4;
+    }
+
+    @Override
+    public ApplicationTable tableFor(int internshipId) {
+        return new Table(internshipId);
+    }
+
+    @Override
+    public void drop(int internshipId) {
+        lock.writeLock().lock();
+        try {
+            if (sizeOf(internshipId) == 0) return;
+            int removed = 0;
+            for (int next = postings.buf.getInt(internshipId * POSTING + P_HEAD); next != 0; removed++) {
+                int at = HEADER + (next - 1) * RECORD;
+                records.buf.put(at + R_STATUS, DEAD);
+                next = records.buf.getInt(at + R_NEXT);
+            }
+            postings.buf.putInt(internshipId * POSTING + P_HEAD, 0);
+            postings.buf.putInt(internshipId * POSTING + P_TAIL, 0);
+            postings.buf.putInt(internshipId * POSTING + P_SIZE, 0);
+            records.buf.putInt(H_LIVE, records.buf.getInt(H_LIVE) - removed);
+            // Deleting a posting with applicants is rare, so rebuilding the index beats tombstones in it.
+            rehash(slotCount);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isRestored() {
+        return restored;
+    }
+
+    // When studentId's application to the posting last changed, in epoch milliseconds, or -1 if there is none.
+    public long changedAt(String studentId, int internshipId) {
+        lock.readLock().lock();
+        try {
+            int record = find(localCode(StudentIds.find(studentId)), internshipId);
+            return record < 0 ? -1 : (long) TIME.getAcquire(records.buf, HEADER + record * RECORD + R_TIME);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Applications held, not counting those of deleted postings.
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return records.buf.getInt(H_LIVE);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Bytes of direct memory or mapped file the ledger occupies.
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) records.buf.capacity() + slots.buf.capacity() + postings.buf.capacity() + students.buf.capacity();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Flushes a mapped ledger and marks it clean, so the next open restores it. Call it only once the
+    // snapshot covers every application the ledger holds.
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            slots.force();
+            postings.force();
+            students.force();
+            records.force();
+            records.buf.putInt(H_CLEAN, 1);
+            records.force();
+            records.close();
+            slots.close();
+            postings.close();
+            students.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void loadStudents() {
+        ByteBuffer buf = students.buf;
+        int count = buf.getInt(S_COUNT);
+        int at = S_HEADER;
+        int max = 0;
+        globalCodes = new int[Math.max(count, 16)];
+        studentCount = count;
+        for (int i = 0; i < count; i++) {
+            int length = Short.toUnsignedInt(buf.getShort(at));
+            byte[] bytes = new byte[length];
+            buf.get(at + 2, bytes);
+            at += 2 + length;
+            globalCodes[i] = StudentIds.code(new String(bytes, StandardCharsets.UTF_8));
+            max = Math.max(max, globalCodes[i] + 1);
+        }
+        localCodes = new int[max];
+        for (int i = 0; i < count; i++) localCodes[globalCodes[i]] = i + 1;
+    }
+
+    // The ledger's code for the student with this StudentIds code, or -1 if the ledger has never seen them.
+    private int localCode(int student) {
+        int[] codes = localCodes;
+        return student >= 0 && student < codes.length ? codes[student] - 1 : -1;
+    }
+
+    // As localCode, adding the student to the dictionary if needed. Needs the write lock.
+    private int addStudent(int student) {
+        int local = localCode(student);
+        if (local >= 0) return local;
+        String id = StudentIds.id(student);
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) throw new IllegalArgumentException("Student id too long: " + id);
+        int used = students.buf.getInt(S_USED);
+        students.ensure((long) used + 2 + bytes.length);
+        students.buf.putShort(used, (short) bytes.length);
+        students.buf.put(used + 2, bytes);
+        students.buf.putInt(S_USED, used + 2 + bytes.length);
+        local = studentCount++;
+        students.buf.putInt(S_COUNT, studentCount);
+        if (local == globalCodes.length) globalCodes = Arrays.copyOf(globalCodes, Math.max(16, local * 2));
+        globalCodes[local] = student;
+        if (student >= localCodes.length) localCodes = Arrays.copyOf(localCodes, Math.max(student + 1, localCodes.length * 2));
+        localCodes[student] = local + 1;
+        return local;
+    }
+
+    private static int hash(int student, int posting) {
+        int h = student * 0x9E3779B1 + posting * 0x85EBCA77;
+        return h ^ (h >>> 15);
+    }
+
+    // The record for this student and posting, or -1.
+    private int find(int student, int posting) {
+        if (student < 0) return -1;
+        int mask = slotCount - 1;
+        ByteBuffer index = slots.buf;
+        for (int i = hash(student, posting) & mask; ; i = (i + 1) & mask) {
+            int slot = index.getInt(i * 4);
+            if (slot == 0) return -1;
+            int at = HEADER + (slot - 1) * RECORD;
+            if (records.buf.getInt(at + R_STUDENT) == student && records.buf.getInt(at + R_POSTING) == posting) {
+                return slot - 1;
+            }
+        }
+    }
+
+    private void index(int record) {
+        int at = HEADER + record * RECORD;
+        int mask = slotCount - 1;
+        int i = hash(records.buf.getInt(at + R_STUDENT), records.buf.getInt(at + R_POSTING)) & mask;
+        while (slots.buf.getInt(i * 4) != 0) i = (i + 1) & mask;
+        slots.buf.putInt(i * 4, record + 1);
+    }
+
+    // Clears the index to the given number of slots and puts every live record back in.
+    private void rehash(int count) {
+        slots.ensure(count * 4L);
+        slotCount = count;
+        for (int i = 0; i < count; i++) slots.buf.putInt(i * 4, 0);
+        int total = records.buf.getInt(H_COUNT);
+        for (int r = 0; r < total; r++) {
+            if (records.buf.get(HEADER + r * RECORD + R_STATUS) != DEAD) index(r);
+        }
+        records.buf.putInt(H_SLOTS, count);
+    }
+
+    // Appends a record for a new application and links it into the index and its posting's chain.
+    private void append(int student, int posting, ApplicationStatus status) {
+        int live = records.buf.getInt(H_LIVE);
+        if ((live + 1) * 2L > slotCount) {
+            if (slotCount >= 1 << 29) throw new IllegalStateException("Application ledger index is full");
+            rehash(slotCount * 2);
+        }
+        int record = records.buf.getInt(H_COUNT);
+        records.ensure(HEADER + (record + 1L) * RECORD);
+        int at = HEADER + record * RECORD;
+        records.buf.putInt(at + R_STUDENT, student);
+        records.buf.putInt(at + R_POSTING, posting);
+        records.buf.putInt(at + R_STATUS, status.ordinal());
+        records.buf.putInt(at + R_NEXT, 0);
+        records.buf.putLong(at + R_TIME, System.currentTimeMillis());
+        records.buf.putInt(H_COUNT, record + 1);
+        records.buf.putInt(H_LIVE, live + 1);
+        index(record);
+
+        postings.ensure((posting + 1L) * POSTING);
+        int base = posting * POSTING;
+        int tail = postings.buf.getInt(base + P_TAIL);
+        if (tail == 0) postings.buf.putInt(base + P_HEAD, record + 1);
+        else records.buf.putInt(HEADER + (tail - 1) * RECORD + R_NEXT, record + 1);
+        postings.buf.putInt(base + P_TAIL, record + 1);
+        postings.buf.putInt(base + P_SIZE, postings.buf.getInt(base + P_SIZE) + 1);
+    }
+
+    private int sizeOf(int posting) {
+        long base = (long) posting * POSTING;
+        return base + POSTING <= postings.buf.capacity() ? postings.buf.getInt((int) base + P_SIZE) : 0;
+    }
+
+    // One posting's applications, read and written through the ledger.
+    private final class Table extends ApplicationTable {
+        private final int posting;
+
+        Table(int posting) {
+            this.posting = posting;
+        }
+
+        @Override
+        public int size() {
+            lock.readLock().lock();
+            try {
+                return sizeOf(posting);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public ApplicationStatus statusOf(int student) {
+            lock.readLock().lock();
+            try {
+                int record = find(localCode(student), posting);
+                return record < 0 ? null : statusAt(HEADER + record * RECORD);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // Copies the chain out under the lock, so action can call back into the ledger.
+        @Override
+        public void forEach(BiConsumer<String, ApplicationStatus> action) {
+            String[] ids;
+            byte[] statuses;
+            lock.readLock().lock();
+            try {
+                int size = sizeOf(posting);
+                ids = new String[size];
+                statuses = new byte[size];
+                int next = size == 0 ? 0 : postings.buf.getInt(posting * POSTING + P_HEAD);
+                for (int i = 0; i < size; i++) {
+                    int at = HEADER + (next - 1) * RECORD;
+                    ids[i] = StudentIds.id(globalCodes[records.buf.getInt(at + R_STUDENT)]);
+                    statuses[i] = (byte) (int) STATUS.getVolatile(records.buf, at + R_STATUS);
+                    next = records.buf.getInt(at + R_NEXT);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            for (int i = 0; i < ids.length; i++) action.accept(ids[i], STATUSES[statuses[i]]);
+        }
+
+        // An existing application is swapped in place under the read lock; only a new one takes the write
+        // lock, and looks again once it has it in case another thread added the same application first.
+        @Override
+        protected ApplicationStatus put(int student, ApplicationStatus status) {
+            lock.readLock().lock();
+            try {
+                int record = find(localCode(student), posting);
+                if (record >= 0) return swap(HEADER + record * RECORD, status);
+            } finally {
+                lock.readLock().unlock();
+            }
+            lock.writeLock().lock();
+            try {
+                int local = addStudent(student);
+                int record = find(local, posting);
+                if (record >= 0) return swap(HEADER + record * RECORD, status);
+                append(local, posting, status);
+                return null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        protected boolean replace(int student, ApplicationStatus expected, ApplicationStatus status) {
+            lock.readLock().lock();
+            try {
+                int record = find(localCode(student), posting);
+                if (record < 0) return false;
+                int at = HEADER + record * RECORD;
+                if (!STATUS.compareAndSet(records.buf, at + R_STATUS, expected.ordinal(), status.ordinal())) return false;
+                TIME.setRelease(records.buf, at + R_TIME, System.currentTimeMillis());
+                return true;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    private ApplicationStatus statusAt(int at) {
+        return STATUSES[(int) STATUS.getVolatile(records.buf, at + R_STATUS)];
+    }
+
+    private ApplicationStatus swap(int at, ApplicationStatus status) {
+        ApplicationStatus previous = STATUSES[(int) STATUS.getAndSet(records.buf, at + R_STATUS, status.ordinal())];
+        TIME.setRelease(records.buf, at + R_TIME, System.currentTimeMillis());
+        return previous;
+    }
+
+    // A run of bytes in direct memory, or in a file mapped into memory, that grows by doubling.
+    private static final class Region {
+        private final FileChannel file;
+        private ByteBuffer buf;
+
+        Region(FileChannel file, int bytes) throws IOException {
+            this.file = file;
+            buf = file == null ? ByteBuffer.allocateDirect(bytes) : map(Math.max(bytes, file.size()));
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        private MappedByteBuffer map(long bytes) throws IOException {
+            return file.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+        }
+
+        void ensure(long bytes) {
+            if (bytes <= buf.capacity()) return;
+            long capacity = buf.capacity();
+            while (capacity < bytes) capacity *= 2;
+            if (capacity > Integer.MAX_VALUE) {
+                if (bytes > Integer.MAX_VALUE) throw new IllegalStateException("Application ledger region is full");
+                capacity = Integer.MAX_VALUE;
+            }
+            try {
+                ByteBuffer grown;
+                if (file == null) {
+                    grown = ByteBuffer.allocateDirect((int) capacity);
+                    grown.put(0, buf, 0, buf.capacity());
+                } else {
+                    grown = map(capacity);
+                }
+                buf = grown.order(ByteOrder.LITTLE_ENDIAN);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void force() {
+            if (buf instanceof MappedByteBuffer mapped && file != null) mapped.force();
+        }
+
+        void close() throws IOException {
+            if (file != null) file.close();
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package data;
+
+import control.InternshipJournal;
+import control.InternshipManager;
+import control.UserManager;
+import entities.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Journals every change InternshipManager makes to a WriteAheadLog and rebuilds the manager from it on
+// startup. Checkpoints write an InternshipSnapshot and drop the segments it covers, so restart cost tracks
+// the size of the data rather than its history.
+public class InternshipLog implements InternshipJournal, Closeable {
+    // What open restored and how long it took; snapshot is 0 when there was none.
+    public record RestoreStats(int internships, long snapshot, long records, long bytes, long millis) {
+        public String summary() {
+            return String.format("Restored %d internships from %s and %d log records (%d KB) in %d ms.", internships,
+                    snapshot > 0 ? "snapshot " + snapshot : "no snapshot", records, bytes / 1024, millis);
+        }
+    }
+
+    private static final byte POSTING = 1;
+    private static final byte POSTING_DELETED = 2;
+    private static final byte APPLICATION = 3;
+    private static final byte ACCEPTED = 4;
+    private static final byte WITHDRAWAL_REQUESTED = 5;
+    private static final byte WITHDRAWAL_RESOLVED = 6;
+
+    private static final byte NULL_STRING = 0;
+    private static final byte SHORT_STRING = 1;
+    private static final byte LONG_STRING = 2;
+    // writeUTF takes at most 65535 bytes, and a char never needs more than three.
+    private static final int MAX_UTF_CHARS = 65535 / 3;
+
+    private static final InternshipStatus[] STATUSES = InternshipStatus.values();
+    private static final InternshipLevel[] LEVELS = InternshipLevel.values();
+    private static final ApplicationStatus[] APPLICATION_STATUSES = ApplicationStatus.values();
+
+    private final WriteAheadLog wal;
+    private final InternshipManager manager;
+    private final UserManager users;
+    private final boolean syncOnCommit;
+    private final ThreadLocal<long[]> unsynced = ThreadLocal.withInitial(() -> new long[1]);
+    private ScheduledExecutorService checkpointer;
+    private long replayedRecords;
+    private RestoreStats restoreStats;
+
+    private InternshipLog(WriteAheadLog wal, InternshipManager manager, UserManager users, boolean syncOnCommit) {
+        this.wal = wal;
+        this.manager = manager;
+        this.users = users;
+        this.syncOnCommit = syncOnCommit;
+    }
+
+    // Loads the newest snapshot in dir, replays the log segments written after it, then attaches to the
+    // manager so every further change is journaled. With syncOnCommit, service calls return only after
+    // their records are fsynced; groupCommitMillis is how long the flusher waits to batch records from
+    // concurrent callers into one fsync. A positive checkpointSeconds takes a checkpoint in the
+    // background at that interval whenever the log has grown.
+    public static InternshipLog open(Path dir, long groupCommitMillis, boolean syncOnCommit, long checkpointSeconds,
+                                     InternshipManager manager, UserManager users) throws IOException {
+        long start = System.nanoTime();
+        InternshipLog log = new InternshipLog(new WriteAheadLog(dir, groupCommitMillis), manager, users, syncOnCommit);
+        long snapshot;
+        try {
+            snapshot = InternshipSnapshot.latest(dir);
+            if (snapshot > 0) InternshipSnapshot.read(InternshipSnapshot.path(dir, snapshot), users, manager);
+            log.wal.replay(snapshot, log::apply);
+        } catch (IOException | RuntimeException e) {
+            log.wal.close();
+            throw e;
+        }
+        manager.setJournal(log);
+        log.restoreStats = new RestoreStats(manager.getAllInternships().size(), snapshot, log.replayedRecords,
+                log.wal.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        if (checkpointSeconds > 0) log.startCheckpointer(checkpointSeconds);
+        return log;
+    }
+
+    // Reads internship.wal (directory), internship.wal.groupCommitMillis, internship.wal.sync and
+    // internship.wal.checkpointSeconds.
+    public static InternshipLog openConfigured(InternshipManager manager, UserManager users) throws IOException {
+        Path dir = Path.of(System.getProperty("internship.wal", "internships.wal"));
+        long groupCommitMillis = Long.getLong("internship.wal.groupCommitMillis", 0);
+        boolean syncOnCommit = Boolean.parseBoolean(System.getProperty("internship.wal.sync", "true"));
+        long checkpointSeconds = Long.getLong("internship.wal.checkpointSeconds", 300);
+        return open(dir, groupCommitMillis, syncOnCommit, checkpointSeconds, manager, users);
+    }
+
+    // Starts a new log segment, snapshots the current state while writers carry on, then deletes the
+    // segments and snapshots the new one supersedes. Returns the snapshot's segment number.
+    public synchronized long checkpoint() throws IOException {
+        Path dir = wal.getDirectory();
+        long segment = wal.rotate();
+        InternshipSnapshot.write(dir, segment, users, manager);
+        wal.deleteSegmentsBefore(segment);
+        InternshipSnapshot.deleteBefore(dir, segment);
+        return segment;
+    }
+
+    public long size() throws IOException {
+        return wal.size();
+    }
+
+    public RestoreStats getRestoreStats() {
+        return restoreStats;
+    }
+
+    // Takes a final checkpoint so the next start has no log to replay.
+    @Override
+    public void close() throws IOException {
+        if (checkpointer != null) {
+            checkpointer.shutdown();
+            try {
+                checkpointer.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        manager.setJournal(null);
+        try {
+            if (wal.size() > 0) checkpoint();
+        } finally {
+            wal.close();
+        }
+    }
+
+    private void startCheckpointer(long seconds) {
+        checkpointer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "internship-checkpoint");
+            t.setDaemon(true);
+            return t;
+        });
+        checkpointer.scheduleWithFixedDelay(() -> {
+            try {
+                if (wal.size() > 0) checkpoint();
+            } catch (IOException | RuntimeException e) {
+                System.out.println("Checkpoint failed: " + e.getMessage());
+            }
+        }, seconds, seconds, TimeUnit.SECONDS);
+    }
+
+    // --- journal ---
+
+    @Override
+    public void postingSaved(Internship it) {
+        append(out -> {
+            CompanyRepresentative rep = it.getPostedBy();
+            out.writeByte(POSTING);
+            out.writeInt(it.getId());
+            writeString(out, rep != null ? rep.getId() : null);
+            writeString(out, rep != null ? rep.getName() : null);
+            writeString(out, rep != null ? rep.getCompanyName() : null);
+            writeString(out, it.getTitle());
+            writeString(out, it.getDescription());
+            out.writeByte(it.getLevel().ordinal());
+            writeString(out, it.getPreferredMajor());
+            out.writeLong(it.getOpeningDate().toEpochDay());
+            out.writeLong(it.getClosingDate().toEpochDay());
+            out.writeInt(it.getSlots());
+            out.writeByte(it.getStatus().ordinal());
+            out.writeBoolean(it.isVisible());
+        });
+    }
+
+    @Override
+    public void postingDeleted(Internship it) {
+        append(out -> {
+            out.writeByte(POSTING_DELETED);
+            out.writeInt(it.getId());
+        });
+    }
+
+    @Override
+    public void applicationChanged(Internship it, String studentId, ApplicationStatus status) {
+        append(out -> {
+            out.writeByte(APPLICATION);
+            out.writeInt(it.getId());
+            out.writeUTF(studentId);
+            out.writeByte(status.ordinal());
+        });
+    }
+
+    @Override
+    public void acceptedInternshipChanged(Student student) {
+        append(out -> {
+            out.writeByte(ACCEPTED);
+            out.writeUTF(student.getId());
+            out.writeInt(student.getAcceptedInternshipId());
+        });
+    }
+
+    @Override
+    public void withdrawalRequested(WithdrawalRequest req) {
+        append(out -> {
+            out.writeByte(WITHDRAWAL_REQUESTED);
+            out.writeUTF(req.getStudent().getId());
+            out.writeInt(req.getInternship().getId());
+            out.writeBoolean(req.wasAfterConfirmation());
+        });
+    }
+
+    @Override
+    public void withdrawalResolved(WithdrawalRequest req) {
+        append(out -> {
+            out.writeByte(WITHDRAWAL_RESOLVED);
+            out.writeUTF(req.getStudent().getId());
+            out.writeInt(req.getInternship().getId());
+        });
+    }
+
+    @Override
+    public void commit() {
+        long[] lsn = unsynced.get();
+        if (lsn[0] == 0) return;
+        long target = lsn[0];
+        lsn[0] = 0;
+        if (syncOnCommit) wal.awaitDurable(target);
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private void append(RecordWriter writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        unsynced.get()[0] = wal.append(bytes.toByteArray());
+    }
+
+    // --- replay ---
+
+    private void apply(ByteBuffer record) {
+        replayedRecords++;
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(record.array(), record.arrayOffset(), record.remaining()))) {
+            switch (in.readByte()) {
+                case POSTING -> {
+                    int id = in.readInt();
+                    CompanyRepresentative rep = resolveRep(readString(in), readString(in), readString(in));
+                    String title = readString(in);
+                    String description = readString(in);
+                    InternshipLevel level = LEVELS[in.readByte()];
+                    String major = readString(in);
+                    LocalDate open = LocalDate.ofEpochDay(in.readLong());
+                    LocalDate close = LocalDate.ofEpochDay(in.readLong());
+                    int slots = in.readInt();
+                    InternshipStatus status = STATUSES[in.readByte()];
+                    boolean visible = in.readBoolean();
+                    manager.restoreInternship(id, rep, title, description, level, major, open, close, slots, status, visible);
+                }
+                case POSTING_DELETED -> manager.restoreDeletion(in.readInt());
+                case APPLICATION -> {
+                    Internship it = manager.getInternshipById(in.readInt());
+                    String studentId = in.readUTF();
+                    ApplicationStatus status = APPLICATION_STATUSES[in.readByte()];
+                    if (it != null) manager.restoreApplication(it, studentId, status);
+                }
+                case ACCEPTED -> {
+                    User u = users.getUserById(in.readUTF());
+                    int internshipId = in.readInt();
+                    if (u instanceof Student s) s.setAcceptedInternshipId(internshipId);
+                }
+                case WITHDRAWAL_REQUESTED -> {
+                    User u = users.getUserById(in.readUTF());
+                    Internship it = manager.getInternshipById(in.readInt());
+                    boolean afterConfirmation = in.readBoolean();
+                    if (u instanceof Student s && it != null)
+                        manager.restoreWithdrawalRequest(new WithdrawalRequest(s, it, afterConfirmation));
+                }
+                case WITHDRAWAL_RESOLVED -> manager.restoreWithdrawalResolved(in.readUTF(), in.readInt());
+                default -> throw new IOException("Unknown record type");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt internship log record", e);
+        }
+    }
+
+    // Replay never creates accounts: a posting whose representative the user store no longer has is kept
+    // without one. The record's name and company are read only to step over them.
+    private CompanyRepresentative resolveRep(String id, String name, String company) {
+        return id != null && users.getUserById(id) instanceof CompanyRepresentative rep ? rep : null;
+    }
+
+    // Strings short enough for writeUTF's 64 KB limit use it; longer ones are written as an int length and
+    // UTF-8 bytes, so encoding a record can never fail after the change it records has been made.
+    static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeByte(NULL_STRING);
+        } else if (s.length() <= MAX_UTF_CHARS) {
+            out.writeByte(SHORT_STRING);
+            out.writeUTF(s);
+        } else {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            out.writeByte(LONG_STRING);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        return switch (in.readByte()) {
+            case NULL_STRING -> null;
+            case SHORT_STRING -> in.readUTF();
+            case LONG_STRING -> new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8);
+            default -> throw new IOException("Bad string marker");
+        };
+    }
+}
@@ -0,0 +1,266 @@
+package data;
+
+import control.InternshipManager;
+import control.UserManager;
+import entities.*;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+// Point-in-time copy of users, postings, applications and pending withdrawals, stored beside the log segments
+// as snapshot-N.bin. Snapshot N holds everything logged before segment N, so a restart loads it and replays
+// only segments N and later.
+public class InternshipSnapshot {
+    private static final int MAGIC = 0x49534e50;
+    private static final int VERSION = 1;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+
+    private static final byte STUDENT = 1;
+    private static final byte STAFF = 2;
+    private static final byte REP = 3;
+
+    private static final InternshipStatus[] STATUSES = InternshipStatus.values();
+    private static final InternshipLevel[] LEVELS = InternshipLevel.values();
+    private static final ApplicationStatus[] APPLICATION_STATUSES = ApplicationStatus.values();
+
+    // Writes the snapshot for the given segment without blocking writers; the copy may include
+    // changes made while it runs, which replaying the log tail over it reproduces harmlessly.
+    public static Path write(Path dir, long segment, UserManager users, InternshipManager manager) throws IOException {
+        Path target = path(dir, segment);
+        Path tmp = dir.resolve(target.getFileName() + ".tmp");
+        CheckedOutputStream checked;
+        try (FileOutputStream file = new FileOutputStream(tmp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                     checked = new CheckedOutputStream(file, new CRC32()), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(manager.getNextInternshipId());
+
+            List<User> allUsers = new ArrayList<>(users.getAllUsers());
+            out.writeInt(allUsers.size());
+            for (User u : allUsers) writeUser(out, u);
+
+            List<Internship> internships = manager.getAllInternships();
+            out.writeInt(internships.size());
+            for (Internship it : internships) writeInternship(out, it);
+
+            List<WithdrawalRequest> requests = manager.getPendingWithdrawalRequests();
+            out.writeInt(requests.size());
+            for (WithdrawalRequest r : requests) {
+                out.writeUTF(r.getStudent().getId());
+                out.writeInt(r.getInternship().getId());
+                out.writeBoolean(r.wasAfterConfirmation());
+            }
+            out.flush();
+            long crc = checked.getChecksum().getValue();
+            file.write(new byte[]{(byte) (crc >>> 24), (byte) (crc >>> 16), (byte) (crc >>> 8), (byte) crc});
+            file.getFD().sync();
+        }
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory(dir);
+        return target;
+    }
+
+    // Loads the snapshot into an empty internship manager. Users themselves are owned by the user store,
+    // so the snapshot only restores accepted offers onto existing students; a posting whose representative
+    // the user manager no longer has is restored without one.
+    public static void read(Path file, UserManager users, InternshipManager manager) throws IOException {
+        CheckedInputStream checked;
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+             DataInputStream in = new DataInputStream(checked = new CheckedInputStream(raw, new CRC32()))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) throw new IOException("Not a snapshot: " + file);
+            int nextInternshipId = in.readInt();
+
+            int userCount = in.readInt();
+            for (int i = 0; i < userCount; i++) {
+                User u = readUser(in);
+                if (users.getUserById(u.getId()) instanceof Student s && u instanceof Student saved)
+                    s.setAcceptedInternshipId(saved.getAcceptedInternshipId());
+            }
+
+            int internshipCount = in.readInt();
+            for (int i = 0; i < internshipCount; i++) readInternship(in, users, manager);
+
+            int requestCount = in.readInt();
+            for (int i = 0; i < requestCount; i++) {
+                User u = users.getUserById(in.readUTF());
+                Internship it = manager.getInternshipById(in.readInt());
+                boolean afterConfirmation = in.readBoolean();
+                if (u instanceof Student s && it != null)
+                    manager.restoreWithdrawalRequest(new WithdrawalRequest(s, it, afterConfirmation));
+            }
+            long expected = checked.getChecksum().getValue();
+            if ((in.readInt() & 0xffffffffL) != expected) throw new IOException("Snapshot checksum mismatch: " + file);
+            manager.restoreNextInternshipId(nextInternshipId);
+        }
+    }
+
+    // Segment number of the newest snapshot in dir, or 0 if there is none.
+    public static long latest(Path dir) throws IOException {
+        long latest = 0;
+        for (long s : list(dir)) latest = Math.max(latest, s);
+        return latest;
+    }
+
+    public static Path path(Path dir, long segment) {
+        return dir.resolve(String.format("%s%08d%s", PREFIX, segment, SUFFIX));
+    }
+
+    public static void deleteBefore(Path dir, long segment) throws IOException {
+        for (long s : list(dir)) {
+            if (s < segment) Files.deleteIfExists(path(dir, s));
+        }
+    }
+
+    private static List<Long> list(Path dir) throws IOException {
+        List<Long> segments = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return segments;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, PREFIX + "*" + SUFFIX)) {
+            for (Path p : files) {
+                String name = p.getFileName().toString();
+                try {
+                    segments.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        return segments;
+    }
+
+    private static void writeUser(DataOutputStream out, User u) throws IOException {
+        if (u instanceof Student s) {
+            out.writeByte(STUDENT);
+            writeCommon(out, u);
+            InternshipLog.writeString(out, s.getMajor());
+            out.writeInt(s.getYear());
+            InternshipLog.writeString(out, s.getEmail());
+            out.writeInt(s.getAcceptedInternshipId());
+        } else if (u instanceof CareerCenterStaff staff) {
+            out.writeByte(STAFF);
+            writeCommon(out, u);
+            InternshipLog.writeString(out, staff.getRole());
+            InternshipLog.writeString(out, staff.getDepartment());
+            InternshipLog.writeString(out, staff.getEmail());
+        } else if (u instanceof CompanyRepresentative rep) {
+            out.writeByte(REP);
+            writeCommon(out, u);
+            InternshipLog.writeString(out, rep.getCompanyName());
+            InternshipLog.writeString(out, rep.getDepartment());
+            InternshipLog.writeString(out, rep.getPosition());
+            InternshipLog.writeString(out, rep.getEmail());
+            out.writeBoolean(rep.isApproved());
+        } else {
+            throw new IOException("Unknown user type: " + u.getClass().getName());
+        }
+    }
+
+    private static void writeCommon(DataOutputStream out, User u) throws IOException {
+        out.writeUTF(u.getId());
+        InternshipLog.writeString(out, u.getName());
+        InternshipLog.writeString(out, u.getPassword());
+    }
+
+    private static User readUser(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        String id = in.readUTF();
+        String name = InternshipLog.readString(in);
+        String password = InternshipLog.readString(in);
+        User u;
+        switch (type) {
+            case STUDENT -> {
+                Student s = new Student(id, name, InternshipLog.readString(in), in.readInt(), InternshipLog.readString(in));
+                s.setAcceptedInternshipId(in.readInt());
+                u = s;
+            }
+            case STAFF -> u = new CareerCenterStaff(id, name, InternshipLog.readString(in),
+                    InternshipLog.readString(in), InternshipLog.readString(in));
+            case REP -> {
+                CompanyRepresentative rep = new CompanyRepresentative(id, name, InternshipLog.readString(in),
+                        InternshipLog.readString(in), InternshipLog.readString(in), InternshipLog.readString(in));
+                rep.setApproved(in.readBoolean());
+                u = rep;
+            }
+            default -> throw new IOException("Unknown user type " + type);
+        }
+        u.setPassword(password);
+        return u;
+    }
+
+    private static void writeInternship(DataOutputStream out, Internship it) throws IOException {
+        out.writeInt(it.getId());
+        InternshipLog.writeString(out, it.getPostedBy() != null ? it.getPostedBy().getId() : null);
+        InternshipLog.writeString(out, it.getTitle());
+        InternshipLog.writeString(out, it.getDescription());
+        out.writeByte(it.getLevel().ordinal());
+        InternshipLog.writeString(out, it.getPreferredMajor());
+        out.writeLong(it.getOpeningDate().toEpochDay());
+        out.writeLong(it.getClosingDate().toEpochDay());
+        out.writeInt(it.getSlots());
+        out.writeByte(it.getStatus().ordinal());
+        out.writeBoolean(it.isVisible());
+        List<String> applicants = new ArrayList<>();
+        List<ApplicationStatus> statuses = new ArrayList<>();
+        it.getApplications().forEach((sid, status) -> {
+            applicants.add(sid);
+            statuses.add(status);
+        });
+        out.writeInt(applicants.size());
+        for (int i = 0; i < applicants.size(); i++) {
+            out.writeUTF(applicants.get(i));
+            out.writeByte(statuses.get(i).ordinal());
+        }
+    }
+
+    private static void readInternship(DataInputStream in, UserManager users, InternshipManager manager)
+            throws IOException {
+        int id = in.readInt();
+        String repId = InternshipLog.readString(in);
+        CompanyRepresentative rep = repId != null && users.getUserById(repId) instanceof CompanyRepresentative r ? r : null;
+        String title = InternshipLog.readString(in);
+        String description = InternshipLog.readString(in);
+        InternshipLevel level = LEVELS[in.readByte()];
+        String major = InternshipLog.readString(in);
+        LocalDate open = LocalDate.ofEpochDay(in.readLong());
+        LocalDate close = LocalDate.ofEpochDay(in.readLong());
+        int slots = in.readInt();
+        InternshipStatus status = STATUSES[in.readByte()];
+        boolean visible = in.readBoolean();
+        Internship it = manager.restoreInternship(id, rep, title, description, level, major, open, close, slots, status, visible);
+        int appCount = in.readInt();
+        if (manager.hasRestoredApplications()) {
+            // The application store came back with them; step over the entries.
+            for (int i = 0; i < appCount; i++) in.skipNBytes(in.readUnsignedShort() + 1);
+            return;
+        }
+        for (int i = 0; i < appCount; i++) {
+            String studentId = in.readUTF();
+            manager.restoreApplication(it, studentId, APPLICATION_STATUSES[in.readByte()]);
+        }
+    }
+
+    private static void syncDirectory(Path dir) {
+        try (FileChannel ch = FileChannel.open(dir, StandardOpenOption.READ)) {
+            ch.force(true);
+        } catch (IOException ignored) {
+            // not supported on every platform; the rename itself is still atomic
+        }
+    }
+}
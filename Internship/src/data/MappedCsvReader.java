@@ -0,0 +1,155 @@
+package data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Reads a comma-separated file with a header line by memory-mapping it, cutting it into line-aligned chunks
+// and parsing the chunks in parallel straight from the mapped bytes. Fields are trimmed and trailing empty
+// fields dropped, as line.split(",") followed by trim() would.
+class MappedCsvReader {
+    private static final int MIN_CHUNK_BYTES = 1 << 20;
+
+    // One parsed line; only valid inside the RowMapper call that receives it.
+    static final class Row {
+        private final ByteBuffer buf;
+        private int[] starts = new int[8];
+        private int[] ends = new int[8];
+        private int size;
+        private byte[] scratch = new byte[128];
+
+        private Row(ByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        int size() {
+            return size;
+        }
+
+        String get(int i) {
+            int start = starts[i], len = ends[i] - start;
+            if (len == 0) return "";
+            if (scratch.length < len) scratch = new byte[Math.max(len, scratch.length * 2)];
+            buf.get(start, scratch, 0, len);
+            return new String(scratch, 0, len, StandardCharsets.UTF_8);
+        }
+
+        int getInt(int i) {
+            int pos = starts[i], end = ends[i];
+            if (pos == end) throw new NumberFormatException("empty field");
+            boolean negative = buf.get(pos) == '-';
+            if (negative || buf.get(pos) == '+') pos++;
+            if (pos == end) throw new NumberFormatException("no digits");
+            int value = 0;
+            for (; pos < end; pos++) {
+                int d = buf.get(pos) - '0';
+                if (d < 0 || d > 9 || value > (Integer.MAX_VALUE - d) / 10) throw new NumberFormatException("not an int");
+                value = value * 10 + d;
+            }
+            return negative ? -value : value;
+        }
+
+        private void parse(int from, int to) {
+            size = 0;
+            int fieldStart = from;
+            int lastNonEmpty = 0;
+            for (int i = from; i <= to; i++) {
+                if (i < to && buf.get(i) != ',') continue;
+                if (size == starts.length) {
+                    starts = Arrays.copyOf(starts, size * 2);
+                    ends = Arrays.copyOf(ends, size * 2);
+                }
+                int s = fieldStart, e = i;
+                if (e > s) lastNonEmpty = size + 1;
+                while (s < e && (buf.get(s) & 0xff) <= ' ') s++;
+                while (e > s && (buf.get(e - 1) & 0xff) <= ' ') e--;
+                starts[size] = s;
+                ends[size] = e;
+                size++;
+                fieldStart = i + 1;
+            }
+            size = lastNonEmpty;
+        }
+    }
+
+    // Turns a row into a value, or returns null to skip it.
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(Row row);
+    }
+
+    private record Part<T>(List<T> values, int lines, List<Integer> skipped) {}
+
+    // Rows come back in file order. Rows the mapper rejects with a NumberFormatException are left out, and
+    // their line numbers (the header is line 1) are added to skipped so the caller can report them.
+    static <T> List<T> read(Path file, RowMapper<T> mapper, List<Integer> skipped) throws IOException {
+        MappedByteBuffer buf;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size > Integer.MAX_VALUE) throw new IOException("CSV file too large to map: " + file);
+            buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        int limit = buf.limit();
+        int bodyStart = nextLine(buf, 0, limit);
+
+        int chunks = (int) Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 4L,
+                (long) (limit - bodyStart) / MIN_CHUNK_BYTES));
+        int[] bounds = new int[chunks + 1];
+        bounds[0] = bodyStart;
+        for (int c = 1; c < chunks; c++) {
+            int target = bodyStart + (int) ((long) (limit - bodyStart) * c / chunks);
+            bounds[c] = Math.max(bounds[c - 1], nextLine(buf, target, limit));
+        }
+        bounds[chunks] = limit;
+
+        List<Part<T>> parts = IntStream.range(0, chunks).parallel()
+                .mapToObj(c -> parseChunk(buf, bounds[c], bounds[c + 1], mapper))
+                .toList();
+        List<T> result = new ArrayList<>(parts.stream().mapToInt(p -> p.values().size()).sum());
+        int firstLine = 2;
+        for (Part<T> part : parts) {
+            result.addAll(part.values());
+            for (int line : part.skipped()) skipped.add(firstLine + line);
+            firstLine += part.lines();
+        }
+        return result;
+    }
+
+    // Skipped lines are counted from the start of the chunk.
+    private static <T> Part<T> parseChunk(ByteBuffer buf, int from, int to, RowMapper<T> mapper) {
+        List<T> out = new ArrayList<>(Math.max(16, (to - from) / 64));
+        List<Integer> skipped = new ArrayList<>();
+        Row row = new Row(buf);
+        int lineStart = from;
+        int line = 0;
+        while (lineStart < to) {
+            int lineEnd = lineStart;
+            while (lineEnd < to && buf.get(lineEnd) != '\n') lineEnd++;
+            int contentEnd = lineEnd > lineStart && buf.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            row.parse(lineStart, contentEnd);
+            try {
+                T value = mapper.map(row);
+                if (value != null) out.add(value);
+            } catch (NumberFormatException e) {
+                skipped.add(line);
+            }
+            lineStart = lineEnd + 1;
+            line++;
+        }
+        return new Part<>(out, line, skipped);
+    }
+
+    private static int nextLine(ByteBuffer buf, int from, int limit) {
+        int i = from;
+        while (i < limit && buf.get(i) != '\n') i++;
+        return Math.min(limit, i + 1);
+    }
+}
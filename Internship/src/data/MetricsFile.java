@@ -0,0 +1,74 @@
+package data;
+
+import control.ServiceMetrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Periodically writes a ServiceMetrics snapshot to a text file, replacing the previous one through a temp
+// file and a rename so readers never see a half-written report.
+public class MetricsFile implements Closeable {
+    private final Path file;
+    private final ServiceMetrics metrics;
+    private ScheduledExecutorService dumper;
+
+    private MetricsFile(Path file, ServiceMetrics metrics) {
+        this.file = file;
+        this.metrics = metrics;
+    }
+
+    // Writes the report every periodSeconds, and once more on close.
+    public static MetricsFile open(Path file, long periodSeconds, ServiceMetrics metrics) {
+        MetricsFile out = new MetricsFile(file, metrics);
+        out.dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-dumper");
+            t.setDaemon(true);
+            return t;
+        });
+        out.dumper.scheduleWithFixedDelay(out::writeQuietly, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+        return out;
+    }
+
+    // Reads metrics.file and metrics.dumpSeconds.
+    public static MetricsFile openConfigured(ServiceMetrics metrics) {
+        Path file = Path.of(System.getProperty("metrics.file", "metrics.txt"));
+        long periodSeconds = Long.getLong("metrics.dumpSeconds", 60);
+        return open(file, periodSeconds, metrics);
+    }
+
+    public void write() throws IOException {
+        ServiceMetrics.Snapshot snapshot = metrics.snapshot();
+        String report = "# " + Instant.ofEpochMilli(snapshot.getTakenAtMillis()) + ", uptime "
+                + snapshot.getUptimeMillis() / 1000 + "s" + System.lineSeparator() + snapshot;
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(tmp, report, StandardCharsets.UTF_8);
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public void close() throws IOException {
+        dumper.shutdown();
+        try {
+            dumper.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        write();
+    }
+
+    private void writeQuietly() {
+        try {
+            write();
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Error writing metrics: " + e.getMessage());
+        }
+    }
+}
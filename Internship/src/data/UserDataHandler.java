@@ -7,82 +7,114 @@ import entities.Student;
 import entities.User;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class UserDataHandler {
+    private final Path dir;
 
+    public UserDataHandler() {
+        this(Path.of(""));
+    }
+
+    public UserDataHandler(Path dir) {
+        this.dir = dir;
+    }
+
+    // The three role files are parsed concurrently, each split into chunks parsed in parallel.
     public Map<String, User> loadUsersFromCSV() {
-        Map<String, User> users = new HashMap<>();
+        CompletableFuture<List<User>> students = CompletableFuture.supplyAsync(this::readStudents);
+        CompletableFuture<List<User>> staff = CompletableFuture.supplyAsync(this::readStaff);
+        CompletableFuture<List<User>> reps = CompletableFuture.supplyAsync(this::readCompanyReps);
 
-        readStudents(users);
-        readStaff(users);
-        readCompanyReps(users);
+        List<User> loaded = new ArrayList<>(students.join());
+        loaded.addAll(staff.join());
+        loaded.addAll(reps.join());
+        Map<String, User> users = new HashMap<>(Math.max(16, loaded.size() * 4 / 3 + 1));
+        for (User u : loaded) users.put(u.getId(), u);
 
         if (users.isEmpty()) {
             System.out.println("⚠ No CSV found, creating demo data.");
-            CareerCenterStaff staff = new CareerCenterStaff("staff1", "Default Staff", "Career Coach", "Career Center", "staff1@career.com");
+            CareerCenterStaff staffUser = new CareerCenterStaff("staff1", "Default Staff", "Career Coach", "Career Center", "staff1@career.com");
             Student student = new Student("U1234567A", "Default Student", "Computer Science", 3, "student@ntu.edu.sg");
             CompanyRepresentative rep = new CompanyRepresentative("rep001", "Default Rep", "ABC Corp", "HR", "Manager", "rep@company.com");
             rep.setApproved(true);
-            users.put(staff.getId(), staff);
+            users.put(staffUser.getId(), staffUser);
             users.put(student.getId(), student);
             users.put(rep.getId(), rep);
         }
         return users;
     }
 
-    private void readStudents(Map<String, User> users) {
-        try (BufferedReader br = new BufferedReader(new FileReader("sample_student_list.csv"))) {
-            br.readLine();
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] p = line.split(",");
-                if (p.length >= 5)
-                    users.put(p[0].trim(), new Student(p[0].trim(), p[1].trim(), p[2].trim(), Integer.parseInt(p[3].trim()), p[4].trim()));
-            }
-        } catch (IOException ignored) {}
+    private List<User> readStudents() {
+        return read("sample_student_list.csv", p -> p.size() >= 5
+                ? new Student(p.get(0), p.get(1), p.get(2), p.getInt(3), p.get(4)) : null);
     }
 
-    private void readStaff(Map<String, User> users) {
-        try (BufferedReader br = new BufferedReader(new FileReader("sample_staff_list.csv"))) {
-            br.readLine();
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] p = line.split(",");
-                if (p.length >= 5)
-                    users.put(p[0].trim(), new CareerCenterStaff(p[0].trim(), p[1].trim(), p[2].trim(), p[3].trim(), p[4].trim()));
-            }
-        } catch (IOException ignored) {}
+    private List<User> readStaff() {
+        return read("sample_staff_list.csv", p -> p.size() >= 5
+                ? new CareerCenterStaff(p.get(0), p.get(1), p.get(2), p.get(3), p.get(4)) : null);
     }
 
-    private void readCompanyReps(Map<String, User> users) {
-        try (BufferedReader br = new BufferedReader(new FileReader("sample_company_representative_list.csv"))) {
-            br.readLine();
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] p = line.split(",");
-                if (p.length >= 6) {
-                    CompanyRepresentative rep = new CompanyRepresentative(p[0].trim(), p[1].trim(), p[2].trim(), p[3].trim(), p[4].trim(), p[5].trim());
-                    if (p.length > 6 && p[6].trim().equalsIgnoreCase("approved")) rep.setApproved(true);
-                    users.put(p[0].trim(), rep);
-                }
+    private List<User> readCompanyReps() {
+        return read("sample_company_representative_list.csv", p -> {
+            if (p.size() < 6) return null;
+            CompanyRepresentative rep = new CompanyRepresentative(p.get(0), p.get(1), p.get(2), p.get(3), p.get(4), p.get(5));
+            if (p.size() > 6 && p.get(6).equalsIgnoreCase("approved")) rep.setApproved(true);
+            return rep;
+        });
+    }
+
+    private List<User> read(String fileName, MappedCsvReader.RowMapper<User> mapper) {
+        try {
+            // Rows with an id too long to journal are skipped like any other unusable row.
+            List<Integer> skipped = new ArrayList<>();
+            List<User> users = MappedCsvReader.read(dir.resolve(fileName), row -> {
+                User u = mapper.map(row);
+                return u != null && u.getId().length() <= User.MAX_ID_LENGTH ? u : null;
+            }, skipped);
+            if (!skipped.isEmpty()) {
+                System.out.println("⚠ Skipped " + skipped.size() + " row(s) of " + fileName
+                        + " with a malformed number, lines " + describe(skipped) + ".");
             }
-        } catch (IOException ignored) {}
+            return users;
+        } catch (IOException ignored) {
+            return List.of();
+        }
     }
 
+    // The first few line numbers, so one bad file cannot flood the console.
+    private static String describe(List<Integer> lines) {
+        if (lines.size() <= 5) return lines.toString();
+        return lines.subList(0, 5) + " and " + (lines.size() - 5) + " more";
+    }
+
+    // Full export of every user; day-to-day changes are persisted incrementally by UserStore.
     public void saveUsersToCSV(UserManager manager) {
-        try (PrintWriter pw = new PrintWriter(new FileWriter("users_out.csv"))) {
-            pw.println("ID,Name,Email,Type,Extra1,Extra2,Approved");
-            for (User u : manager.getAllUsers()) {
-                if (u instanceof Student s)
-                    pw.println(s.getId() + "," + s.getName() + "," + s.getEmail() + ",Student," + s.getMajor() + ",Year " + s.getYear());
-                else if (u instanceof CareerCenterStaff st)
-                    pw.println(st.getId() + "," + st.getName() + "," + st.getEmail() + ",Staff," + st.getRole() + "," + st.getDepartment());
-                else if (u instanceof CompanyRepresentative rep)
-                    pw.println(rep.getId() + "," + rep.getName() + "," + rep.getEmail() + ",CompanyRep," +
-                            rep.getCompanyName() + "," + rep.getDepartment() + "," + (rep.isApproved() ? "approved" : "pending"));
+        Path target = dir.resolve("users_out.csv");
+        Path tmp = dir.resolve("users_out.csv.tmp");
+        try {
+            try (PrintWriter pw = new PrintWriter(Files.newBufferedWriter(tmp))) {
+                pw.println("ID,Name,Email,Type,Extra1,Extra2,Approved");
+                for (User u : manager.getAllUsers()) {
+                    if (u instanceof Student s)
+                        pw.println(s.getId() + "," + s.getName() + "," + s.getEmail() + ",Student," + s.getMajor() + ",Year " + s.getYear());
+                    else if (u instanceof CareerCenterStaff st)
+                        pw.println(st.getId() + "," + st.getName() + "," + st.getEmail() + ",Staff," + st.getRole() + "," + st.getDepartment());
+                    else if (u instanceof CompanyRepresentative rep)
+                        pw.println(rep.getId() + "," + rep.getName() + "," + rep.getEmail() + ",CompanyRep," +
+                                rep.getCompanyName() + "," + rep.getDepartment() + "," + (rep.isApproved() ? "approved" : "pending"));
+                }
+                // checkError flushes, so a failed write is caught before the file replaces the old one.
+                if (pw.checkError()) throw new IOException("write failed");
             }
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException e) {
             System.out.println("Error saving users: " + e.getMessage());
         }
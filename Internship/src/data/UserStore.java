@@ -0,0 +1,272 @@
+package data;
+
+import control.UserJournal;
+import control.UserManager;
+import entities.CareerCenterStaff;
+import entities.CompanyRepresentative;
+import entities.Student;
+import entities.User;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Persists user changes made after the CSV roster was loaded: registrations, approvals, password changes and
+// removals. Changed users are spread over 64 segment files by id hash; a background flusher rewrites only the
+// changed segments, each through a temp file and an atomic rename.
+public class UserStore implements UserJournal, Closeable {
+    private static final int SEGMENTS = 64;
+    private static final String HEADER = "Type,ID,Name,Password,Extra1,Extra2,Extra3,Extra4,Extra5";
+
+    // A null user marks a removal.
+    private record Entry(User user) {}
+
+    private final Path dir;
+    private final List<Map<String, Entry>> segments = new ArrayList<>(SEGMENTS);
+    private final AtomicLong dirty = new AtomicLong();
+    private final UserManager users;
+    private ScheduledExecutorService flusher;
+
+    private UserStore(Path dir, UserManager users) {
+        this.dir = dir;
+        this.users = users;
+        for (int i = 0; i < SEGMENTS; i++) segments.add(new ConcurrentHashMap<>());
+    }
+
+    // Applies the stored changes on top of the users already loaded, then attaches to the manager.
+    // Dirty segments are written every flushMillis, and always on close.
+    public static UserStore open(Path dir, long flushMillis, UserManager users) throws IOException {
+        Files.createDirectories(dir);
+        UserStore store = new UserStore(dir, users);
+        for (int i = 0; i < SEGMENTS; i++) store.load(i);
+        users.setJournal(store);
+        store.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "user-store-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        store.flusher.scheduleWithFixedDelay(store::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+        return store;
+    }
+
+    // Reads users.store (directory) and users.store.flushMillis.
+    public static UserStore openConfigured(UserManager users) throws IOException {
+        Path dir = Path.of(System.getProperty("users.store", "users.db"));
+        long flushMillis = Long.getLong("users.store.flushMillis", 1000);
+        return open(dir, flushMillis, users);
+    }
+
+    @Override
+    public void userChanged(User user) {
+        record(user.getId(), new Entry(user));
+    }
+
+    @Override
+    public void userRemoved(String id) {
+        record(id, new Entry(null));
+    }
+
+    @Override
+    public void usersAdded(Collection<? extends User> added) {
+        long mask = 0;
+        for (User u : added) {
+            int segment = segmentOf(u.getId());
+            segments.get(segment).put(u.getId(), new Entry(u));
+            mask |= 1L << segment;
+        }
+        dirty.getAndAccumulate(mask, (a, b) -> a | b);
+    }
+
+    // Writes every segment changed since the last flush. Returns the number of segments written.
+    public synchronized int flush() throws IOException {
+        long mask = dirty.getAndSet(0);
+        int written = 0;
+        while (mask != 0) {
+            int segment = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+            try {
+                write(segment);
+                written++;
+            } catch (IOException e) {
+                dirty.getAndAccumulate((1L << segment) | mask, (a, b) -> a | b);
+                throw e;
+            }
+        }
+        return written;
+    }
+
+    @Override
+    public void close() throws IOException {
+        users.setJournal(null);
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void record(String id, Entry entry) {
+        int segment = segmentOf(id);
+        segments.get(segment).put(id, entry);
+        dirty.getAndAccumulate(1L << segment, (a, b) -> a | b);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Error saving users: " + e.getMessage());
+        }
+    }
+
+    private void write(int segment) throws IOException {
+        Path target = segmentPath(segment);
+        Path tmp = dir.resolve(target.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(tmp.toFile());
+             BufferedWriter w = new BufferedWriter(new OutputStreamWriter(file, StandardCharsets.UTF_8), 64 * 1024)) {
+            w.write(HEADER);
+            w.newLine();
+            for (Map.Entry<String, Entry> e : segments.get(segment).entrySet()) {
+                w.write(encode(e.getKey(), e.getValue().user()));
+                w.newLine();
+            }
+            w.flush();
+            file.getFD().sync();
+        }
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        try (FileChannel ch = FileChannel.open(dir, StandardOpenOption.READ)) {
+            ch.force(true);
+        } catch (IOException ignored) {
+            // directories cannot be synced on every platform
+        }
+    }
+
+    private void load(int segment) throws IOException {
+        Path file = segmentPath(segment);
+        if (!Files.exists(file)) return;
+        Map<String, Entry> entries = segments.get(segment);
+        // fields never throws, so the reader skips nothing; rows that fail to decode are skipped below.
+        for (String[] p : MappedCsvReader.read(file, UserStore::fields, new ArrayList<>())) {
+            String id;
+            User u;
+            try {
+                id = unescape(p[1]);
+                u = decode(p, id);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if (u == null) {
+                users.restoreRemoval(id);
+            } else {
+                users.restoreUser(u);
+            }
+            entries.put(id, new Entry(u));
+        }
+    }
+
+    private static String[] fields(MappedCsvReader.Row row) {
+        if (row.size() < 2) return null;
+        String[] p = new String[row.size()];
+        for (int i = 0; i < p.length; i++) p[i] = row.get(i);
+        return p;
+    }
+
+    private static String encode(String id, User u) {
+        StringBuilder sb = new StringBuilder(96);
+        if (u == null) return sb.append("Removed,").append(escape(id)).toString();
+        String type = u instanceof Student ? "Student" : u instanceof CareerCenterStaff ? "Staff" : "CompanyRep";
+        sb.append(type).append(',').append(escape(id)).append(',').append(escape(u.getName()))
+                .append(',').append(escape(u.getPassword()));
+        if (u instanceof Student s) {
+            append(sb, s.getMajor(), String.valueOf(s.getYear()), s.getEmail());
+        } else if (u instanceof CareerCenterStaff st) {
+            append(sb, st.getRole(), st.getDepartment(), st.getEmail());
+        } else if (u instanceof CompanyRepresentative rep) {
+            append(sb, rep.getCompanyName(), rep.getDepartment(), rep.getPosition(), rep.getEmail(),
+                    rep.isApproved() ? "approved" : "pending");
+        }
+        return sb.toString();
+    }
+
+    private static User decode(String[] p, String id) {
+        String[] f = new String[9];
+        for (int i = 0; i < f.length; i++) f[i] = i < p.length ? unescape(p[i]) : "";
+        User u;
+        switch (p[0]) {
+            case "Student" -> u = new Student(id, f[2], f[4], Integer.parseInt(f[5]), f[6]);
+            case "Staff" -> u = new CareerCenterStaff(id, f[2], f[4], f[5], f[6]);
+            case "CompanyRep" -> {
+                CompanyRepresentative rep = new CompanyRepresentative(id, f[2], f[4], f[5], f[6], f[7]);
+                rep.setApproved(f[8].equals("approved"));
+                u = rep;
+            }
+            default -> {
+                return null;
+            }
+        }
+        u.setPassword(f[3]);
+        return u;
+    }
+
+    private static void append(StringBuilder sb, String... values) {
+        for (String v : values) sb.append(',').append(escape(v));
+    }
+
+    // Percent-encodes commas, line breaks, '%' and edge whitespace so every field survives splitting and trimming.
+    private static String escape(String s) {
+        if (s == null) return "";
+        StringBuilder sb = null;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == ',' || c == '%' || c == '\n' || c == '\r' || (c <= ' ' && (i == 0 || i == s.length() - 1))) {
+                if (sb == null) sb = new StringBuilder(s.length() + 8).append(s, 0, i);
+                sb.append('%').append(Character.forDigit(c >> 4 & 0xf, 16)).append(Character.forDigit(c & 0xf, 16));
+            } else if (sb != null) {
+                sb.append(c);
+            }
+        }
+        return sb == null ? s : sb.toString();
+    }
+
+    private static String unescape(String s) {
+        if (s.indexOf('%') < 0) return s;
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '%' && i + 2 < s.length()) {
+                sb.append((char) Integer.parseInt(s.substring(i + 1, i + 3), 16));
+                i += 2;
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int segmentOf(String id) {
+        return (id.hashCode() & 0x7fffffff) % SEGMENTS;
+    }
+
+    private Path segmentPath(int segment) {
+        return dir.resolve(String.format("users-%02d.csv", segment));
+    }
+}
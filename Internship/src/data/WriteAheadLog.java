@@ -0,0 +1,297 @@
+package data;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+// Append-only log of length-prefixed, CRC32-checked records, split into numbered segment files in one
+// directory. Appends copy into a buffer; one flusher thread writes and fsyncs whole batches, waiting up to
+// groupCommitMillis for a batch to fill. A torn tail of the newest segment is truncated on open; damage in an
+// older segment fails replay.
+public class WriteAheadLog implements Closeable {
+    private static final int HEADER_BYTES = 8;
+    private static final int EARLY_FLUSH_BYTES = 1 << 20;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path dir;
+    private final long groupCommitMillis;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition hasData = lock.newCondition();
+    private final Condition synced = lock.newCondition();
+    private final Thread flusher;
+
+    private FileChannel channel;
+    private long segment;
+    private ByteBuffer pending = ByteBuffer.allocate(64 * 1024);
+    private ByteBuffer spare = ByteBuffer.allocate(64 * 1024);
+    private long appendedLsn;
+    private long durableLsn;
+    private boolean rotateRequested;
+    private IOException failure;
+    private boolean closed;
+
+    public WriteAheadLog(Path dir, long groupCommitMillis) throws IOException {
+        this.dir = dir;
+        this.groupCommitMillis = groupCommitMillis;
+        Files.createDirectories(dir);
+        List<Long> segments = listSegments();
+        this.segment = segments.isEmpty() ? 1 : segments.get(segments.size() - 1);
+        this.channel = FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long validEnd = scan(channel, null);
+        channel.truncate(validEnd);
+        channel.position(validEnd);
+        this.flusher = new Thread(this::flushLoop, "wal-flusher-" + dir.getFileName());
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public Path getDirectory() {
+        return dir;
+    }
+
+    // Feeds every intact record in segments >= fromSegment to the consumer, in log order.
+    // Call before the first append. Only the newest segment can end in a torn record, since a segment is
+    // complete before the next one is created; a bad record in any older one fails the replay.
+    public void replay(long fromSegment, Consumer<ByteBuffer> consumer) throws IOException {
+        lock.lock();
+        try {
+            if (appendedLsn > 0) throw new IllegalStateException("Replay must happen before appending");
+            for (long seg : listSegments()) {
+                if (seg < fromSegment) continue;
+                if (seg == segment) {
+                    scan(channel, consumer);
+                    channel.position(channel.size());
+                } else {
+                    try (FileChannel old = FileChannel.open(segmentPath(seg), StandardOpenOption.READ)) {
+                        long validEnd = scan(old, consumer);
+                        if (validEnd < old.size()) {
+                            throw new IOException("Corrupt record in " + segmentPath(seg) + " at byte " + validEnd);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long append(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        lock.lock();
+        try {
+            if (closed) throw new IllegalStateException("Log is closed");
+            // Once a flush has failed nothing appended can become durable, so refuse rather than buffer it.
+            if (failure != null) throw new UncheckedIOException(failure);
+            ensureCapacity(HEADER_BYTES + payload.length);
+            pending.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+            long lsn = ++appendedLsn;
+            hasData.signal();
+            return lsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void awaitDurable(long lsn) {
+        lock.lock();
+        try {
+            while (durableLsn < lsn) {
+                checkUsable();
+                synced.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Closes the current segment and starts a new one. Every record appended before this call
+    // returns is in an earlier segment or the returned one; the returned number is the new segment.
+    public long rotate() {
+        lock.lock();
+        try {
+            long target = segment + 1;
+            rotateRequested = true;
+            hasData.signal();
+            while (segment < target) {
+                checkUsable();
+                synced.awaitUninterruptibly();
+            }
+            return target;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void deleteSegmentsBefore(long seg) throws IOException {
+        for (long s : listSegments()) {
+            if (s < seg) Files.deleteIfExists(segmentPath(s));
+        }
+    }
+
+    public long size() throws IOException {
+        long total = 0;
+        for (long s : listSegments()) total += Files.size(segmentPath(s));
+        return total;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            hasData.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private void checkUsable() {
+        if (failure != null) throw new UncheckedIOException(failure);
+        if (closed && !flusher.isAlive()) throw new IllegalStateException("Log is closed");
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (pending.remaining() >= bytes) return;
+        ByteBuffer bigger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + bytes));
+        pending.flip();
+        bigger.put(pending);
+        pending = bigger;
+    }
+
+    private void flushLoop() {
+        while (true) {
+            ByteBuffer batch;
+            long batchLsn;
+            boolean rotate;
+            lock.lock();
+            try {
+                while (pending.position() == 0 && !rotateRequested && !closed) hasData.awaitUninterruptibly();
+                if (pending.position() == 0 && !rotateRequested) return;
+                if (groupCommitMillis > 0 && !closed && !rotateRequested) {
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(groupCommitMillis);
+                    long left;
+                    while (!closed && !rotateRequested && pending.position() < EARLY_FLUSH_BYTES
+                            && (left = deadline - System.nanoTime()) > 0) {
+                        try {
+                            hasData.awaitNanos(left);
+                        } catch (InterruptedException ignored) {
+                        }
+                    }
+                }
+                batch = pending;
+                batchLsn = appendedLsn;
+                pending = spare;
+                rotate = rotateRequested;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            FileChannel next = null;
+            try {
+                batch.flip();
+                while (batch.hasRemaining()) channel.write(batch);
+                channel.force(false);
+                if (rotate) {
+                    next = FileChannel.open(segmentPath(segment + 1),
+                            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    channel.close();
+                }
+            } catch (IOException e) {
+                error = e;
+            }
+            batch.clear();
+
+            lock.lock();
+            try {
+                spare = batch;
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durableLsn = batchLsn;
+                    if (next != null) {
+                        channel = next;
+                        segment++;
+                        rotateRequested = false;
+                    }
+                }
+                synced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (error != null) return;
+        }
+    }
+
+    private List<Long> listSegments() throws IOException {
+        List<Long> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path p : files) {
+                String name = p.getFileName().toString();
+                try {
+                    segments.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    private Path segmentPath(long seg) {
+        return dir.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, seg, SEGMENT_SUFFIX));
+    }
+
+    private static long scan(FileChannel ch, Consumer<ByteBuffer> consumer) throws IOException {
+        long position = 0;
+        long size = ch.size();
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(ch.position(0)), 64 * 1024));
+        CRC32 crc = new CRC32();
+        while (position + HEADER_BYTES <= size) {
+            byte[] payload;
+            int expected;
+            try {
+                int length = in.readInt();
+                expected = in.readInt();
+                if (length < 0 || position + HEADER_BYTES + length > size) break;
+                payload = new byte[length];
+                in.readFully(payload);
+            } catch (EOFException e) {
+                break;
+            }
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != expected) break;
+            if (consumer != null) consumer.accept(ByteBuffer.wrap(payload));
+            position += HEADER_BYTES + payload.length;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,48 @@
+package entities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+// The applications to one posting: each applicant's status, in the order they applied. Read-only to
+// callers; changes go through Internship. Kept on the heap unless the service was given an
+// ApplicationStore that keeps them elsewhere.
+public abstract class ApplicationTable {
+    public static ApplicationTable onHeap() {
+        return new HeapApplicationTable();
+    }
+
+    public abstract int size();
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // The status of studentId's application, or null if they have not applied.
+    public ApplicationStatus statusOf(String studentId) {
+        int student = StudentIds.find(studentId);
+        return student == StudentIds.UNKNOWN ? null : statusOf(student);
+    }
+
+    // As statusOf(String), for the applicant with the given StudentIds code.
+    public abstract ApplicationStatus statusOf(int student);
+
+    public boolean contains(String studentId) {
+        return statusOf(studentId) != null;
+    }
+
+    // Calls action with each applicant's id and status in the order they applied. Applications made while
+    // it runs may or may not be seen.
+    public abstract void forEach(BiConsumer<String, ApplicationStatus> action);
+
+    public List<String> studentIds() {
+        List<String> ids = new ArrayList<>(size());
+        forEach((id, status) -> ids.add(id));
+        return ids;
+    }
+
+    // Returns the previous status, or null if this is a new application.
+    protected abstract ApplicationStatus put(int student, ApplicationStatus status);
+
+    protected abstract boolean replace(int student, ApplicationStatus expected, ApplicationStatus status);
+}
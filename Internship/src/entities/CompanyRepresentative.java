@@ -4,9 +4,9 @@ import boundary.CompanyRepUI;
 import control.InternshipManager;
 import control.UserManager;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class CompanyRepresentative extends User {
     private String companyName;
@@ -24,7 +24,7 @@ public class CompanyRepresentative extends User {
         this.position = position;
         this.email = email;
         this.isApproved = false;
-        this.internshipsPosted = new ArrayList<>();
+        this.internshipsPosted = new CopyOnWriteArrayList<>();
     }
 
     public String getCompanyName() {
@@ -49,6 +49,7 @@ public class CompanyRepresentative extends User {
 
     public void setApproved(boolean approved) {
         this.isApproved = approved;
+        changed();
     }
 
     public List<Internship> getInternshipsPosted() {
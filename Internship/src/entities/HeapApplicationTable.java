@@ -0,0 +1,135 @@
+package entities;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+// An ApplicationTable kept on the heap as columns: each applicant's interned id (see StudentIds) and
+// status, in the order they applied, plus an open-addressing hash from applicant to row. An application
+// costs a few bytes here where a HashMap entry costs a node, a boxed key and the key string.
+//
+// Lookups and status changes take no lock: a status is a byte changed with a CAS (replace) or a swap
+// (put on an existing applicant), so confirmOffer stays lock-free. Only adding an applicant takes the
+// table's monitor. The columns grow in chunks that are never copied, so a CAS can never land in an
+// array a concurrent grow has already replaced; a row becomes visible when size is written past it.
+final class HeapApplicationTable extends ApplicationTable {
+    private static final ApplicationStatus[] STATUSES = ApplicationStatus.values();
+    private static final VarHandle STATUS = MethodHandles.arrayElementVarHandle(byte[].class);
+    private static final int FIRST_CHUNK = 4;
+    private static final int[] NO_INTS = new int[0];
+
+    // Chunk k holds FIRST_CHUNK << k rows; see chunk and offset.
+    private volatile int[][] students = new int[0][];
+    private volatile byte[][] statuses = new byte[0][];
+    // Row + 1 of each applicant, 0 for a free slot; a power of two at least twice size. Replaced whole
+    // on a rehash, so a reader always sees a complete table.
+    private volatile int[] slots = NO_INTS;
+    private volatile int size;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public ApplicationStatus statusOf(int student) {
+        int row = row(student);
+        return row < 0 ? null : STATUSES[(byte) STATUS.getVolatile(statuses[chunk(row)], offset(row))];
+    }
+
+    @Override
+    public void forEach(BiConsumer<String, ApplicationStatus> action) {
+        int size = this.size;
+        int[][] students = this.students;
+        byte[][] statuses = this.statuses;
+        for (int row = 0; row < size; row++) {
+            int k = chunk(row), i = offset(row);
+            action.accept(StudentIds.id(students[k][i]), STATUSES[(byte) STATUS.getVolatile(statuses[k], i)]);
+        }
+    }
+
+    @Override
+    protected ApplicationStatus put(int student, ApplicationStatus status) {
+        int row = row(student);
+        if (row < 0) {
+            synchronized (this) {
+                row = row(student);
+                if (row < 0) {
+                    append(student, status);
+                    return null;
+                }
+            }
+        }
+        return STATUSES[(byte) STATUS.getAndSet(statuses[chunk(row)], offset(row), (byte) status.ordinal())];
+    }
+
+    @Override
+    protected boolean replace(int student, ApplicationStatus expected, ApplicationStatus status) {
+        int row = row(student);
+        return row >= 0 && STATUS.compareAndSet(statuses[chunk(row)], offset(row),
+                (byte) expected.ordinal(), (byte) status.ordinal());
+    }
+
+    // Reads size first: every row below it is complete, and later rows found in slots are skipped.
+    private int row(int student) {
+        int size = this.size;
+        if (size == 0) return -1;
+        int[] slots = this.slots;
+        int[][] students = this.students;
+        int mask = slots.length - 1;
+        for (int i = hash(student) & mask, r; (r = slots[i]) != 0; i = (i + 1) & mask) {
+            if (r <= size && students[chunk(r - 1)][offset(r - 1)] == student) return r - 1;
+        }
+        return -1;
+    }
+
+    // Called holding the monitor, for a student not yet in the table.
+    private void append(int student, ApplicationStatus status) {
+        int row = size;
+        int k = chunk(row);
+        if (k == students.length) {
+            int[][] s = Arrays.copyOf(students, k + 1);
+            byte[][] b = Arrays.copyOf(statuses, k + 1);
+            s[k] = new int[FIRST_CHUNK << k];
+            b[k] = new byte[FIRST_CHUNK << k];
+            students = s;
+            statuses = b;
+        }
+        if ((row + 1) * 2 > slots.length) rehash(Math.max(8, slots.length * 2), row);
+        students[k][offset(row)] = student;
+        statuses[k][offset(row)] = (byte) status.ordinal();
+        int[] slots = this.slots;
+        slots[slot(slots, student)] = row + 1;
+        size = row + 1;
+    }
+
+    private void rehash(int capacity, int rows) {
+        int[] fresh = new int[capacity];
+        for (int row = 0; row < rows; row++) fresh[slot(fresh, students[chunk(row)][offset(row)])] = row + 1;
+        slots = fresh;
+    }
+
+    // The free slot where student goes; only called when student is not in slots.
+    private static int slot(int[] slots, int student) {
+        int mask = slots.length - 1;
+        int i = hash(student) & mask;
+        while (slots[i] != 0) i = (i + 1) & mask;
+        return i;
+    }
+
+    // Rows 0-3 are in chunk 0, 4-11 in chunk 1, 12-27 in chunk 2, and so on.
+    private static int chunk(int row) {
+        return 29 - Integer.numberOfLeadingZeros(row + FIRST_CHUNK);
+    }
+
+    private static int offset(int row) {
+        int n = row + FIRST_CHUNK;
+        return n - Integer.highestOneBit(n);
+    }
+
+    private static int hash(int student) {
+        int h = student * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
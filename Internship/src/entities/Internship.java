@@ -1,11 +1,13 @@
 package entities;
 
 import java.time.LocalDate;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 public class Internship {
+    private static final AtomicReferenceFieldUpdater<Internship, InternshipStatus> STATUS =
+            AtomicReferenceFieldUpdater.newUpdater(Internship.class, InternshipStatus.class, "status");
+
     private int id;
     private String title;
     private String description;
@@ -13,14 +15,24 @@ public class Internship {
     private LocalDate openingDate;
     private LocalDate closingDate;
     private String prefer_major;
-    private InternshipStatus status;
-    private boolean visible;
+    private volatile int majorCode;
+    private volatile InternshipStatus status;
+    private volatile boolean visible;
     private CompanyRepresentative postedBy;
     private int slots;
-    private Map<String, ApplicationStatus> applications;
+    private ApplicationTable applications;
+    private AtomicIntegerArray statusCounts;
 
     public Internship(int id, String title, String description, InternshipLevel level, String prefer_major,
                       LocalDate openingDate, LocalDate closingDate, int slots, CompanyRepresentative postedBy) {
+        this(id, title, description, level, prefer_major, openingDate, closingDate, slots, postedBy,
+                ApplicationTable.onHeap());
+    }
+
+    // applications may already hold this posting's applications, as a store reopened after a restart does.
+    public Internship(int id, String title, String description, InternshipLevel level, String prefer_major,
+                      LocalDate openingDate, LocalDate closingDate, int slots, CompanyRepresentative postedBy,
+                      ApplicationTable applications) {
         this.id = id;
         this.title = title;
         this.description = description;
@@ -29,10 +41,13 @@ public class Internship {
         this.closingDate = closingDate;
         this.slots = slots;
         this.prefer_major = prefer_major;
+        this.majorCode = Majors.code(prefer_major);
         this.postedBy = postedBy;
         this.status = InternshipStatus.PENDING;
         this.visible = false;
-        this.applications = new HashMap<>();
+        this.applications = applications;
+        this.statusCounts = new AtomicIntegerArray(ApplicationStatus.values().length);
+        applications.forEach((studentId, status) -> statusCounts.incrementAndGet(status.ordinal()));
     }
 
     public int getId() { return id; }
@@ -45,14 +60,21 @@ public class Internship {
     public LocalDate getClosingDate() { return closingDate; }
     public InternshipStatus getStatus() { return status; }
     public void setStatus(InternshipStatus status) { this.status = status; }
+    public boolean compareAndSetStatus(InternshipStatus expected, InternshipStatus status) {
+        return STATUS.compareAndSet(this, expected, status);
+    }
     public boolean isVisible() { return visible; }
     public void setVisible(boolean visible) { this.visible = visible; }
     public CompanyRepresentative getPostedBy() { return postedBy; }
     public int getSlots() { return slots; }
     public void setSlots(int slots) { this.slots = slots; }
     public String getPreferredMajor() { return prefer_major; }
-    public void setPrefer_major(String prefer_major) { this.prefer_major = prefer_major; }
-    public Map<String, ApplicationStatus> getApplications() { return applications; }
+    public int getMajorCode() { return majorCode; }
+    public void setPrefer_major(String prefer_major) {
+        this.prefer_major = prefer_major;
+        this.majorCode = Majors.code(prefer_major);
+    }
+    public ApplicationTable getApplications() { return applications; }
 
     public void setTitle(String title) { this.title = title; }
     public void setDescription(String description) { this.description = description; }
@@ -61,21 +83,44 @@ public class Internship {
     public void setClosingDate(LocalDate date) { this.closingDate = date; }
 
     public boolean isOpenForApplication(Student student) {
-        if (status != InternshipStatus.APPROVED || !visible) return false;
         LocalDate today = LocalDate.now();
         if (today.isBefore(openingDate) || today.isAfter(closingDate)) return false;
-        if (status == InternshipStatus.FILLED) return false;
-        if (student.getYear() <= 2 && level != InternshipLevel.BASIC) return false;
-        if (!Objects.equals(student.getMajor().toLowerCase(), prefer_major.toLowerCase())) return false;
+        return isEligible(student);
+    }
+
+    // Everything isOpenForApplication checks except the dates, for callers that track the window themselves.
+    public boolean isEligible(Student student) {
+        if (status != InternshipStatus.APPROVED || !visible) return false;
+        if (!student.getYearBand().allows(level)) return false;
+        if (student.getMajorCode() != majorCode) return false;
         return true;
     }
 
-    public int countApplicationsByStatus(ApplicationStatus s) {
-        int count = 0;
-        for (ApplicationStatus st : applications.values()) {
-            if (st == s) count++;
+    public void setApplicationStatus(String studentId, ApplicationStatus status) {
+        ApplicationStatus previous = applications.put(StudentIds.code(studentId), status);
+        if (previous != null) statusCounts.decrementAndGet(previous.ordinal());
+        statusCounts.incrementAndGet(status.ordinal());
+    }
+
+    // Reserves a confirmed slot with a CAS on the counter, then moves the student's offer to CONFIRMED.
+    // Returns the confirmed count including this student, or -1 if the posting is full or there is no offer.
+    public int confirmOffer(String studentId) {
+        int confirmed;
+        do {
+            confirmed = statusCounts.get(ApplicationStatus.CONFIRMED.ordinal());
+            if (confirmed >= slots) return -1;
+        } while (!statusCounts.compareAndSet(ApplicationStatus.CONFIRMED.ordinal(), confirmed, confirmed + 1));
+
+        if (!applications.replace(StudentIds.code(studentId), ApplicationStatus.OFFERED, ApplicationStatus.CONFIRMED)) {
+            statusCounts.decrementAndGet(ApplicationStatus.CONFIRMED.ordinal());
+            return -1;
         }
-        return count;
+        statusCounts.decrementAndGet(ApplicationStatus.OFFERED.ordinal());
+        return confirmed + 1;
+    }
+
+    public int countApplicationsByStatus(ApplicationStatus s) {
+        return statusCounts.get(s.ordinal());
     }
 
     public String getCompanyName() {
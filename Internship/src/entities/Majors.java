@@ -0,0 +1,31 @@
+package entities;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Gives every major name a small int code, so matching a student's major against a posting's is an int
+// comparison. Names are trimmed and compared case-insensitively; "Computer Science" and "computer science "
+// share a code. Codes are handed out as students and postings are created and are never reused.
+public final class Majors {
+    public static final int UNKNOWN = -1;
+
+    private static final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private static final AtomicInteger next = new AtomicInteger();
+
+    private Majors() {}
+
+    public static String normalize(String major) {
+        return major == null ? "" : major.trim().toLowerCase();
+    }
+
+    // The code for major, assigning one if it is new.
+    public static int code(String major) {
+        return codes.computeIfAbsent(normalize(major), k -> next.getAndIncrement());
+    }
+
+    // The code for major, or UNKNOWN if no student or posting has it, in which case nothing can match it.
+    public static int find(String major) {
+        return codes.getOrDefault(normalize(major), UNKNOWN);
+    }
+}
@@ -0,0 +1,8 @@
+package entities;
+
+// Where a posting stands relative to its application window today.
+public enum PostingPhase {
+    UPCOMING,
+    OPEN,
+    CLOSED;
+}
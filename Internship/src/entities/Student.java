@@ -9,6 +9,7 @@ import java.util.Scanner;
 public class Student extends User {
     private int year;
     private String major;
+    private int majorCode;
     private String email;
     private int acceptedInternshipId;
 
@@ -16,6 +17,7 @@ public class Student extends User {
         super(id, name, "password");
         this.year = year;
         this.major = major;
+        this.majorCode = Majors.code(major);
         this.email = email;
         this.acceptedInternshipId = -1;
     }
@@ -24,10 +26,18 @@ public class Student extends User {
         return year;
     }
 
+    public YearBand getYearBand() {
+        return YearBand.of(year);
+    }
+
     public String getMajor() {
         return major;
     }
 
+    public int getMajorCode() {
+        return majorCode;
+    }
+
     public String getEmail() {
         return email;
     }
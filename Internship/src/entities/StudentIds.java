@@ -0,0 +1,46 @@
+package entities;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Interns student ids to dense int codes, so application tables can hold an int per applicant instead of
+// a reference to its own copy of the id string. Codes are handed out the first time an id is seen and are
+// never reused.
+public final class StudentIds {
+    public static final int UNKNOWN = -1;
+
+    private static final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    // ids[code] is the id with that code; replaced whole when it grows, and written before the code is
+    // published in codes, so whoever holds a code can read its id.
+    private static volatile String[] ids = new String[1024];
+    private static int count;
+
+    private StudentIds() {}
+
+    // The code for id, assigning one if it is new.
+    public static int code(String id) {
+        Integer code = codes.get(id);
+        return code != null ? code : register(id);
+    }
+
+    // The code for id, or UNKNOWN if it has never been seen, in which case it has no applications.
+    public static int find(String id) {
+        Integer code = codes.get(id);
+        return code != null ? code : UNKNOWN;
+    }
+
+    public static String id(int code) {
+        return ids[code];
+    }
+
+    private static synchronized int register(String id) {
+        Integer code = codes.get(id);
+        if (code != null) return code;
+        String[] current = ids;
+        if (count == current.length) ids = current = Arrays.copyOf(current, current.length * 2);
+        current[count] = id;
+        codes.put(id, count);
+        return count++;
+    }
+}
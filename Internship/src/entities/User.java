@@ -4,11 +4,16 @@ import control.UserManager;
 
 import java.io.Serializable;
 import java.util.Scanner;
+import java.util.function.Consumer;
 
 public abstract class User implements Serializable {
+    // Ids are written to the log and snapshots with writeUTF, so they are kept well inside its 64 KB limit.
+    public static final int MAX_ID_LENGTH = 256;
+
     private String id;
     private String name;
     protected String password;
+    private transient volatile Consumer<User> changeListener;
 
     public User(String id, String name, String password) {
         this.id = id;
@@ -24,14 +29,34 @@ public abstract class User implements Serializable {
         return name;
     }
 
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+        changed();
+    }
+
     public boolean changePassword(String oldPassword, String newPassword) {
         if (!this.password.equals(oldPassword)) {
             return false;
         }
         this.password = newPassword;
+        changed();
         return true;
     }
 
+    // Notified after every change that has to be persisted; set by the UserManager holding this user.
+    public void setChangeListener(Consumer<User> changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    protected void changed() {
+        Consumer<User> listener = changeListener;
+        if (listener != null) listener.accept(this);
+    }
+
     public boolean checkPassword(String password) {
         return this.password.equals(password);
     }
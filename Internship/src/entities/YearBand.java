@@ -0,0 +1,15 @@
+package entities;
+
+// Students in years 1 and 2 may only apply to basic-level postings; later years may apply to any level.
+public enum YearBand {
+    JUNIOR,
+    SENIOR;
+
+    public static YearBand of(int year) {
+        return year <= 2 ? JUNIOR : SENIOR;
+    }
+
+    public boolean allows(InternshipLevel level) {
+        return this == SENIOR || level == InternshipLevel.BASIC;
+    }
+}
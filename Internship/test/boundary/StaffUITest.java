@@ -0,0 +1,85 @@
+package boundary;
+
+import control.InternshipFilter;
+import control.InternshipManager;
+import control.UserManager;
+import data.UserDataHandler;
+import entities.CareerCenterStaff;
+import entities.CompanyRepresentative;
+import entities.Internship;
+import entities.InternshipLevel;
+import entities.InternshipStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StaffUITest {
+    private final ByteArrayOutputStream console = new ByteArrayOutputStream();
+    private PrintStream stdout;
+
+    @BeforeEach
+    void captureConsole() {
+        stdout = System.out;
+        System.setOut(new PrintStream(console, true, StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void restoreConsole() {
+        System.setOut(stdout);
+    }
+
+    @Test
+    void parsesSinglesListsRangesAndAll() {
+        assertEquals(List.of(2), StaffUI.parseSelection("3", 5));
+        assertEquals(List.of(0, 3, 4), StaffUI.parseSelection(" 5, 1 ,4", 5));
+        assertEquals(List.of(0, 1, 2, 3, 4), StaffUI.parseSelection("2-4,1, 5", 5));
+        assertEquals(List.of(1, 2), StaffUI.parseSelection("2 - 3,3", 5));
+        assertEquals(List.of(0, 1, 2), StaffUI.parseSelection("ALL", 3));
+        assertEquals(List.of(), StaffUI.parseSelection(" 0 ", 3));
+    }
+
+    @Test
+    void rejectsSelectionsOutsideTheList() {
+        for (String input : List.of("6", "0-2", "4-2", "1,,2", "x", "1-", "-1", "")) {
+            assertThrows(NumberFormatException.class, () -> StaffUI.parseSelection(input, 5), input);
+        }
+    }
+
+    @Test
+    void approvesAndRejectsPostingsInBatches() {
+        InternshipManager manager = new InternshipManager();
+        UserManager users = new UserManager(new UserDataHandler(Path.of("no-such-dir")));
+        CompanyRepresentative rep = new CompanyRepresentative("rep", "Rep", "Company", "HR", "Manager", "rep@company.com");
+        List<Internship> postings = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 5; i++) {
+            postings.add(manager.createInternship(rep, "Posting " + i, "", InternshipLevel.BASIC, "CS", today,
+                    today.plusDays(7), 1));
+        }
+
+        // An out-of-range pick, then approve 1-3 and 5, reject the one left, find nothing pending and log out.
+        String input = String.join("\n", "2", "9", "2", "1-3,5", "y", "2", "1", "n", "2", "6") + "\n";
+        new StaffUI(users, manager, new Scanner(input)).staffMenu(new CareerCenterStaff("staff", "Staff", "Coach", "CCDS", "s@ntu.edu.sg"));
+
+        assertEquals(List.of(postings.get(0), postings.get(1), postings.get(2), postings.get(4)),
+                manager.filterInternships(new InternshipFilter().status(InternshipStatus.APPROVED)));
+        assertEquals(List.of(postings.get(3)), manager.filterInternships(new InternshipFilter().status(InternshipStatus.REJECTED)));
+        String out = console.toString(StandardCharsets.UTF_8);
+        assertTrue(out.contains("Invalid input. Please enter a number."), out);
+        assertTrue(out.contains("4 posting(s) approved and now visible to students."), out);
+        assertTrue(out.contains("No pending internship postings."), out);
+    }
+}
@@ -0,0 +1,138 @@
+package control;
+
+import entities.ApplicationStatus;
+import entities.CompanyRepresentative;
+import entities.Internship;
+import entities.InternshipLevel;
+import entities.InternshipStatus;
+import entities.Student;
+import entities.WithdrawalRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Many threads accepting offers on one posting at once. acceptOffer takes a slot with a CAS rather than the
+// posting's lock, so these are the tests that would catch an oversubscribed or wrongly FILLED posting.
+class AcceptOfferConcurrencyTest {
+    private static final int THREADS = 16;
+
+    private ExecutorService pool;
+    private InternshipManager manager;
+    private CompanyRepresentative rep;
+
+    @BeforeEach
+    void setUp() {
+        pool = Executors.newFixedThreadPool(THREADS);
+        manager = new InternshipManager();
+        rep = new CompanyRepresentative("rep", "Rep", "Company", "Dept", "Manager", "rep@company.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @RepeatedTest(20)
+    void confirmsExactlyTheSlotsWhenOffersOutnumberThem() throws Exception {
+        Internship posting = approvedPosting(3);
+        // A restored log can hold more offers than slots, e.g. from before the slots were cut.
+        List<Student> students = students(64);
+        for (Student s : students) manager.restoreApplication(posting, s.getId(), ApplicationStatus.OFFERED);
+
+        List<Callable<Boolean>> accepts = new ArrayList<>();
+        for (Student s : students) accepts.add(() -> manager.acceptOffer(s, posting));
+        int accepted = 0;
+        for (Future<Boolean> f : runTogether(accepts)) if (f.get()) accepted++;
+
+        assertEquals(3, accepted);
+        assertEquals(3, posting.countApplicationsByStatus(ApplicationStatus.CONFIRMED));
+        assertEquals(3, countInTable(posting, ApplicationStatus.CONFIRMED));
+        assertEquals(InternshipStatus.FILLED, posting.getStatus());
+        for (Student s : students) {
+            boolean confirmed = posting.getApplications().statusOf(s.getId()) == ApplicationStatus.CONFIRMED;
+            assertEquals(confirmed ? posting.getId() : -1, s.getAcceptedInternshipId(), s.getId());
+        }
+    }
+
+    @RepeatedTest(20)
+    void withdrawalsRacingAcceptsLeaveThePostingFilledOnlyWhenFull() throws Exception {
+        Internship posting = approvedPosting(2);
+        List<Student> holders = students(0, 2);
+        for (Student s : holders) {
+            assertTrue(manager.applyForInternship(s, posting));
+            assertTrue(manager.reviewApplication(posting, s, true));
+            assertTrue(manager.acceptOffer(s, posting));
+        }
+        assertEquals(InternshipStatus.FILLED, posting.getStatus());
+        List<WithdrawalRequest> withdrawals = new ArrayList<>();
+        for (Student s : holders) withdrawals.add(manager.requestWithdrawal(s, posting));
+
+        List<Student> waiting = students(2, 32);
+        for (Student s : waiting) manager.restoreApplication(posting, s.getId(), ApplicationStatus.OFFERED);
+
+        List<Callable<Boolean>> work = new ArrayList<>();
+        for (WithdrawalRequest w : withdrawals) work.add(() -> {
+            manager.processWithdrawalRequest(w, true);
+            return true;
+        });
+        for (Student s : waiting) work.add(() -> manager.acceptOffer(s, posting));
+        for (Future<Boolean> f : runTogether(work)) f.get();
+
+        int confirmed = posting.countApplicationsByStatus(ApplicationStatus.CONFIRMED);
+        assertTrue(confirmed <= posting.getSlots(), "confirmed " + confirmed);
+        assertEquals(confirmed, countInTable(posting, ApplicationStatus.CONFIRMED));
+        assertEquals(confirmed == posting.getSlots(), posting.getStatus() == InternshipStatus.FILLED,
+                "status " + posting.getStatus() + " with " + confirmed + " confirmed");
+        for (Student s : holders) assertEquals(-1, s.getAcceptedInternshipId());
+    }
+
+    private Internship approvedPosting(int slots) {
+        LocalDate today = LocalDate.now();
+        Internship posting = manager.createInternship(rep, "Hot", "Everyone wants it", InternshipLevel.BASIC, "CS",
+                today.minusDays(1), today.plusDays(5), slots);
+        manager.reviewInternshipPosting(posting, true);
+        return posting;
+    }
+
+    private static List<Student> students(int n) {
+        return students(0, n);
+    }
+
+    private static List<Student> students(int from, int to) {
+        List<Student> students = new ArrayList<>();
+        for (int i = from; i < to; i++) students.add(new Student("U" + i, "Student " + i, "CS", 2, "u" + i + "@e.ntu.edu.sg"));
+        return students;
+    }
+
+    // Submits every task, then releases them at once so they contend rather than run in order.
+    private <T> List<Future<T>> runTogether(List<Callable<T>> tasks) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (Callable<T> task : tasks) futures.add(pool.submit(() -> {
+            start.await();
+            return task.call();
+        }));
+        start.countDown();
+        return futures;
+    }
+
+    private static int countInTable(Internship posting, ApplicationStatus status) {
+        int[] n = {0};
+        posting.getApplications().forEach((id, s) -> {
+            if (s == status) n[0]++;
+        });
+        return n[0];
+    }
+}
@@ -0,0 +1,111 @@
+package control;
+
+import data.UserDataHandler;
+import entities.CompanyRepresentative;
+import entities.Internship;
+import entities.InternshipLevel;
+import entities.InternshipStatus;
+import entities.Student;
+import entities.User;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BatchImportTest {
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Test
+    void createsValidPostingsAndReportsTheRestByRow() {
+        InternshipManager manager = new InternshipManager();
+        CompanyRepresentative rep = rep("rep1");
+
+        BatchResult<Internship> result = manager.createInternships(List.of(
+                draft(rep, "Backend", 2),
+                draft(rep, " ", 2),
+                draft(null, "No rep", 2),
+                new InternshipDraft(rep, "Backwards", "", InternshipLevel.BASIC, "CS", TODAY, TODAY.minusDays(1), 2),
+                draft(rep, "Too many slots", 11),
+                draft(rep, "Frontend", 1)));
+
+        assertEquals(List.of("Row 1: Missing title", "Row 2: Missing company representative",
+                "Row 3: Closing date is before opening date", "Row 4: Slots must be between 1 and 10"),
+                result.getErrors().stream().map(Object::toString).toList());
+        assertEquals(2, result.getSucceededCount());
+        Internship backend = result.getSucceeded().get(0), frontend = result.getSucceeded().get(5);
+        assertEquals(backend.getId() + 1, frontend.getId());
+        for (int row = 1; row <= 4; row++) assertNull(result.getSucceeded().get(row));
+        assertEquals(List.of(backend, frontend), rep.getInternshipsPosted());
+        assertSame(frontend, manager.getInternshipById(frontend.getId()));
+        assertEquals(List.of(backend, frontend), manager.filterInternships(new InternshipFilter().status(InternshipStatus.PENDING)));
+        assertEquals(List.of(frontend), manager.searchInternships("frontend", new InternshipFilter(), 5));
+    }
+
+    @Test
+    void postingsPastARepsFiveActiveAreRejectedInInputOrder() {
+        InternshipManager manager = new InternshipManager();
+        CompanyRepresentative busy = rep("busy"), other = rep("other");
+        manager.createInternship(busy, "Existing", "", InternshipLevel.BASIC, "CS", TODAY, TODAY.plusDays(7), 1);
+
+        List<InternshipDraft> drafts = new ArrayList<>();
+        for (int i = 0; i < 6; i++) drafts.add(draft(i % 2 == 0 ? busy : other, "Posting " + i, 1));
+        drafts.add(draft(busy, "Posting 6", 1));
+        drafts.add(draft(busy, "Posting 7", 1));
+        BatchResult<Internship> result = manager.createInternships(drafts);
+
+        assertEquals(List.of("Row 7: Representative already has 5 active postings"),
+                result.getErrors().stream().map(Object::toString).toList());
+        assertEquals(5, busy.getInternshipsPosted().size());
+        assertEquals(3, other.getInternshipsPosted().size());
+    }
+
+    @Test
+    void importsValidStudentsAndJournalsThemAsOneBatch() {
+        List<Collection<? extends User>> batches = new ArrayList<>();
+        UserManager users = new UserManager(new UserDataHandler(Path.of("no-such-dir")));
+        users.addUser(student("U0", "Existing", 1));
+        users.setJournal(new UserJournal() {
+            @Override
+            public void usersAdded(Collection<? extends User> added) {
+                batches.add(added);
+            }
+        });
+
+        BatchResult<Student> result = users.importStudents(Stream.of(
+                student("U1", "Tan", 2),
+                student("U0", "Taken", 2),
+                student("U2", " ", 2),
+                student("U3", "Lee", 5),
+                student("X".repeat(User.MAX_ID_LENGTH + 1), "Long", 1),
+                student("U1", "Twice", 3),
+                student("U4", "Ng", 4)));
+
+        assertEquals(List.of("Row 1: Duplicate user id U0", "Row 2: Missing name", "Row 3: Year must be between 1 and 4",
+                "Row 4: Student id is longer than " + User.MAX_ID_LENGTH + " characters", "Row 5: Duplicate user id U1"),
+                result.getErrors().stream().map(Object::toString).toList());
+        assertEquals(2, result.getSucceededCount());
+        assertEquals("Tan", users.getUserById("U1").getName());
+        assertEquals(1, batches.size());
+        assertEquals(List.of("U1", "U4"), batches.get(0).stream().map(User::getId).toList());
+    }
+
+    private static InternshipDraft draft(CompanyRepresentative rep, String title, int slots) {
+        return new InternshipDraft(rep, title, "", InternshipLevel.BASIC, "CS", TODAY, TODAY.plusDays(7), slots);
+    }
+
+    private static CompanyRepresentative rep(String id) {
+        return new CompanyRepresentative(id, "Rep", "Company", "HR", "Manager", id + "@company.com");
+    }
+
+    private static Student student(String id, String name, int year) {
+        return new Student(id, name, "CS", year, id + "@e.ntu.edu.sg");
+    }
+}
@@ -0,0 +1,109 @@
+package control;
+
+import entities.CompanyRepresentative;
+import entities.Internship;
+import entities.InternshipLevel;
+import entities.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeleteInternshipTest {
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private ExecutorService pool;
+    private InternshipManager manager;
+    private CompanyRepresentative rep;
+
+    @BeforeEach
+    void setUp() {
+        pool = Executors.newFixedThreadPool(2);
+        manager = new InternshipManager();
+        rep = new CompanyRepresentative("rep", "Rep", "Company", "HR", "Manager", "rep@company.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void refusesAPostingWithApplicants() {
+        Internship posting = approvedPosting();
+        assertTrue(manager.applyForInternship(student(0), posting));
+
+        assertThrows(IllegalStateException.class, () -> manager.deleteInternship(posting));
+        assertEquals(posting, manager.getInternshipById(posting.getId()));
+        assertEquals(List.of(posting), rep.getInternshipsPosted());
+    }
+
+    // An application and a deletion at once: exactly one of them wins, and a deleted posting is left
+    // with no applicants.
+    @RepeatedTest(20)
+    void anApplicationRacingTheDeletionNeverLandsOnADeletedPosting() throws Exception {
+        Internship posting = approvedPosting();
+        Student student = student(1);
+        CountDownLatch start = new CountDownLatch(1);
+        Future<Boolean> applied = pool.submit(() -> {
+            start.await();
+            return manager.applyForInternship(student, posting);
+        });
+        Future<Boolean> deleted = pool.submit(() -> {
+            start.await();
+            try {
+                return manager.deleteInternship(posting);
+            } catch (IllegalStateException e) {
+                return false;
+            }
+        });
+        start.countDown();
+
+        assertNotEquals(applied.get(), deleted.get());
+        if (deleted.get()) {
+            assertNull(manager.getInternshipById(posting.getId()));
+            assertTrue(posting.getApplications().isEmpty());
+            assertTrue(manager.getApplicationsForStudent(student).isEmpty());
+        }
+    }
+
+    @Test
+    void replayedDeletionDropsItsPendingWithdrawals() {
+        Internship posting = approvedPosting();
+        Student student = student(2);
+        assertTrue(manager.applyForInternship(student, posting));
+        assertTrue(manager.reviewApplication(posting, student, true));
+        assertTrue(manager.acceptOffer(student, posting));
+        manager.requestWithdrawal(student, posting);
+
+        manager.restoreDeletion(posting.getId());
+
+        assertEquals(List.of(), manager.getPendingWithdrawalRequests());
+        assertFalse(manager.getApplicationsForStudent(student).containsKey(posting));
+    }
+
+    private Internship approvedPosting() {
+        Internship posting = manager.createInternship(rep, "Backend", "Services", InternshipLevel.BASIC, "CS",
+                TODAY.minusDays(1), TODAY.plusDays(7), 3);
+        manager.reviewInternshipPosting(posting, true);
+        return posting;
+    }
+
+    private static Student student(int i) {
+        return new Student("D" + i, "Student " + i, "CS", 2, "d" + i + "@e.ntu.edu.sg");
+    }
+}
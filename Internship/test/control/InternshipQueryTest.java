@@ -0,0 +1,182 @@
+package control;
+
+import entities.ApplicationStatus;
+import entities.CompanyRepresentative;
+import entities.Internship;
+import entities.InternshipLevel;
+import entities.InternshipStatus;
+import entities.Majors;
+import entities.PostingPhase;
+import entities.Student;
+import entities.WithdrawalRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Every query the indexes answer, checked against a plain scan of the postings after a random run of
+// creations, reviews, edits, fills, reopenings and deletions has moved postings between index entries.
+class InternshipQueryTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 2);
+    private static final String[] MAJORS = {"Computer Science", "computer science ", "Data Science & AI", "EEE"};
+    private static final InternshipLevel[] LEVELS = InternshipLevel.values();
+
+    private final Random random = new Random(42);
+    private InternshipManager manager;
+    private final List<Internship> postings = new ArrayList<>();
+    private final List<Student> students = new ArrayList<>();
+    private int nextStudent;
+
+    @BeforeEach
+    void setUp() {
+        manager = new InternshipManager(Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        for (int r = 0; r < 40; r++) {
+            CompanyRepresentative rep = new CompanyRepresentative("rep" + r, "Rep " + r, "Company " + r % 7, "HR",
+                    "Manager", "rep" + r + "@company.com");
+            for (int p = 0; p < 4; p++) postings.add(create(rep, r * 4 + p));
+        }
+        for (int i = 0; i < 16; i++) students.add(student(MAJORS[i % MAJORS.length], 1 + i % 4));
+    }
+
+    @Test
+    void queriesMatchAScanAfterEveryKindOfChange() {
+        assertQueriesMatchScan();
+        for (int round = 0; round < 3; round++) {
+            mutate();
+            assertQueriesMatchScan();
+        }
+    }
+
+    private Internship create(CompanyRepresentative rep, int n) {
+        LocalDate opening = TODAY.plusDays(random.nextInt(21) - 10);
+        Internship it = manager.createInternship(rep, "Intern " + (char) ('a' + random.nextInt(26)) + n, "",
+                LEVELS[random.nextInt(LEVELS.length)], MAJORS[random.nextInt(MAJORS.length)], opening,
+                opening.plusDays(random.nextInt(15)), 1 + random.nextInt(3));
+        if (random.nextInt(5) > 0) manager.reviewInternshipPosting(it, random.nextInt(6) > 0);
+        return it;
+    }
+
+    private void mutate() {
+        for (Internship it : new ArrayList<>(postings)) {
+            switch (random.nextInt(8)) {
+                case 0 -> manager.toggleVisibility(it);
+                case 1 -> {
+                    if (it.getStatus() == InternshipStatus.APPROVED) fill(it);
+                }
+                case 2 -> {
+                    if (it.getStatus() == InternshipStatus.FILLED) reopen(it);
+                }
+                case 3 -> {
+                    if (it.getStatus() == InternshipStatus.PENDING) {
+                        LocalDate opening = TODAY.plusDays(random.nextInt(21) - 10);
+                        assertNull(manager.updateInternship(it, new InternshipEdit()
+                                .title("Edited " + (char) ('a' + random.nextInt(26)) + it.getId())
+                                .preferredMajor(MAJORS[random.nextInt(MAJORS.length)])
+                                .level(LEVELS[random.nextInt(LEVELS.length)])
+                                .openingDate(opening)
+                                .closingDate(opening.plusDays(random.nextInt(15)))));
+                    }
+                }
+                case 4 -> {
+                    if (it.getStatus() == InternshipStatus.PENDING) manager.reviewInternshipPosting(it, true);
+                }
+                case 5 -> {
+                    if (random.nextInt(4) == 0 && it.getApplications().isEmpty() && manager.deleteInternship(it)) postings.remove(it);
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    // Confirms fresh students into every slot, which turns the posting FILLED.
+    private void fill(Internship it) {
+        while (it.getStatus() == InternshipStatus.APPROVED) {
+            Student s = student(it.getPreferredMajor(), 3);
+            manager.restoreApplication(it, s.getId(), ApplicationStatus.OFFERED);
+            manager.acceptOffer(s, it);
+        }
+    }
+
+    private void reopen(Internship it) {
+        List<String> confirmed = new ArrayList<>();
+        it.getApplications().forEach((id, status) -> {
+            if (status == ApplicationStatus.CONFIRMED) confirmed.add(id);
+        });
+        Student holder = students.stream().filter(s -> s.getId().equals(confirmed.get(0))).findFirst().orElseThrow();
+        WithdrawalRequest w = manager.requestWithdrawal(holder, it);
+        manager.processWithdrawalRequest(w, true);
+        assertEquals(InternshipStatus.APPROVED, it.getStatus());
+    }
+
+    private Student student(String major, int year) {
+        int n = nextStudent++;
+        Student s = new Student("U" + n, "Student " + n, major, year, "u" + n + "@e.ntu.edu.sg");
+        students.add(s);
+        return s;
+    }
+
+    private void assertQueriesMatchScan() {
+        for (Student s : students.subList(0, 16)) {
+            assertMatches(new InternshipFilter().eligibleFor(s), it -> it.isEligible(s));
+        }
+        for (InternshipStatus status : InternshipStatus.values()) {
+            assertMatches(new InternshipFilter().status(status), it -> it.getStatus() == status);
+            for (InternshipLevel level : LEVELS) {
+                assertMatches(new InternshipFilter().status(status).level(level).visible(true),
+                        it -> it.getStatus() == status && it.getLevel() == level && it.isVisible());
+            }
+        }
+        for (String major : MAJORS) {
+            assertMatches(new InternshipFilter().major(major),
+                    it -> Majors.normalize(it.getPreferredMajor()).equals(Majors.normalize(major)));
+        }
+        for (PostingPhase phase : PostingPhase.values()) {
+            assertMatches(new InternshipFilter().phase(phase).visible(false), it -> phaseOf(it) == phase && !it.isVisible());
+        }
+        assertMatches(new InternshipFilter().openOn(TODAY.plusDays(2)).closingBy(TODAY.plusDays(9)),
+                it -> !TODAY.plusDays(2).isBefore(it.getOpeningDate()) && !TODAY.plusDays(2).isAfter(it.getClosingDate())
+                        && !it.getClosingDate().isAfter(TODAY.plusDays(9)));
+        assertMatches(new InternshipFilter().major("No Such Major"), it -> false);
+        assertMatches(new InternshipFilter().level(InternshipLevel.BASIC).level(InternshipLevel.ADVANCED), it -> false);
+    }
+
+    // Checks filterInternships and every page order against the scan.
+    private void assertMatches(InternshipFilter filter, Predicate<Internship> scan) {
+        List<Internship> expected = postings.stream().filter(scan).toList();
+        assertEquals(ids(expected), ids(manager.filterInternships(filter)));
+        for (InternshipSort sort : InternshipSort.values()) {
+            List<Internship> sorted = new ArrayList<>(expected);
+            sorted.sort(sort.comparator());
+            assertEquals(ids(sorted), ids(manager.filterInternships(filter, sort)), sort.name());
+
+            List<Internship> paged = new ArrayList<>();
+            String cursor = null;
+            do {
+                InternshipPage page = manager.queryInternships(filter, sort, 7, cursor);
+                paged.addAll(page.getItems());
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+            assertEquals(ids(sorted), ids(paged), sort.name() + " pages");
+        }
+    }
+
+    private static PostingPhase phaseOf(Internship it) {
+        if (TODAY.isBefore(it.getOpeningDate())) return PostingPhase.UPCOMING;
+        if (TODAY.isAfter(it.getClosingDate())) return PostingPhase.CLOSED;
+        return PostingPhase.OPEN;
+    }
+
+    private static List<Integer> ids(List<Internship> postings) {
+        return postings.stream().map(Internship::getId).toList();
+    }
+}
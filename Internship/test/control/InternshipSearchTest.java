@@ -0,0 +1,151 @@
+package control;
+
+import entities.CompanyRepresentative;
+import entities.Internship;
+import entities.InternshipLevel;
+import entities.InternshipStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InternshipSearchTest {
+    private static final LocalDate TODAY = LocalDate.now();
+    // Early words are far more common than late ones, so lists differ in length as they do in real text.
+    private static final String[] WORDS = {"intern", "software", "data", "team", "python", "cloud", "analyst",
+            "design", "research", "finance", "security", "mobile", "robotics", "quantum", "biotech"};
+
+    private InternshipManager manager;
+    private int nextRep;
+
+    @BeforeEach
+    void setUp() {
+        manager = new InternshipManager();
+    }
+
+    @Test
+    void everyWordMustMatchInTitleOrDescriptionIgnoringCase() {
+        Internship both = post("Data Engineer", "Build PIPELINES in the cloud");
+        post("Data Analyst", "Spreadsheets");
+        Internship split = post("Engineer", "data platform");
+
+        assertEquals(ids(both, split), ids(manager.searchInternships("data ENGINEER", new InternshipFilter(), 10)));
+        assertEquals(ids(both), ids(manager.searchInternships("pipelines, cloud!", new InternshipFilter(), 10)));
+        assertEquals(List.of(), manager.searchInternships("data marketing", new InternshipFilter(), 10));
+    }
+
+    @Test
+    void titleMatchesRankAboveDescriptionMatches() {
+        Internship inDescription = post("Intern", "python scripting");
+        Internship inTitle = post("Python Intern", "scripting");
+
+        assertEquals(ids(inTitle, inDescription), ids(manager.searchInternships("python", new InternshipFilter(), 10)));
+    }
+
+    @Test
+    void prefixSearchCompletesOnlyTheLastWord() {
+        Internship software = post("Software Engineer", "backend services");
+        post("Soft Skills Coach", "workshops");
+
+        assertEquals(List.of(), manager.searchInternships("softw", new InternshipFilter(), 10));
+        assertEquals(ids(software), ids(manager.searchInternshipsByPrefix("softw", new InternshipFilter(), 10)));
+        assertEquals(ids(software), ids(manager.searchInternshipsByPrefix("engineer backe", new InternshipFilter(), 10)));
+        assertEquals(List.of(), manager.searchInternshipsByPrefix("engi backend", new InternshipFilter(), 10));
+    }
+
+    @Test
+    void editsAndDeletionsAreSearchable() {
+        Internship it = post("Frontend Intern", "react");
+        assertNull(manager.updateInternship(it, new InternshipEdit().title("Backend Intern").description("spring")));
+
+        assertEquals(List.of(), manager.searchInternships("frontend", new InternshipFilter(), 10));
+        assertEquals(List.of(), manager.searchInternships("react", new InternshipFilter(), 10));
+        assertEquals(ids(it), ids(manager.searchInternships("backend spring", new InternshipFilter(), 10)));
+
+        manager.deleteInternship(it);
+        assertEquals(List.of(), manager.searchInternships("backend", new InternshipFilter(), 10));
+    }
+
+    @Test
+    void searchKeepsToTheFilter() {
+        Internship approved = post("Cloud Intern", "");
+        Internship pending = post("Cloud Intern", "");
+        manager.reviewInternshipPosting(approved, true);
+
+        InternshipFilter filter = new InternshipFilter().status(InternshipStatus.APPROVED);
+        assertEquals(ids(approved), ids(manager.searchInternships("cloud", filter, 10)));
+        assertTrue(manager.searchInternships("cloud", new InternshipFilter(), 10).contains(pending));
+    }
+
+    // Enough postings that the common words' lists span many blocks, so skipping by block maximum is exercised.
+    @Test
+    void topResultsMatchTheFullRankingOverALargeCorpus() {
+        Random random = new Random(7);
+        List<InternshipDraft> drafts = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            if (i % 5 == 0) nextRep++;
+            drafts.add(draft(rep(), text(random, 1 + random.nextInt(3)), text(random, random.nextInt(12))));
+        }
+        List<Internship> all = manager.createInternships(drafts).getSucceeded();
+
+        for (String query : List.of("intern", "software data", "team python", "cloud", "quantum", "data intern team")) {
+            List<Internship> full = manager.searchInternships(query, new InternshipFilter(), all.size());
+            assertEquals(matching(all, query), new HashSet<>(ids(full)), query);
+            for (int limit : new int[]{1, 5, 20}) {
+                List<Internship> top = manager.searchInternships(query, new InternshipFilter(), limit);
+                assertEquals(ids(full.subList(0, Math.min(limit, full.size()))), ids(top), query + " top " + limit);
+            }
+        }
+    }
+
+    private Internship post(String title, String description) {
+        nextRep++;
+        return manager.createInternship(rep(), title, description, InternshipLevel.BASIC, "Computer Science",
+                TODAY, TODAY.plusDays(7), 2);
+    }
+
+    private CompanyRepresentative rep() {
+        return new CompanyRepresentative("rep" + nextRep, "Rep", "Company", "HR", "Manager", "rep@company.com");
+    }
+
+    private static InternshipDraft draft(CompanyRepresentative rep, String title, String description) {
+        return new InternshipDraft(rep, title, description, InternshipLevel.BASIC, "Computer Science", TODAY,
+                TODAY.plusDays(7), 2);
+    }
+
+    private static String text(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            double u = random.nextDouble();
+            sb.append(i == 0 ? "" : " ").append(WORDS[(int) (u * u * WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static Set<Integer> matching(List<Internship> all, String query) {
+        Set<Integer> ids = new HashSet<>();
+        for (Internship it : all) {
+            Set<String> words = new HashSet<>(TextIndex.tokenize(it.getTitle()));
+            words.addAll(TextIndex.tokenize(it.getDescription()));
+            if (words.containsAll(TextIndex.tokenize(query))) ids.add(it.getId());
+        }
+        return ids;
+    }
+
+    private static List<Integer> ids(Internship... postings) {
+        return ids(List.of(postings));
+    }
+
+    private static List<Integer> ids(List<Internship> postings) {
+        return postings.stream().map(Internship::getId).toList();
+    }
+}
@@ -0,0 +1,71 @@
+package control;
+
+import entities.ApplicationStatus;
+import entities.CompanyRepresentative;
+import entities.Internship;
+import entities.InternshipLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class UpdateInternshipTest {
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private InternshipManager manager;
+    private Internship posting;
+
+    @BeforeEach
+    void setUp() {
+        manager = new InternshipManager();
+        CompanyRepresentative rep = new CompanyRepresentative("rep", "Rep", "Company", "HR", "Manager", "rep@company.com");
+        posting = manager.createInternship(rep, "Backend", "Services", InternshipLevel.BASIC, "CS", TODAY,
+                TODAY.plusDays(7), 3);
+    }
+
+    @Test
+    void appliesTheFieldsSetAndKeepsTheRest() {
+        assertNull(manager.updateInternship(posting, new InternshipEdit().title("Platform").slots(5)
+                .closingDate(TODAY.plusDays(14))));
+
+        assertEquals("Platform", posting.getTitle());
+        assertEquals("Services", posting.getDescription());
+        assertEquals(5, posting.getSlots());
+        assertEquals(TODAY, posting.getOpeningDate());
+        assertEquals(TODAY.plusDays(14), posting.getClosingDate());
+        assertEquals(List.of(posting), manager.searchInternships("platform", new InternshipFilter(), 5));
+    }
+
+    @Test
+    void refusesInvalidEditsWithoutChangingAnything() {
+        assertEquals("Missing title", manager.updateInternship(posting, new InternshipEdit().title(" ").slots(5)));
+        assertEquals("Closing date is before opening date",
+                manager.updateInternship(posting, new InternshipEdit().openingDate(TODAY.plusDays(8))));
+        assertEquals("Slots must be between 1 and 10", manager.updateInternship(posting, new InternshipEdit().slots(11)));
+        manager.restoreApplication(posting, "U1", ApplicationStatus.CONFIRMED);
+        manager.restoreApplication(posting, "U2", ApplicationStatus.CONFIRMED);
+        assertEquals("Slots cannot be fewer than the 2 confirmed",
+                manager.updateInternship(posting, new InternshipEdit().slots(1)));
+
+        assertEquals("Backend", posting.getTitle());
+        assertEquals(3, posting.getSlots());
+        assertEquals(TODAY, posting.getOpeningDate());
+    }
+
+    @Test
+    void onlyPendingPostingsThatStillExistCanBeEdited() {
+        manager.reviewInternshipPosting(posting, true);
+        assertEquals("Cannot edit an internship that is already APPROVED",
+                manager.updateInternship(posting, new InternshipEdit().title("Platform")));
+
+        Internship other = manager.createInternship(posting.getPostedBy(), "Frontend", "", InternshipLevel.BASIC, "CS",
+                TODAY, TODAY.plusDays(7), 1);
+        manager.deleteInternship(other);
+        assertEquals("Internship not found", manager.updateInternship(other, new InternshipEdit().title("Gone")));
+        assertEquals("Internship not found", manager.updateInternship(null, new InternshipEdit()));
+    }
+}
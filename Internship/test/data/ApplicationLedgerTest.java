@@ -0,0 +1,216 @@
+package data;
+
+import control.InternshipManager;
+import control.UserManager;
+import entities.ApplicationStatus;
+import entities.InternshipLevel;
+import entities.Internship;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApplicationLedgerTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void managerBehavesTheSameOnTheLedgerAsOnTheHeap() {
+        InternshipManager onHeap = new InternshipManager();
+        UserManager heapUsers = RecoveryFixture.users();
+        RecoveryFixture.runLifecycle(onHeap, heapUsers);
+
+        InternshipManager onLedger = new InternshipManager(ApplicationLedger.inMemory(1024));
+        UserManager ledgerUsers = RecoveryFixture.users();
+        RecoveryFixture.runLifecycle(onLedger, ledgerUsers);
+
+        assertEquals(RecoveryFixture.dump(onHeap, heapUsers), RecoveryFixture.dump(onLedger, ledgerUsers));
+    }
+
+    @Test
+    void growsPastItsInitialSize() {
+        ApplicationLedger ledger = ApplicationLedger.inMemory(1024);
+        long initialBytes = ledger.offHeapBytes();
+        List<Internship> postings = new ArrayList<>();
+        for (int p = 1; p <= 2000; p++) postings.add(posting(p, ledger));
+        for (int s = 0; s < 5000; s++) {
+            for (int k = 0; k < 3; k++) postings.get((s * 7 + k * 11) % postings.size()).setApplicationStatus("G" + s, status(s + k));
+        }
+
+        assertEquals(15_000, ledger.size());
+        assertTrue(ledger.offHeapBytes() > initialBytes);
+        for (int s = 0; s < 5000; s++) {
+            for (int k = 0; k < 3; k++) {
+                Internship it = postings.get((s * 7 + k * 11) % postings.size());
+                assertEquals(status(s + k), it.getApplications().statusOf("G" + s));
+            }
+        }
+    }
+
+    @Test
+    void aCleanCloseRestoresEveryApplicationInOrder() throws IOException {
+        ApplicationLedger ledger = ApplicationLedger.open(dir);
+        assertFalse(ledger.isRestored());
+        Map<Integer, Map<String, ApplicationStatus>> expected = fill(ledger);
+        ledger.drop(2);
+        expected.remove(2);
+        ledger.close();
+
+        ApplicationLedger reopened = ApplicationLedger.open(dir);
+        try {
+            assertTrue(reopened.isRestored());
+            assertEquals(expected, read(reopened));
+            assertEquals(0, reopened.tableFor(2).size());
+            assertTrue(reopened.changedAt("L1", 1) > 0);
+            assertEquals(-1, reopened.changedAt("L1", 2));
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void aLedgerThatWasNeverClosedStartsEmpty() throws IOException {
+        ApplicationLedger ledger = ApplicationLedger.open(dir.resolve("live"));
+        fill(ledger);
+        // What a crash would leave behind: the files as they were, never marked clean.
+        copy(dir.resolve("live"), dir.resolve("crashed"));
+        ledger.close();
+
+        ApplicationLedger reopened = ApplicationLedger.open(dir.resolve("crashed"));
+        try {
+            assertFalse(reopened.isRestored());
+            assertEquals(0, reopened.size());
+            assertEquals(0, reopened.tableFor(1).size());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void restartsWithTheLogAndALedgerThatWasClosedCleanly() throws IOException {
+        ApplicationLedger ledger = ApplicationLedger.open(dir.resolve("ledger"));
+        InternshipManager manager = new InternshipManager(ledger);
+        UserManager users = RecoveryFixture.users();
+        InternshipLog log = InternshipLog.open(dir.resolve("wal"), 0, true, 0, manager, users);
+        RecoveryFixture.runLifecycle(manager, users);
+        String expected = RecoveryFixture.dump(manager, users);
+        log.close();
+        ledger.close();
+
+        ApplicationLedger reopened = ApplicationLedger.open(dir.resolve("ledger"));
+        InternshipManager restored = new InternshipManager(reopened);
+        UserManager restoredUsers = RecoveryFixture.users();
+        InternshipLog.open(dir.resolve("wal"), 0, true, 0, restored, restoredUsers).close();
+        try {
+            assertTrue(restored.hasRestoredApplications());
+            assertEquals(expected, RecoveryFixture.dump(restored, restoredUsers));
+        } finally {
+            reopened.close();
+        }
+    }
+
+    // Offers confirmed in place while other threads add applications to the same posting, which grows and
+    // rehashes the ledger under them: every slot is taken exactly once and no application is lost.
+    @Test
+    void confirmsOffersWhileApplicationsAreAdded() throws Exception {
+        ApplicationLedger ledger = ApplicationLedger.inMemory(1024);
+        Internship it = posting(1, ledger);
+        for (int s = 0; s < 200; s++) it.setApplicationStatus("C" + s, ApplicationStatus.OFFERED);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> confirmers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                confirmers.add(pool.submit(() -> {
+                    int confirmed = 0;
+                    for (int s = 0; s < 200; s++) if (it.confirmOffer("C" + s) > 0) confirmed++;
+                    return confirmed;
+                }));
+            }
+            List<Future<?>> appliers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int first = t;
+                appliers.add(pool.submit(() -> {
+                    for (int s = first; s < 20_000; s += 4) it.setApplicationStatus("A" + s, ApplicationStatus.APPLIED);
+                }));
+            }
+            int confirmed = 0;
+            for (Future<Integer> f : confirmers) confirmed += f.get();
+            for (Future<?> f : appliers) f.get();
+
+            assertEquals(10, confirmed);
+            assertEquals(20_200, ledger.size());
+            Map<ApplicationStatus, Integer> counts = new EnumMap<>(ApplicationStatus.class);
+            it.getApplications().forEach((id, status) -> counts.merge(status, 1, Integer::sum));
+            assertEquals(Map.of(ApplicationStatus.CONFIRMED, 10, ApplicationStatus.OFFERED, 190,
+                    ApplicationStatus.APPLIED, 20_000), counts);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Applications to postings 1-3 in a known order, with repeated changes to some of them.
+    private static Map<Integer, Map<String, ApplicationStatus>> fill(ApplicationLedger ledger) {
+        Map<Integer, Map<String, ApplicationStatus>> expected = new LinkedHashMap<>();
+        for (int p = 1; p <= 3; p++) {
+            Internship it = posting(p, ledger);
+            Map<String, ApplicationStatus> applications = new LinkedHashMap<>();
+            for (int s = 0; s < 50; s++) {
+                String id = "L" + (s * p % 37) + "-" + s;
+                if (s == 1) id = "L1";
+                it.setApplicationStatus(id, ApplicationStatus.APPLIED);
+                applications.put(id, ApplicationStatus.APPLIED);
+                if (s % 3 == 0) {
+                    it.setApplicationStatus(id, status(s));
+                    applications.put(id, status(s));
+                }
+            }
+            expected.put(p, applications);
+        }
+        return expected;
+    }
+
+    private static Map<Integer, Map<String, ApplicationStatus>> read(ApplicationLedger ledger) {
+        Map<Integer, Map<String, ApplicationStatus>> found = new LinkedHashMap<>();
+        for (int p = 1; p <= 3; p++) {
+            Map<String, ApplicationStatus> applications = new LinkedHashMap<>();
+            ledger.tableFor(p).forEach(applications::put);
+            if (!applications.isEmpty()) found.put(p, applications);
+        }
+        return found;
+    }
+
+    private static Internship posting(int id, ApplicationLedger ledger) {
+        LocalDate today = LocalDate.now();
+        return new Internship(id, "Posting " + id, "", InternshipLevel.BASIC, "CS", today, today.plusDays(7), 10,
+                null, ledger.tableFor(id));
+    }
+
+    private static ApplicationStatus status(int n) {
+        ApplicationStatus[] all = ApplicationStatus.values();
+        return all[n % all.length];
+    }
+
+    private static void copy(Path from, Path to) throws IOException {
+        Files.createDirectories(to);
+        try (Stream<Path> files = Files.list(from)) {
+            for (Path f : files.toList()) Files.copy(f, to.resolve(f.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package data;
+
+import control.InternshipManager;
+import control.UserManager;
+import entities.CompanyRepresentative;
+import entities.Internship;
+import entities.InternshipLevel;
+import entities.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Restarts from a snapshot plus whatever log tail follows it.
+class CheckpointTest {
+    @TempDir
+    Path dir;
+
+    private final List<InternshipLog> open = new ArrayList<>();
+
+    @AfterEach
+    void closeLogs() throws IOException {
+        for (int i = open.size() - 1; i >= 0; i--) open.get(i).close();
+    }
+
+    @Test
+    void restoresFromTheSnapshotAndTheTailAfterIt() throws IOException {
+        InternshipManager manager = new InternshipManager();
+        UserManager users = RecoveryFixture.users();
+        InternshipLog log = open(manager, users);
+        RecoveryFixture.runLifecycle(manager, users);
+        long segment = log.checkpoint();
+        Internship late = manager.getAllInternships().stream().filter(it -> it.isVisible()).findFirst().orElseThrow();
+        manager.applyForInternship(RecoveryFixture.student(users, 5), late);
+
+        assertEquals(List.of(segment), segments(".log"));
+        assertEquals(segment, InternshipSnapshot.latest(dir));
+
+        InternshipManager restored = new InternshipManager();
+        UserManager restoredUsers = RecoveryFixture.users();
+        InternshipLog.RestoreStats stats = open(restored, restoredUsers).getRestoreStats();
+        assertEquals(RecoveryFixture.dump(manager, users), RecoveryFixture.dump(restored, restoredUsers));
+        assertEquals(segment, stats.snapshot());
+        assertEquals(1, stats.records());
+        assertEquals(manager.getAllInternships().size(), stats.internships());
+    }
+
+    @Test
+    void aCleanCloseLeavesNoLogToReplay() throws IOException {
+        InternshipManager manager = new InternshipManager();
+        UserManager users = RecoveryFixture.users();
+        open(manager, users);
+        RecoveryFixture.runLifecycle(manager, users);
+        String expected = RecoveryFixture.dump(manager, users);
+        open.remove(0).close();
+
+        InternshipManager restored = new InternshipManager();
+        UserManager restoredUsers = RecoveryFixture.users();
+        InternshipLog log = open(restored, restoredUsers);
+        assertEquals(0, log.size());
+        assertEquals(expected, RecoveryFixture.dump(restored, restoredUsers));
+    }
+
+    @Test
+    void checkpointsTakenUnderLoadLoseNothing() throws Exception {
+        InternshipManager manager = new InternshipManager();
+        UserManager users = RecoveryFixture.users();
+        InternshipLog log = open(manager, users);
+        CompanyRepresentative rep = (CompanyRepresentative) users.getUserById("rep");
+        LocalDate today = LocalDate.now();
+        List<Internship> postings = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Internship p = manager.createInternship(rep, "Posting " + i, "", InternshipLevel.BASIC, "CS",
+                    today.minusDays(1), today.plusDays(3), 2);
+            manager.reviewInternshipPosting(p, true);
+            postings.add(p);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int first = t;
+            writers.add(pool.submit(() -> {
+                for (int i = first; i < RecoveryFixture.STUDENTS; i += 4) {
+                    Student s = RecoveryFixture.student(users, i);
+                    for (int k = 0; k < 3; k++) manager.applyForInternship(s, postings.get((i + k) % postings.size()));
+                    Internship p = postings.get(i % postings.size());
+                    manager.reviewApplication(p, s, true);
+                    manager.acceptOffer(s, p);
+                    if (i % 3 == 0) manager.requestWithdrawal(s, p);
+                }
+            }));
+        }
+        int checkpoints = 0;
+        while (checkpoints < 3 || !writers.stream().allMatch(Future::isDone)) {
+            log.checkpoint();
+            checkpoints++;
+        }
+        for (Future<?> w : writers) w.get();
+        pool.shutdown();
+
+        InternshipManager restored = new InternshipManager();
+        UserManager restoredUsers = RecoveryFixture.users();
+        open(restored, restoredUsers);
+        assertTrue(checkpoints >= 3);
+        assertEquals(RecoveryFixture.dump(manager, users), RecoveryFixture.dump(restored, restoredUsers));
+    }
+
+    private InternshipLog open(InternshipManager manager, UserManager users) throws IOException {
+        InternshipLog log = InternshipLog.open(dir, 0, true, 0, manager, users);
+        open.add(log);
+        return log;
+    }
+
+    private List<Long> segments(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(f -> f.getFileName().toString()).filter(n -> n.endsWith(suffix))
+                    .map(n -> Long.parseLong(n.replaceAll("\\D", ""))).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package data;
+
+import control.InternshipManager;
+import control.UserManager;
+import entities.CompanyRepresentative;
+import entities.Internship;
+import entities.InternshipLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Restarts from the write-ahead log alone: every test stops the first log without closing it, so nothing
+// but the records already appended is there to recover from.
+class InternshipLogTest {
+    @TempDir
+    Path dir;
+
+    private final List<InternshipLog> open = new ArrayList<>();
+
+    @AfterEach
+    void closeLogs() throws IOException {
+        for (int i = open.size() - 1; i >= 0; i--) open.get(i).close();
+    }
+
+    @Test
+    void replaysEveryChangeAfterAnUncleanStop() throws IOException {
+        InternshipManager manager = new InternshipManager();
+        UserManager users = RecoveryFixture.users();
+        open(manager, users);
+        RecoveryFixture.runLifecycle(manager, users);
+
+        InternshipManager restored = new InternshipManager();
+        UserManager restoredUsers = RecoveryFixture.users();
+        open(restored, restoredUsers);
+
+        assertEquals(RecoveryFixture.dump(manager, users), RecoveryFixture.dump(restored, restoredUsers));
+    }
+
+    @Test
+    void ignoresATornRecordAtTheTail() throws IOException {
+        InternshipManager manager = new InternshipManager();
+        UserManager users = RecoveryFixture.users();
+        open(manager, users);
+        RecoveryFixture.runLifecycle(manager, users);
+        String expected = RecoveryFixture.dump(manager, users);
+
+        // A length prefix promising 50 bytes, then the three that made it to disk before the crash.
+        Files.write(newestSegment(), new byte[]{0, 0, 0, 50, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        InternshipManager restored = new InternshipManager();
+        UserManager restoredUsers = RecoveryFixture.users();
+        open(restored, restoredUsers);
+        assertEquals(expected, RecoveryFixture.dump(restored, restoredUsers));
+    }
+
+    @Test
+    void failsOnACorruptRecordBeforeTheNewestSegment() throws IOException {
+        InternshipManager manager = new InternshipManager();
+        UserManager users = RecoveryFixture.users();
+        open(manager, users);
+        RecoveryFixture.runLifecycle(manager, users);
+
+        Path damaged = newestSegment();
+        Files.write(damaged, new byte[]{0, 0, 0, 50, 1, 2, 3}, StandardOpenOption.APPEND);
+        Files.createFile(dir.resolve("segment-99999999.log"));
+
+        IOException e = assertThrows(IOException.class, () -> open(new InternshipManager(), RecoveryFixture.users()));
+        assertTrue(e.getMessage().contains(damaged.getFileName().toString()), e.getMessage());
+    }
+
+    @Test
+    void keepsTextLongerThanWriteUtfAllows() throws IOException {
+        InternshipManager manager = new InternshipManager();
+        UserManager users = RecoveryFixture.users();
+        open(manager, users);
+        String description = "é".repeat(40_000);
+        LocalDate today = LocalDate.now();
+        Internship posting = manager.createInternship((CompanyRepresentative) users.getUserById("rep"), "Long",
+                description, InternshipLevel.BASIC, null, today, today.plusDays(3), 1);
+
+        InternshipManager restored = new InternshipManager();
+        open(restored, RecoveryFixture.users());
+        Internship copy = restored.getInternshipById(posting.getId());
+        assertEquals(description, copy.getDescription());
+        assertNull(copy.getPreferredMajor());
+    }
+
+    @Test
+    void keepsAPostingWithoutCreatingItsMissingRepresentative() throws IOException {
+        InternshipManager manager = new InternshipManager();
+        UserManager users = RecoveryFixture.users();
+        open(manager, users);
+        LocalDate today = LocalDate.now();
+        Internship posting = manager.createInternship((CompanyRepresentative) users.getUserById("rep"), "Orphan",
+                "Kept", InternshipLevel.BASIC, "CS", today, today.plusDays(3), 1);
+
+        InternshipManager restored = new InternshipManager();
+        UserManager restoredUsers = new UserManager(new UserDataHandler());
+        open(restored, restoredUsers);
+
+        assertNull(restored.getInternshipById(posting.getId()).getPostedBy());
+        assertNull(restoredUsers.getUserById("rep"));
+    }
+
+    private void open(InternshipManager manager, UserManager users) throws IOException {
+        open.add(InternshipLog.open(dir, 0, true, 0, manager, users));
+    }
+
+    private Path newestSegment() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().endsWith(".log")).sorted().reduce((x, y) -> y).orElseThrow();
+        }
+    }
+}
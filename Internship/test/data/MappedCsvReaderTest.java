@@ -0,0 +1,103 @@
+package data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedCsvReaderTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void splitsLikeSplitThenTrim() throws IOException {
+        List<String> lines = List.of(
+                "a,b,c",
+                "  padded  ,\tfield\t, x ",
+                "middle,,empty",
+                "trailing,empty,,",
+                "blank, ,",
+                "single",
+                "ünïcödé,名字,ok");
+        Path file = write(String.join("\r\n", header(lines)));
+
+        assertEquals(expected(lines), MappedCsvReader.read(file, MappedCsvReaderTest::fields, new ArrayList<>()));
+    }
+
+    @Test
+    void keepsEveryRowInOrderAcrossChunks() throws IOException {
+        // Big enough for several chunks, so rows straddle the cut points.
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 120_000; i++) lines.add("U" + i + ",Student " + i + ",Major " + (i % 7) + "," + (i % 4 + 1));
+        Path file = write(String.join("\n", header(lines)) + "\n");
+        assertTrue(Files.size(file) > 3 << 20);
+
+        List<Integer> skipped = new ArrayList<>();
+        List<Integer> ids = MappedCsvReader.read(file, row -> Integer.parseInt(row.get(0).substring(1)), skipped);
+        assertEquals(lines.size(), ids.size());
+        for (int i = 0; i < ids.size(); i++) assertEquals(i, ids.get(i));
+        assertEquals(List.of(), skipped);
+    }
+
+    @Test
+    void skipsRowsTheMapperRejects() throws IOException {
+        Path file = write("Id,Year\nA,1\nB,x\nC,\nD,-2\nE,+3\nF,99999999999\n");
+
+        List<Integer> skipped = new ArrayList<>();
+        List<String> rows = MappedCsvReader.read(file, row -> row.size() < 2 ? null : row.get(0) + row.getInt(1), skipped);
+        assertEquals(List.of("A1", "D-2", "E3"), rows);
+        assertEquals(List.of(3, 7), skipped);
+    }
+
+    @Test
+    void reportsSkippedLinesAcrossChunks() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 120_000; i++) lines.add("U" + i + "," + (i % 40_001 == 40_000 ? "bad" : i));
+        Path file = write(String.join("\n", header(lines)) + "\n");
+
+        List<Integer> skipped = new ArrayList<>();
+        List<Integer> years = MappedCsvReader.read(file, row -> row.getInt(1), skipped);
+        assertEquals(lines.size() - 2, years.size());
+        // Row i is on line i + 2, after the header.
+        assertEquals(List.of(40_002, 80_003), skipped);
+    }
+
+    @Test
+    void readsAHeaderOnlyFile() throws IOException {
+        assertEquals(List.of(), MappedCsvReader.read(write("Id,Name"), MappedCsvReaderTest::fields, new ArrayList<>()));
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = dir.resolve("input.csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static List<String> header(List<String> lines) {
+        List<String> all = new ArrayList<>();
+        all.add("Header,Line");
+        all.addAll(lines);
+        return all;
+    }
+
+    private static List<String> fields(MappedCsvReader.Row row) {
+        List<String> out = new ArrayList<>();
+        for (int i = 0; i < row.size(); i++) out.add(row.get(i));
+        return out;
+    }
+
+    private static List<List<String>> expected(List<String> lines) {
+        List<List<String>> out = new ArrayList<>();
+        for (String line : lines) out.add(Arrays.stream(line.split(",")).map(String::trim).toList());
+        return out;
+    }
+}
@@ -0,0 +1,98 @@
+package data;
+
+import control.InternshipManager;
+import control.UserManager;
+import entities.ApplicationStatus;
+import entities.CompanyRepresentative;
+import entities.Internship;
+import entities.InternshipLevel;
+import entities.Student;
+import entities.WithdrawalRequest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+
+// Shared by the recovery tests: a user base, a run of service calls touching every kind of record the log
+// journals, and a dump of the state a restart has to reproduce.
+final class RecoveryFixture {
+    static final int STUDENTS = 20;
+
+    private RecoveryFixture() {
+    }
+
+    static UserManager users() {
+        UserManager users = new UserManager(new UserDataHandler());
+        for (int i = 0; i < STUDENTS; i++) users.addUser(student(i));
+        users.addUser(new CompanyRepresentative("rep", "Rep", "Company", "Dept", "Manager", "rep@company.com"));
+        return users;
+    }
+
+    static Student student(int i) {
+        return new Student("U" + i, "Student " + i, "CS", 2, "u" + i + "@e.ntu.edu.sg");
+    }
+
+    static Student student(UserManager users, int i) {
+        return (Student) users.getUserById("U" + i);
+    }
+
+    // Postings created, approved, edited by visibility and deleted; applications offered, accepted and
+    // withdrawn; one withdrawal left pending.
+    static void runLifecycle(InternshipManager manager, UserManager users) {
+        CompanyRepresentative rep = (CompanyRepresentative) users.getUserById("rep");
+        LocalDate today = LocalDate.now();
+        Internship a = manager.createInternship(rep, "Backend", "Services", InternshipLevel.BASIC, "CS",
+                today.minusDays(1), today.plusDays(3), 2);
+        Internship b = manager.createInternship(rep, "Frontend", "Screens", InternshipLevel.BASIC, "CS",
+                today.minusDays(1), today.plusDays(3), 3);
+        Internship c = manager.createInternship(rep, "Data", "Pipelines", InternshipLevel.BASIC, "CS",
+                today.minusDays(1), today.plusDays(3), 3);
+        manager.reviewInternshipPosting(a, true);
+        manager.reviewInternshipPosting(b, true);
+        manager.deleteInternship(c);
+
+        Student s0 = student(users, 0), s1 = student(users, 1), s2 = student(users, 2);
+        for (Student s : List.of(s0, s1, s2)) {
+            manager.applyForInternship(s, a);
+            manager.applyForInternship(s, b);
+        }
+        manager.reviewApplication(a, s0, true);
+        manager.reviewApplication(a, s1, true);
+        manager.reviewApplication(b, s2, true);
+        manager.acceptOffer(s0, a);
+        manager.acceptOffer(s1, a);
+        manager.requestWithdrawal(s2, b);
+        WithdrawalRequest w = manager.requestWithdrawal(s0, a);
+        manager.processWithdrawalRequest(w, true);
+        manager.toggleVisibility(b);
+    }
+
+    static String dump(InternshipManager manager, UserManager users) {
+        StringBuilder sb = new StringBuilder();
+        List<Internship> postings = new ArrayList<>(manager.getAllInternships());
+        postings.sort(Comparator.comparingInt(Internship::getId));
+        for (Internship it : postings) {
+            TreeMap<String, ApplicationStatus> applications = new TreeMap<>();
+            it.getApplications().forEach(applications::put);
+            sb.append(it).append(' ').append(it.getDescription()).append(" visible=").append(it.isVisible())
+                    .append(' ').append(applications)
+                    .append(" confirmed=").append(it.countApplicationsByStatus(ApplicationStatus.CONFIRMED)).append('\n');
+        }
+        List<String> pending = new ArrayList<>();
+        for (WithdrawalRequest r : manager.getPendingWithdrawalRequests()) {
+            pending.add(r.getStudent().getId() + "/" + r.getInternship().getId());
+        }
+        Collections.sort(pending);
+        sb.append("pending=").append(pending).append('\n');
+        for (int i = 0; i < STUDENTS; i++) {
+            Student s = student(users, i);
+            sb.append(s.getId()).append(" accepted=").append(s.getAcceptedInternshipId())
+                    .append(" applied=").append(manager.getApplicationsForStudent(s).size()).append('\n');
+        }
+        sb.append("next=").append(manager.getNextInternshipId());
+        return sb.toString();
+    }
+}
@@ -0,0 +1,78 @@
+package data;
+
+import control.UserManager;
+import entities.CareerCenterStaff;
+import entities.CompanyRepresentative;
+import entities.Student;
+import entities.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserDataHandlerTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void loadsEveryRoleAndSkipsUnusableRows() throws IOException {
+        Files.writeString(dir.resolve("sample_student_list.csv"), """
+                StudentID,Name,Major,Year,Email
+                U1,Tan Wei Ling,Computer Science,2,tan@e.ntu.edu.sg
+                U2,Short Row,Computer Science
+                U3,Bad Year,Computer Science,two,bad@e.ntu.edu.sg
+                %s,Long Id,Computer Science,1,long@e.ntu.edu.sg
+                """.formatted("X".repeat(User.MAX_ID_LENGTH + 1)));
+        Files.writeString(dir.resolve("sample_staff_list.csv"), """
+                StaffID,Name,Role,Department,Email
+                sng001,Dr. Sng,Career Center Staff,CCDS,sng@ntu.edu.sg
+                """);
+        Files.writeString(dir.resolve("sample_company_representative_list.csv"), """
+                CompanyRepID,Name,CompanyName,Department,Position,Email,Status
+                rep1,Approved Rep,ABC,HR,Manager,rep1@abc.com,Approved
+                rep2,Pending Rep,ABC,HR,Manager,rep2@abc.com
+                """);
+
+        Map<String, User> users = new UserDataHandler(dir).loadUsersFromCSV();
+
+        assertEquals(List.of("U1", "rep1", "rep2", "sng001"), users.keySet().stream().sorted().toList());
+        Student student = assertInstanceOf(Student.class, users.get("U1"));
+        assertEquals("Computer Science", student.getMajor());
+        assertEquals(2, student.getYear());
+        assertInstanceOf(CareerCenterStaff.class, users.get("sng001"));
+        assertTrue(((CompanyRepresentative) users.get("rep1")).isApproved());
+        assertFalse(((CompanyRepresentative) users.get("rep2")).isApproved());
+    }
+
+    @Test
+    void fallsBackToDemoUsersWithoutFiles() {
+        Map<String, User> users = new UserDataHandler(dir).loadUsersFromCSV();
+
+        assertEquals(3, users.size());
+        assertTrue(users.values().stream().anyMatch(u -> u instanceof Student));
+    }
+
+    @Test
+    void exportReplacesTheFileWithoutLeavingTheTemporary() throws IOException {
+        UserDataHandler handler = new UserDataHandler(dir);
+        UserManager manager = new UserManager(handler);
+        manager.addUser(new Student("U1", "Tan Wei Ling", "Computer Science", 2, "tan@e.ntu.edu.sg"));
+        Files.writeString(dir.resolve("users_out.csv"), "stale");
+
+        handler.saveUsersToCSV(manager);
+
+        assertEquals(List.of("ID,Name,Email,Type,Extra1,Extra2,Approved",
+                "U1,Tan Wei Ling,tan@e.ntu.edu.sg,Student,Computer Science,Year 2"),
+                Files.readAllLines(dir.resolve("users_out.csv")));
+        assertFalse(Files.exists(dir.resolve("users_out.csv.tmp")));
+    }
+}
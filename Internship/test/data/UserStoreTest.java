@@ -0,0 +1,109 @@
+package data;
+
+import control.UserManager;
+import entities.CompanyRepresentative;
+import entities.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The flusher is given an interval longer than any test, so only explicit flushes and close write.
+class UserStoreTest {
+    private static final long NEVER = 3_600_000;
+
+    @TempDir
+    Path dir;
+
+    private final List<UserStore> open = new ArrayList<>();
+
+    @AfterEach
+    void closeStores() throws IOException {
+        for (UserStore store : open) store.close();
+    }
+
+    @Test
+    void restoresFlushedChangesOverTheRoster() throws IOException {
+        UserManager users = roster();
+        UserStore store = open(users);
+        CompanyRepresentative rep = users.registerCompanyRep("odd@company.com", " Odd, Name %\n", "Co", "HR", "Manager");
+        CompanyRepresentative rejected = users.registerCompanyRep("no@company.com", "No", "Co", "HR", "Manager");
+        rep.setApproved(true);
+        users.removeUser(rejected.getId());
+        users.getUserById("U3").changePassword("password", "new pw,%");
+        users.removeUser("U4");
+        store.flush();
+
+        UserManager restored = roster();
+        open(restored);
+        CompanyRepresentative copy = (CompanyRepresentative) restored.getUserById("odd@company.com");
+        assertEquals(" Odd, Name %\n", copy.getName());
+        assertTrue(copy.isApproved());
+        assertNull(restored.getUserById("no@company.com"));
+        assertNotNull(restored.login("U3", "new pw,%"));
+        assertNull(restored.getUserById("U4"));
+        assertNotNull(restored.getUserById("U5"));
+    }
+
+    @Test
+    void flushWritesOnlyTheSegmentsThatChanged() throws IOException {
+        UserManager users = roster();
+        UserStore store = open(users);
+        assertEquals(0, store.flush());
+
+        users.getUserById("U1").changePassword("password", "changed");
+        assertEquals(1, store.flush());
+        assertEquals(0, store.flush());
+    }
+
+    @Test
+    void closeWritesWhatIsStillDirty() throws IOException {
+        UserManager users = roster();
+        UserStore store = open(users);
+        users.getUserById("U1").changePassword("password", "changed");
+        open.remove(store);
+        store.close();
+
+        UserManager restored = roster();
+        open(restored);
+        assertNotNull(restored.login("U1", "changed"));
+    }
+
+    @Test
+    void skipsARowWhoseIdIsBadlyEscaped() throws IOException {
+        UserManager users = roster();
+        UserStore store = open(users);
+        users.getUserById("U1").changePassword("password", "changed");
+        store.flush();
+        Path segment = dir.resolve(String.format("users-%02d.csv", ("U1".hashCode() & 0x7fffffff) % 64));
+        Files.writeString(segment, "Student,U%zz,Bad,password,CS,2,bad@e.ntu.edu.sg\n", StandardOpenOption.APPEND);
+
+        UserManager restored = roster();
+        open(restored);
+        assertNotNull(restored.login("U1", "changed"));
+        assertNull(restored.getUserById("U%zz"));
+    }
+
+    private UserStore open(UserManager users) throws IOException {
+        UserStore store = UserStore.open(dir, NEVER, users);
+        open.add(store);
+        return store;
+    }
+
+    private UserManager roster() {
+        UserManager users = new UserManager(new UserDataHandler(dir));
+        for (int i = 0; i < 10; i++) users.restoreUser(new Student("U" + i, "Student " + i, "CS", 2, "u" + i + "@e.ntu.edu.sg"));
+        return users;
+    }
+}
@@ -0,0 +1,113 @@
+package entities;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApplicationTableTest {
+    @Test
+    void keepsApplicantsInOrderAcrossGrowth() {
+        ApplicationTable table = ApplicationTable.onHeap();
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            ids.add("T" + i);
+            assertNull(table.put(StudentIds.code("T" + i), status(i)));
+        }
+        assertEquals(ApplicationStatus.APPLIED, table.put(StudentIds.code("T0"), ApplicationStatus.OFFERED));
+
+        assertEquals(1000, table.size());
+        assertEquals(ids, table.studentIds());
+        assertEquals(ApplicationStatus.OFFERED, table.statusOf("T0"));
+        for (int i = 1; i < 1000; i++) assertEquals(status(i), table.statusOf("T" + i));
+        assertNull(table.statusOf("T1000"));
+        assertFalse(table.contains("never-applied"));
+    }
+
+    @Test
+    void replaceOnlyMovesTheExpectedStatus() {
+        ApplicationTable table = ApplicationTable.onHeap();
+        int student = StudentIds.code("R1");
+        table.put(student, ApplicationStatus.APPLIED);
+
+        assertFalse(table.replace(student, ApplicationStatus.OFFERED, ApplicationStatus.CONFIRMED));
+        assertEquals(ApplicationStatus.APPLIED, table.statusOf(student));
+        assertTrue(table.replace(student, ApplicationStatus.APPLIED, ApplicationStatus.OFFERED));
+        assertEquals(ApplicationStatus.OFFERED, table.statusOf(student));
+        assertFalse(table.replace(StudentIds.code("R2"), ApplicationStatus.APPLIED, ApplicationStatus.OFFERED));
+    }
+
+    // New applicants are added while others' offers are confirmed and put back, and readers scan throughout.
+    @RepeatedTest(10)
+    void concurrentAddsAndStatusChangesLoseNothing() throws Exception {
+        ApplicationTable table = ApplicationTable.onHeap();
+        int existing = 64, added = 2000;
+        for (int i = 0; i < existing; i++) table.put(StudentIds.code("E" + i), ApplicationStatus.OFFERED);
+        AtomicInteger confirmed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(6);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> work = new ArrayList<>();
+        try {
+            for (int t = 0; t < 2; t++) {
+                int first = t;
+                work.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = first; i < added; i += 2) table.put(StudentIds.code("A" + i), ApplicationStatus.APPLIED);
+                    return null;
+                }));
+            }
+            for (int t = 0; t < 2; t++) {
+                work.add(pool.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < 200; round++) {
+                        for (int i = 0; i < existing; i++) {
+                            int s = StudentIds.code("E" + i);
+                            if (table.replace(s, ApplicationStatus.OFFERED, ApplicationStatus.CONFIRMED)) {
+                                confirmed.incrementAndGet();
+                                assertTrue(table.replace(s, ApplicationStatus.CONFIRMED, ApplicationStatus.OFFERED));
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int t = 0; t < 2; t++) {
+                work.add(pool.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < 50; round++) {
+                        int[] seen = {0};
+                        table.forEach((id, status) -> seen[0]++);
+                        assertTrue(seen[0] >= existing && seen[0] <= existing + added);
+                        for (int i = 0; i < existing; i++) assertTrue(table.contains("E" + i));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : work) f.get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(existing + added, table.size());
+        assertTrue(confirmed.get() > 0);
+        for (int i = 0; i < existing; i++) assertEquals(ApplicationStatus.OFFERED, table.statusOf("E" + i));
+        for (int i = 0; i < added; i++) assertEquals(ApplicationStatus.APPLIED, table.statusOf("A" + i));
+    }
+
+    private static ApplicationStatus status(int n) {
+        ApplicationStatus[] all = ApplicationStatus.values();
+        return all[n % all.length];
+    }
+}
@@ -0,0 +1,71 @@
+package entities;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MajorsTest {
+    @Test
+    void spellingsThatDifferOnlyInCaseOrEdgeSpaceShareACode() {
+        int code = Majors.code("Materials Engineering");
+
+        assertEquals(code, Majors.code("  materials ENGINEERING "));
+        assertEquals(code, Majors.find("MATERIALS engineering"));
+        assertNotEquals(code, Majors.code("Materials  Engineering"));
+    }
+
+    @Test
+    void aMajorNobodyHasIsUnknown() {
+        assertEquals(Majors.UNKNOWN, Majors.find("Underwater Basket Weaving " + System.nanoTime()));
+    }
+
+    @Test
+    void eligibilityComparesMajorCodes() {
+        Internship posting = approved("Computer Science", InternshipLevel.BASIC);
+
+        assertTrue(posting.isEligible(student("computer science ", 1)));
+        assertFalse(posting.isEligible(student("Computer Engineering", 1)));
+
+        posting.setPrefer_major("COMPUTER ENGINEERING");
+        assertTrue(posting.isEligible(student("Computer Engineering", 1)));
+        assertFalse(posting.isEligible(student("Computer Science", 1)));
+    }
+
+    @Test
+    void juniorsAreEligibleOnlyForBasicPostings() {
+        Internship advanced = approved("Physics", InternshipLevel.ADVANCED);
+
+        assertFalse(advanced.isEligible(student("Physics", 2)));
+        assertTrue(advanced.isEligible(student("Physics", 3)));
+        assertTrue(approved("Physics", InternshipLevel.BASIC).isEligible(student("Physics", 2)));
+    }
+
+    @Test
+    void onlyApprovedVisiblePostingsAreEligible() {
+        Internship posting = approved("Chemistry", InternshipLevel.BASIC);
+        Student student = student("Chemistry", 1);
+
+        posting.setVisible(false);
+        assertFalse(posting.isEligible(student));
+        posting.setVisible(true);
+        posting.setStatus(InternshipStatus.FILLED);
+        assertFalse(posting.isEligible(student));
+    }
+
+    private static Internship approved(String major, InternshipLevel level) {
+        LocalDate today = LocalDate.now();
+        Internship it = new Internship(1, "Intern", "", level, major, today, today.plusDays(7), 2, null);
+        it.setStatus(InternshipStatus.APPROVED);
+        it.setVisible(true);
+        return it;
+    }
+
+    private static Student student(String major, int year) {
+        return new Student("U1", "Student", major, year, "u1@e.ntu.edu.sg");
+    }
+}
@@ -0,0 +1,67 @@
+package benchmark;
+
+import entities.ApplicationStatus;
+import entities.Internship;
+import entities.InternshipLevel;
+import entities.InternshipStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application-table operations under acceptOffer on one busy posting: an offer confirmed and put
+ * back, and a status lookup. The contended variants run four threads against the same posting.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApplicationTableBenchmark {
+    @Param({"200"})
+    public int applicants;
+
+    private Internship posting;
+    private String[] students;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDate today = LocalDate.now();
+        posting = new Internship(1, "Intern", "", InternshipLevel.BASIC, Fixture.MAJORS[0],
+                today.minusDays(1), today.plusDays(60), 10, null);
+        posting.setStatus(InternshipStatus.APPROVED);
+        students = new String[applicants];
+        for (int i = 0; i < applicants; i++) {
+            students[i] = "TABLE" + i;
+            posting.setApplicationStatus(students[i], ApplicationStatus.OFFERED);
+        }
+    }
+
+    @Benchmark
+    public int confirmAndRevert() {
+        String s = students[ThreadLocalRandom.current().nextInt(students.length)];
+        int confirmed = posting.confirmOffer(s);
+        posting.setApplicationStatus(s, ApplicationStatus.OFFERED);
+        return confirmed;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int confirmAndRevertContended() {
+        return confirmAndRevert();
+    }
+
+    @Benchmark
+    public ApplicationStatus statusOf() {
+        return posting.getApplications().statusOf(students[ThreadLocalRandom.current().nextInt(students.length)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ApplicationStatus statusOfContended() {
+        return statusOf();
+    }
+}
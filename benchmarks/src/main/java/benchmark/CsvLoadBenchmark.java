@@ -0,0 +1,76 @@
+package benchmark;
+
+import data.UserDataHandler;
+import entities.Student;
+import entities.User;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Compares {@link UserDataHandler#loadUsersFromCSV()} against the original BufferedReader and split
+ * loader on a generated student file.
+ * Usage: CsvLoadBenchmark [rows] [rounds]
+ */
+public class CsvLoadBenchmark {
+    private static final String[] MAJORS = {"Computer Science", "Data Science & AI", "Computer Engineering",
+            "Electrical Engineering", "Mechanical Engineering", "Business"};
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Path dir = Files.createTempDirectory("csv-bench");
+        try {
+            Path file = dir.resolve("sample_student_list.csv");
+            generate(file, rows);
+            System.out.printf("%d rows, %d MB, %d cpus%n", rows, Files.size(file) >> 20,
+                    Runtime.getRuntime().availableProcessors());
+            UserDataHandler handler = new UserDataHandler(dir);
+            for (int round = 0; round < rounds; round++) {
+                long t0 = System.nanoTime();
+                int legacy = readStudentsLegacy(file).size();
+                long t1 = System.nanoTime();
+                int mapped = handler.loadUsersFromCSV().size();
+                long t2 = System.nanoTime();
+                if (legacy != mapped) throw new IllegalStateException("Loaders disagree: " + legacy + " vs " + mapped);
+                System.out.printf("round %d: split %d ms, mapped %d ms%n", round + 1, (t1 - t0) / 1_000_000, (t2 - t1) / 1_000_000);
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    private static void generate(Path file, int rows) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(file)) {
+            w.write("StudentID,Name,Major,Year,Email\n");
+            for (int i = 0; i < rows; i++) {
+                w.write(String.format("U%07dA,Student %d,%s,%d,s%d@e.ntu.edu.sg%n", i, i, MAJORS[i % MAJORS.length], 1 + i % 4, i));
+            }
+        }
+    }
+
+    // The loader UserDataHandler used before it moved to MappedCsvReader.
+    private static Map<String, User> readStudentsLegacy(Path file) throws IOException {
+        Map<String, User> users = new HashMap<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(file.toFile()))) {
+            br.readLine();
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] p = line.split(",");
+                if (p.length >= 5)
+                    users.put(p[0].trim(), new Student(p[0].trim(), p[1].trim(), p[2].trim(), Integer.parseInt(p[3].trim()), p[4].trim()));
+            }
+        }
+        return users;
+    }
+}
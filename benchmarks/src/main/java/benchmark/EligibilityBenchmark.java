@@ -0,0 +1,60 @@
+package benchmark;
+
+import entities.Internship;
+import entities.InternshipLevel;
+import entities.InternshipStatus;
+import entities.Student;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One student's eligibility checked against every posting, the per-posting work a listing does when it
+ * filters without the index. Majors are written in mixed case, as reps and students type them. Run with
+ * {@code -prof gc} to see the allocation per check.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EligibilityBenchmark {
+    @Param({"1000"})
+    public int postings;
+
+    private Internship[] all;
+    private Student[] students;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDate today = LocalDate.now();
+        InternshipLevel[] levels = InternshipLevel.values();
+        all = new Internship[postings];
+        for (int p = 0; p < postings; p++) {
+            String major = Fixture.MAJORS[p % Fixture.MAJORS.length];
+            all[p] = new Internship(p + 1, "Intern " + p, "", levels[p % levels.length],
+                    p % 2 == 0 ? major : major.toUpperCase(), today.minusDays(1), today.plusDays(60), 10, null);
+            all[p].setStatus(InternshipStatus.APPROVED);
+            all[p].setVisible(p % 10 != 0);
+        }
+        students = new Student[64];
+        for (int i = 0; i < students.length; i++) {
+            String major = Fixture.MAJORS[i % Fixture.MAJORS.length];
+            students[i] = new Student("U" + i, "Student " + i, i % 3 == 0 ? major.toLowerCase() : major, 1 + i % 4,
+                    "u" + i + "@e.ntu.edu.sg");
+        }
+    }
+
+    @Benchmark
+    public int eligibleCount() {
+        Student s = students[ThreadLocalRandom.current().nextInt(students.length)];
+        int n = 0;
+        for (Internship it : all) {
+            if (it.isEligible(s)) n++;
+        }
+        return n;
+    }
+}
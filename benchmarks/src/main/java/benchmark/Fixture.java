@@ -0,0 +1,89 @@
+package benchmark;
+
+import control.InternshipManager;
+import control.UserManager;
+import data.UserDataHandler;
+import entities.ApplicationStatus;
+import entities.CompanyRepresentative;
+import entities.Internship;
+import entities.InternshipLevel;
+import entities.Student;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds an in-memory system of the given size: approved, visible BASIC postings spread over a few
+ * majors, and students of matching majors who have applied to them. Every applicant on a posting
+ * belongs to the same major, so applications always pass eligibility.
+ */
+class Fixture {
+    static final String[] MAJORS = {"Computer Science", "Data Science & AI", "Computer Engineering",
+            "Electrical Engineering", "Mechanical Engineering", "Business", "Mathematics", "Physics"};
+
+    final UserManager users = new UserManager(new UserDataHandler(Path.of("benchmark-no-csv")));
+    final InternshipManager manager = new InternshipManager();
+    final Student[] students;
+    final Internship[] postings;
+    // Pairs in the order they were created; index i is (applicantStudent[i], applicantPosting[i]).
+    final List<Student> applicantStudent = new ArrayList<>();
+    final List<Internship> applicantPosting = new ArrayList<>();
+
+    Fixture(int studentCount, int postingCount, int applicantsPerPosting) {
+        LocalDate today = LocalDate.now();
+        students = new Student[studentCount];
+        for (int i = 0; i < studentCount; i++) {
+            students[i] = new Student("U" + i, "Student " + i, MAJORS[i % MAJORS.length], 1 + i % 4, "u" + i + "@e.ntu.edu.sg");
+            users.addUser(students[i]);
+        }
+
+        postings = new Internship[postingCount];
+        CompanyRepresentative rep = null;
+        for (int p = 0; p < postingCount; p++) {
+            if (p % 5 == 0) {
+                rep = new CompanyRepresentative("rep" + p + "@co.com", "Rep " + p, "Company " + p / 5, "HR", "Manager", "rep" + p + "@co.com");
+                rep.setApproved(true);
+                users.addUser(rep);
+            }
+            postings[p] = manager.createInternship(rep, "Intern " + (postingCount - p), "Benchmark posting", InternshipLevel.BASIC,
+                    MAJORS[p % MAJORS.length], today.minusDays(1), today.plusDays(60), 10);
+            manager.reviewInternshipPosting(postings[p], true);
+        }
+
+        int perMajor = studentCount / MAJORS.length;
+        if (perMajor == 0) return;
+        for (int p = 0; p < postingCount; p++) {
+            int major = p % MAJORS.length;
+            for (int k = 0; k < applicantsPerPosting; k++) {
+                Student s = students[major + MAJORS.length * (int) (((long) (p / MAJORS.length) * applicantsPerPosting + k) % perMajor)];
+                if (manager.applyForInternship(s, postings[p])) {
+                    applicantStudent.add(s);
+                    applicantPosting.add(postings[p]);
+                }
+            }
+        }
+    }
+
+    // Offers up to the posting's slots to the applicants seeded above and returns the offered pairs.
+    int offerAll(List<Student> offeredStudent, List<Internship> offeredPosting) {
+        for (int i = 0; i < applicantStudent.size(); i++) {
+            Student s = applicantStudent.get(i);
+            Internship it = applicantPosting.get(i);
+            if (manager.reviewApplication(it, s, true)) {
+                offeredStudent.add(s);
+                offeredPosting.add(it);
+            }
+        }
+        return offeredStudent.size();
+    }
+
+    // Every third offered student asks to withdraw, leaving that many pending requests.
+    void requestWithdrawals(List<Student> offeredStudent, List<Internship> offeredPosting) {
+        for (int i = 0; i < offeredStudent.size(); i += 3) {
+            if (offeredPosting.get(i).getApplications().statusOf(offeredStudent.get(i).getId()) == ApplicationStatus.OFFERED)
+                manager.requestWithdrawal(offeredStudent.get(i), offeredPosting.get(i));
+        }
+    }
+}
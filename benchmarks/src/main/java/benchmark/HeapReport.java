@@ -0,0 +1,77 @@
+package benchmark;
+
+import control.ApplicationStore;
+import control.InternshipManager;
+import data.ApplicationLedger;
+import entities.ApplicationStatus;
+import entities.Internship;
+import entities.InternshipLevel;
+import entities.InternshipStatus;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Loads the given number of applications into an InternshipManager the way a snapshot restore does, each
+ * with its own copy of the student id string, and prints how much live heap they take. Run with a fixed
+ * heap (e.g. -Xmx4g) so the numbers are comparable between runs. The store is "heap" (the default),
+ * "memory" for an ApplicationLedger in direct memory, or a directory to map one to.
+ * Usage: HeapReport [applications] [students] [postings] [store]
+ */
+public class HeapReport {
+    public static void main(String[] args) throws IOException {
+        int applications = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int students = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int postings = args.length > 2 ? Integer.parseInt(args[2]) : 20_000;
+        String store = args.length > 3 ? args[3] : "heap";
+
+        ApplicationLedger ledger = switch (store) {
+            case "heap" -> null;
+            case "memory" -> ApplicationLedger.inMemory(applications);
+            default -> ApplicationLedger.open(Path.of(store));
+        };
+        InternshipManager manager = new InternshipManager(ledger != null ? ledger : ApplicationStore.ON_HEAP);
+        LocalDate today = LocalDate.now();
+        Internship[] all = new Internship[postings];
+        for (int p = 0; p < postings; p++) {
+            all[p] = manager.restoreInternship(p + 1, null, "Intern " + p, "Heap report posting", InternshipLevel.BASIC,
+                    Fixture.MAJORS[p % Fixture.MAJORS.length], today.minusDays(1), today.plusDays(60), 10,
+                    InternshipStatus.APPROVED, true);
+        }
+        ApplicationStatus[] statuses = ApplicationStatus.values();
+        long before = liveHeap();
+
+        // Each student applies to postings drawn at random; a repeated pair only changes the status.
+        SplittableRandom random = new SplittableRandom(42);
+        long start = System.nanoTime();
+        for (int i = 0; i < applications; i++) {
+            int student = i % students;
+            manager.restoreApplication(all[random.nextInt(postings)], "U" + student, statuses[random.nextInt(statuses.length)]);
+        }
+        long loadMillis = (System.nanoTime() - start) / 1_000_000;
+        long after = liveHeap();
+
+        long bytes = after - before;
+        System.out.printf("%,d applications from %,d students over %,d postings, loaded in %,d ms%n",
+                applications, students, postings, loadMillis);
+        System.out.printf("live heap: %,d MB before, %,d MB after, %,d MB for applications (%d bytes each)%n",
+                before >> 20, after >> 20, bytes >> 20, bytes / applications);
+        if (ledger != null) {
+            System.out.printf("off heap: %,d MB in the ledger for %,d applications%n",
+                    ledger.offHeapBytes() >> 20, ledger.size());
+            ledger.close();
+        }
+        // Keep everything reachable until after the second measurement.
+        if (manager.getAllInternships().size() != postings) throw new IllegalStateException();
+    }
+
+    private static long liveHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
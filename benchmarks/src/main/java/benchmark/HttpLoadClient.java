@@ -0,0 +1,192 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Drives a running {@link boundary.InternshipHttpServer} with many concurrent clients, one virtual thread each.
+ * Usage: HttpLoadClient [baseUrl] [clients] [seconds] [staffId]
+ */
+public class HttpLoadClient {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\":\"([^\"]+)\"");
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    private final String baseUrl;
+    private final HttpClient http;
+    private final AtomicLong errors = new AtomicLong();
+
+    public HttpLoadClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        String staffId = args.length > 3 ? args[3] : "sng001";
+        new HttpLoadClient(baseUrl).run(clients, seconds, staffId);
+    }
+
+    public void run(int clients, int seconds, String staffId) throws Exception {
+        Map<String, String> students = readStudents();
+        if (students.isEmpty()) throw new IllegalStateException("No students in sample_student_list.csv");
+
+        String staff = login(staffId);
+        List<Integer> postings = seedPostings(staff, students.values());
+
+        List<String> sessions = new ArrayList<>();
+        for (String id : students.keySet()) sessions.add(login(id));
+
+        System.out.println("Seeded " + postings.size() + " postings; running " + clients
+                + " clients for " + seconds + "s against " + baseUrl);
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        long[][] latencies = new long[clients][];
+        long start = System.nanoTime();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                pool.submit(() -> latencies[client] = clientLoop(sessions, postings, deadline));
+            }
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("requests=%d errors=%d throughput=%.0f req/s%n", all.length, errors.get(), all.length / elapsed);
+        if (all.length > 0) {
+            System.out.printf("latency p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+                    percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999), all[all.length - 1] / 1e6);
+        }
+    }
+
+    private long[] clientLoop(List<String> sessions, List<Integer> postings, long deadline) {
+        long[] samples = new long[1024];
+        int n = 0;
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            String session = sessions.get(rnd.nextInt(sessions.size()));
+            int roll = rnd.nextInt(100);
+            long t0 = System.nanoTime();
+            try {
+                if (roll < 70) get("/internships", session);
+                else if (roll < 90) get("/applications", session);
+                else post("/applications/apply", session, "id", String.valueOf(postings.get(rnd.nextInt(postings.size()))));
+            } catch (IOException | InterruptedException e) {
+                errors.incrementAndGet();
+                continue;
+            }
+            if (n == samples.length) samples = Arrays.copyOf(samples, n * 2);
+            samples[n++] = System.nanoTime() - t0;
+        }
+        return Arrays.copyOf(samples, n);
+    }
+
+    private List<Integer> seedPostings(String staff, Collection<String> majors) throws IOException, InterruptedException {
+        List<Integer> ids = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        int repNo = 0;
+        String rep = null;
+        int onRep = 5;
+        for (String major : new LinkedHashSet<>(majors)) {
+            for (int i = 0; i < 3; i++) {
+                if (onRep == 5) {
+                    String email = "load-rep-" + System.nanoTime() + "-" + (repNo++) + "@load.test";
+                    post("/reps/register", null, "email", email, "name", "Load Rep", "company", "Load Co");
+                    post("/reps/review", staff, "id", email, "approve", "true");
+                    rep = login(email);
+                    onRep = 0;
+                }
+                String body = post("/internships/create", rep, "title", major + " Intern " + i,
+                        "description", "Generated by HttpLoadClient", "level", "BASIC", "major", major,
+                        "openingDate", today.minusDays(1).toString(), "closingDate", today.plusDays(30).toString(),
+                        "slots", "10");
+                Matcher m = ID.matcher(body);
+                if (!m.find()) throw new IllegalStateException("Create failed: " + body);
+                int id = Integer.parseInt(m.group(1));
+                post("/internships/review", staff, "id", String.valueOf(id), "approve", "true");
+                ids.add(id);
+                onRep++;
+            }
+        }
+        return ids;
+    }
+
+    private String login(String id) throws IOException, InterruptedException {
+        String body = post("/login", null, "id", id, "password", "password");
+        Matcher m = TOKEN.matcher(body);
+        if (!m.find()) throw new IllegalStateException("Login failed for " + id + ": " + body);
+        return m.group(1);
+    }
+
+    private String get(String path, String session) throws IOException, InterruptedException {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+        if (session != null) b.header("X-Session", session);
+        return send(b.build());
+    }
+
+    private String post(String path, String session, String... kv) throws IOException, InterruptedException {
+        StringBuilder form = new StringBuilder();
+        for (int i = 0; i + 1 < kv.length; i += 2) {
+            if (form.length() > 0) form.append('&');
+            form.append(URLEncoder.encode(kv[i], StandardCharsets.UTF_8)).append('=')
+                    .append(URLEncoder.encode(kv[i + 1], StandardCharsets.UTF_8));
+        }
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form.toString()));
+        if (session != null) b.header("X-Session", session);
+        return send(b.build());
+    }
+
+    private String send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> res = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (res.statusCode() >= 500) errors.incrementAndGet();
+        return res.body();
+    }
+
+    private static Map<String, String> readStudents() throws IOException {
+        Map<String, String> students = new LinkedHashMap<>();
+        try (BufferedReader br = new BufferedReader(new FileReader("sample_student_list.csv"))) {
+            br.readLine();
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] p = line.split(",");
+                if (p.length >= 5) students.put(p[0].trim(), p[2].trim());
+            }
+        }
+        return students;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int i = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, i)] / 1e6;
+    }
+}
@@ -0,0 +1,53 @@
+package benchmark;
+
+import control.IInternshipService;
+import control.InstrumentedInternshipService;
+import control.LatencyHistogram;
+import control.ServiceMetrics;
+import entities.Internship;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the metrics decorator on a call that is cheap on its own. Run with {@code -prof gc} to check
+ * that the instrumented path allocates nothing beyond the plain one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InstrumentationBenchmark {
+    private Fixture fixture;
+    private IInternshipService instrumented;
+    private LatencyHistogram histogram;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new Fixture(1000, 100, 0);
+        instrumented = new InstrumentedInternshipService(fixture.manager, new ServiceMetrics());
+        histogram = new LatencyHistogram();
+    }
+
+    private int randomId() {
+        return fixture.postings[ThreadLocalRandom.current().nextInt(fixture.postings.length)].getId();
+    }
+
+    @Benchmark
+    public Internship getInternshipByIdPlain() {
+        return fixture.manager.getInternshipById(randomId());
+    }
+
+    @Benchmark
+    public Internship getInternshipByIdInstrumented() {
+        return instrumented.getInternshipById(randomId());
+    }
+
+    @Benchmark
+    public void histogramRecord() {
+        histogram.record(ThreadLocalRandom.current().nextLong(1_000_000));
+    }
+}
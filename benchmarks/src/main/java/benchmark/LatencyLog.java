@@ -0,0 +1,82 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Collects raw per-operation latencies. Each thread appends to its own buffers, so recording takes no
+ * locks; {@link #merged()} must only be called once the recording threads have finished.
+ */
+class LatencyLog {
+    private static final class Buffer {
+        final String op;
+        long[] samples = new long[256];
+        int size;
+
+        Buffer(String op) {
+            this.op = op;
+        }
+    }
+
+    private final ConcurrentLinkedQueue<Buffer> all = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Map<String, Buffer>> local = ThreadLocal.withInitial(HashMap::new);
+
+    <T> T time(String op, Supplier<T> call) {
+        long t0 = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            record(op, System.nanoTime() - t0);
+        }
+    }
+
+    void time(String op, Runnable call) {
+        long t0 = System.nanoTime();
+        try {
+            call.run();
+        } finally {
+            record(op, System.nanoTime() - t0);
+        }
+    }
+
+    void record(String op, long nanos) {
+        Buffer b = local.get().computeIfAbsent(op, k -> {
+            Buffer created = new Buffer(k);
+            all.add(created);
+            return created;
+        });
+        if (b.size == b.samples.length) b.samples = Arrays.copyOf(b.samples, b.size * 2);
+        b.samples[b.size++] = nanos;
+    }
+
+    // Sorted latencies per operation.
+    Map<String, long[]> merged() {
+        Map<String, List<Buffer>> byOp = new TreeMap<>();
+        for (Buffer b : all) byOp.computeIfAbsent(b.op, k -> new ArrayList<>()).add(b);
+        Map<String, long[]> out = new TreeMap<>();
+        for (Map.Entry<String, List<Buffer>> e : byOp.entrySet()) {
+            int n = e.getValue().stream().mapToInt(b -> b.size).sum();
+            long[] samples = new long[n];
+            int at = 0;
+            for (Buffer b : e.getValue()) {
+                System.arraycopy(b.samples, 0, samples, at, b.size);
+                at += b.size;
+            }
+            Arrays.sort(samples);
+            out.put(e.getKey(), samples);
+        }
+        return out;
+    }
+
+    static double percentileMicros(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int i = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, i)] / 1e3;
+    }
+}
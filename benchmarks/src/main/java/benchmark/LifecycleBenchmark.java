@@ -0,0 +1,88 @@
+package benchmark;
+
+import entities.Internship;
+import entities.Student;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write paths that change application state and so cannot be repeated on the same data. Each
+ * iteration rebuilds the system and then times a batch of {@link #OPS} distinct operations;
+ * divide the reported time by OPS for the cost of one call.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = LifecycleBenchmark.OPS)
+@Measurement(iterations = 5, batchSize = LifecycleBenchmark.OPS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LifecycleBenchmark {
+    static final int OPS = 1000;
+
+    @Param({"10000", "100000"})
+    public int students;
+
+    @Param({"1000", "10000"})
+    public int postings;
+
+    @Param({"10", "50"})
+    public int applicantsPerPosting;
+
+    private Fixture fixture;
+    private Student[] freshStudents;
+    private List<Student> offeredStudent;
+    private List<Internship> offeredPosting;
+    private boolean[] approve;
+    private int cursor;
+
+    @Setup(Level.Iteration)
+    public void setUp(BenchmarkParams params) {
+        fixture = new Fixture(students, postings, applicantsPerPosting);
+
+        // Students with no applications yet, each matching the major of the posting they will apply to.
+        freshStudents = new Student[OPS];
+        for (int i = 0; i < OPS; i++) {
+            Internship target = fixture.postings[i % fixture.postings.length];
+            freshStudents[i] = new Student("F" + i, "Fresh " + i, target.getPreferredMajor(), 3, "f" + i + "@e.ntu.edu.sg");
+            fixture.users.addUser(freshStudents[i]);
+        }
+
+        // reviewApplication approves applicants until a posting's slots are used up, then rejects.
+        approve = new boolean[fixture.applicantPosting.size()];
+        Map<Internship, Integer> approved = new HashMap<>();
+        for (int i = 0; i < approve.length; i++) {
+            Internship it = fixture.applicantPosting.get(i);
+            int n = approved.merge(it, 1, Integer::sum);
+            approve[i] = n <= it.getSlots();
+        }
+
+        offeredStudent = new ArrayList<>();
+        offeredPosting = new ArrayList<>();
+        if (params.getBenchmark().endsWith("acceptOffer")) fixture.offerAll(offeredStudent, offeredPosting);
+        cursor = 0;
+    }
+
+    @Benchmark
+    public boolean applyForInternship() {
+        int i = cursor++;
+        return fixture.manager.applyForInternship(freshStudents[i], fixture.postings[i % fixture.postings.length]);
+    }
+
+    @Benchmark
+    public boolean reviewApplication() {
+        int i = cursor++ % approve.length;
+        return fixture.manager.reviewApplication(fixture.applicantPosting.get(i), fixture.applicantStudent.get(i), approve[i]);
+    }
+
+    @Benchmark
+    public boolean acceptOffer() {
+        int i = cursor++ % offeredStudent.size();
+        return fixture.manager.acceptOffer(offeredStudent.get(i), offeredPosting.get(i));
+    }
+}
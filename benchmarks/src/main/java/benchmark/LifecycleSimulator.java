@@ -0,0 +1,355 @@
+package benchmark;
+
+import control.BatchResult;
+import control.IInternshipService;
+import control.IUserService;
+import control.InternshipFilter;
+import control.InternshipManager;
+import control.UserManager;
+import data.UserDataHandler;
+import entities.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+/**
+ * Headless driver for a whole application season against {@link IInternshipService}: reps post, staff
+ * approve, every student applies the moment postings open, reps make offers, students accept and some
+ * withdraw. Each phase runs its actors concurrently on a fixed pool. Prints ops/s and latency
+ * percentiles per operation, then checks the invariants the final state must satisfy.
+ * Usage: LifecycleSimulator [students] [reps] [threads] [seed]
+ */
+public class LifecycleSimulator {
+    private static final List<String[]> DEFAULT_PROFILES = List.of(
+            new String[]{"Computer Science", "2"}, new String[]{"Data Science & AI", "3"},
+            new String[]{"Computer Engineering", "4"}, new String[]{"Information Engineering & Media", "1"});
+
+    private final int studentCount;
+    private final int repCount;
+    private final int threads;
+    private final long seed;
+    private final IUserService users;
+    private final IInternshipService service;
+    private final LatencyLog log = new LatencyLog();
+    private final Map<String, Double> opSeconds = new HashMap<>();
+    private final List<Student> students = new ArrayList<>();
+    private final List<CompanyRepresentative> reps = new ArrayList<>();
+
+    public LifecycleSimulator(int studentCount, int repCount, int threads, long seed) {
+        this.studentCount = studentCount;
+        this.repCount = repCount;
+        this.threads = threads;
+        this.seed = seed;
+        this.users = new UserManager(new UserDataHandler(Path.of("simulator-no-csv")));
+        this.service = new InternshipManager();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int students = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int reps = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+        boolean ok = new LifecycleSimulator(students, reps, threads, seed).run();
+        System.exit(ok ? 0 : 1);
+    }
+
+    public boolean run() throws Exception {
+        buildPopulation();
+        System.out.printf("%d students, %d reps, %d threads%n", students.size(), reps.size(), threads);
+
+        phase("post", List.of("createInternship"), repTasks(this::post));
+        phase("approve", List.of("filterInternships(pending)", "reviewInternshipPosting"), this::approvePostings);
+        phase("apply", List.of("filterInternships(student)", "applyForInternship"), studentTasks(this::apply));
+        phase("offer", List.of("reviewApplication"), repTasks(this::offer));
+        phase("accept", List.of("getApplicationsForStudent", "acceptOffer"), studentTasks(this::accept));
+        phase("withdraw", List.of("requestWithdrawal", "getPendingWithdrawalRequests", "processWithdrawalRequest"),
+                this::withdrawals);
+
+        report();
+        return checkInvariants();
+    }
+
+    // --- population ---
+
+    private void buildPopulation() throws IOException {
+        List<String[]> profiles = readProfiles();
+        SplittableRandom rnd = new SplittableRandom(seed);
+        List<Student> roster = new ArrayList<>(studentCount);
+        for (int i = 0; i < studentCount; i++) {
+            String[] profile = profiles.get(rnd.nextInt(profiles.size()));
+            roster.add(new Student(String.format("U%07dS", i), "Student " + i, profile[0],
+                    Integer.parseInt(profile[1]), "u" + i + "@e.ntu.edu.sg"));
+        }
+        BatchResult<Student> imported = users.importStudents(roster.stream());
+        for (Student s : imported.getSucceeded()) if (s != null) students.add(s);
+
+        for (int i = 0; i < repCount; i++) {
+            String email = "rep" + i + "@company" + i / 3 + ".com";
+            CompanyRepresentative rep = users.registerCompanyRep(email, "Rep " + i, "Company " + i / 3, "HR", "Recruiter");
+            rep.setApproved(true);
+            reps.add(rep);
+        }
+    }
+
+    // Major/year combinations from sample_student_list.csv when it is present.
+    private static List<String[]> readProfiles() throws IOException {
+        Path file = Path.of("sample_student_list.csv");
+        if (!Files.exists(file)) return DEFAULT_PROFILES;
+        List<String[]> profiles = new ArrayList<>();
+        try (BufferedReader br = Files.newBufferedReader(file)) {
+            br.readLine();
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] p = line.split(",");
+                if (p.length >= 5) profiles.add(new String[]{p[2].trim(), p[3].trim()});
+            }
+        }
+        return profiles.isEmpty() ? DEFAULT_PROFILES : profiles;
+    }
+
+    private List<String> majors() {
+        return students.stream().map(Student::getMajor).distinct().sorted().toList();
+    }
+
+    // --- phases ---
+
+    private void post(CompanyRepresentative rep, SplittableRandom rnd) {
+        List<String> majors = majors();
+        LocalDate today = LocalDate.now();
+        InternshipLevel[] levels = InternshipLevel.values();
+        for (int i = 0; i < 5; i++) {
+            String major = majors.get(rnd.nextInt(majors.size()));
+            InternshipLevel level = rnd.nextInt(100) < 50 ? InternshipLevel.BASIC : levels[rnd.nextInt(levels.length)];
+            String title = major + " Intern " + rep.getId() + "-" + i;
+            int slots = 1 + rnd.nextInt(10);
+            log.time("createInternship", () -> service.createInternship(rep, title,
+                    "Simulated posting", level, major, today, today.plusDays(30), slots));
+        }
+    }
+
+    private void approvePostings(ExecutorService pool) throws Exception {
+        List<Internship> pending = log.time("filterInternships(pending)",
+                () -> service.filterInternships(new InternshipFilter().status(InternshipStatus.PENDING)));
+        runAll(pool, IntStream.range(0, pending.size()).<Runnable>mapToObj(i -> () -> {
+            boolean approve = new SplittableRandom(seed + i).nextInt(100) < 90;
+            log.time("reviewInternshipPosting", () -> service.reviewInternshipPosting(pending.get(i), approve));
+        }).toList());
+    }
+
+    private void apply(Student s, SplittableRandom rnd) {
+        InternshipFilter filter = new InternshipFilter().eligibleFor(s);
+        List<Internship> open = log.time("filterInternships(student)", () -> service.filterInternships(filter));
+        for (int k = 0; k < 3 && !open.isEmpty(); k++) {
+            Internship pick = open.remove(rnd.nextInt(open.size()));
+            log.time("applyForInternship", () -> service.applyForInternship(s, pick));
+        }
+    }
+
+    private void offer(CompanyRepresentative rep, SplittableRandom rnd) {
+        for (Internship it : rep.getInternshipsPosted()) {
+            if (it.getStatus() != InternshipStatus.APPROVED) continue;
+            List<String> applicants = it.getApplications().studentIds();
+            Collections.shuffle(applicants, new Random(rnd.nextLong()));
+            int offered = 0;
+            for (String sid : applicants) {
+                if (it.getApplications().statusOf(sid) != ApplicationStatus.APPLIED) continue;
+                Student s = (Student) users.getUserById(sid);
+                boolean approve = offered < it.getSlots() && rnd.nextInt(100) < 70;
+                if (log.time("reviewApplication", () -> service.reviewApplication(it, s, approve)) && approve) offered++;
+            }
+        }
+    }
+
+    private void accept(Student s, SplittableRandom rnd) {
+        Map<Internship, ApplicationStatus> apps = log.time("getApplicationsForStudent", () -> service.getApplicationsForStudent(s));
+        if (rnd.nextInt(100) >= 80) return;
+        for (Map.Entry<Internship, ApplicationStatus> e : apps.entrySet()) {
+            if (e.getValue() != ApplicationStatus.OFFERED) continue;
+            if (log.time("acceptOffer", () -> service.acceptOffer(s, e.getKey()))) return;
+        }
+    }
+
+    // Students file withdrawal requests while staff drain the queue concurrently.
+    private void withdrawals(ExecutorService pool) throws Exception {
+        AtomicBoolean requestsDone = new AtomicBoolean();
+        int staff = Math.max(1, threads / 16);
+        List<Future<?>> reviewers = new ArrayList<>();
+        for (int r = 0; r < staff; r++) {
+            int reviewer = r;
+            reviewers.add(pool.submit(() -> {
+                SplittableRandom rnd = new SplittableRandom(seed ^ reviewer);
+                while (true) {
+                    boolean finished = requestsDone.get();
+                    List<WithdrawalRequest> pending = log.time("getPendingWithdrawalRequests", () -> service.getPendingWithdrawalRequests());
+                    if (pending.isEmpty()) {
+                        if (finished) return;
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    WithdrawalRequest req = pending.get(rnd.nextInt(Math.min(pending.size(), 8)));
+                    log.time("processWithdrawalRequest", () -> service.processWithdrawalRequest(req, rnd.nextInt(100) < 80));
+                }
+            }));
+        }
+        runAll(pool, tasks(students, (s, rnd) -> {
+            if (rnd.nextInt(100) >= 5) return;
+            List<Internship> mine = new ArrayList<>(service.getApplicationsForStudent(s).keySet());
+            if (mine.isEmpty()) return;
+            Internship it = mine.get(rnd.nextInt(mine.size()));
+            log.time("requestWithdrawal", () -> service.requestWithdrawal(s, it));
+        }));
+        requestsDone.set(true);
+        for (Future<?> f : reviewers) f.get();
+    }
+
+    // --- plumbing ---
+
+    @FunctionalInterface
+    private interface Actor<T> {
+        void act(T actor, SplittableRandom rnd);
+    }
+
+    @FunctionalInterface
+    private interface Phase {
+        void run(ExecutorService pool) throws Exception;
+    }
+
+    private Phase repTasks(Actor<CompanyRepresentative> actor) {
+        return pool -> runAll(pool, tasks(reps, actor));
+    }
+
+    private Phase studentTasks(Actor<Student> actor) {
+        return pool -> runAll(pool, tasks(students, actor));
+    }
+
+    private <T> List<Runnable> tasks(List<T> actors, Actor<T> actor) {
+        List<Runnable> tasks = new ArrayList<>(actors.size());
+        for (int i = 0; i < actors.size(); i++) {
+            T a = actors.get(i);
+            long actorSeed = seed * 31 + i;
+            tasks.add(() -> actor.act(a, new SplittableRandom(actorSeed)));
+        }
+        return tasks;
+    }
+
+    private static void runAll(ExecutorService pool, List<Runnable> tasks) throws Exception {
+        List<Future<?>> futures = new ArrayList<>(tasks.size());
+        for (Runnable task : tasks) futures.add(pool.submit(task));
+        for (Future<?> f : futures) f.get();
+    }
+
+    private void phase(String name, List<String> ops, Phase phase) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long t0 = System.nanoTime();
+        try {
+            phase.run(pool);
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.HOURS);
+        }
+        double seconds = (System.nanoTime() - t0) / 1e9;
+        for (String op : ops) opSeconds.merge(op, seconds, Double::sum);
+        System.out.printf("phase %-9s %8.2f s%n", name, seconds);
+    }
+
+    private void report() {
+        System.out.printf("%n%-30s %9s %11s %9s %9s %9s %9s%n", "operation", "count", "ops/s", "p50 us", "p99 us", "p999 us", "max us");
+        for (Map.Entry<String, long[]> e : log.merged().entrySet()) {
+            long[] s = e.getValue();
+            double seconds = opSeconds.getOrDefault(e.getKey(), Double.NaN);
+            System.out.printf("%-30s %9d %11.0f %9.1f %9.1f %9.1f %9.1f%n", e.getKey(), s.length, s.length / seconds,
+                    LatencyLog.percentileMicros(s, 0.50), LatencyLog.percentileMicros(s, 0.99),
+                    LatencyLog.percentileMicros(s, 0.999), s.length == 0 ? 0 : s[s.length - 1] / 1e3);
+        }
+    }
+
+    // --- invariants ---
+
+    private boolean checkInvariants() {
+        List<String> failures = new ArrayList<>();
+        Map<String, Integer> confirmedByStudent = new HashMap<>();
+        Map<String, Integer> activeByStudent = new HashMap<>();
+        Map<String, Integer> appsByStudent = new HashMap<>();
+        for (Internship it : service.filterInternships(new InternshipFilter())) {
+            int[] counts = new int[ApplicationStatus.values().length];
+            it.getApplications().forEach((sid, status) -> {
+                counts[status.ordinal()]++;
+                appsByStudent.merge(sid, 1, Integer::sum);
+                if (status == ApplicationStatus.CONFIRMED) confirmedByStudent.merge(sid, 1, Integer::sum);
+                if (status == ApplicationStatus.APPLIED || status == ApplicationStatus.OFFERED)
+                    activeByStudent.merge(sid, 1, Integer::sum);
+            });
+            for (ApplicationStatus status : ApplicationStatus.values()) {
+                if (it.countApplicationsByStatus(status) != counts[status.ordinal()])
+                    failures.add("posting " + it.getId() + ": " + status + " counter " + it.countApplicationsByStatus(status)
+                            + " but map has " + counts[status.ordinal()]);
+            }
+            int confirmed = counts[ApplicationStatus.CONFIRMED.ordinal()];
+            int offered = counts[ApplicationStatus.OFFERED.ordinal()];
+            if (confirmed + offered > it.getSlots())
+                failures.add("posting " + it.getId() + ": " + (confirmed + offered) + " offers for " + it.getSlots() + " slots");
+            if (it.getStatus() == InternshipStatus.FILLED && confirmed != it.getSlots())
+                failures.add("posting " + it.getId() + ": FILLED with " + confirmed + "/" + it.getSlots() + " confirmed");
+            if (it.getStatus() == InternshipStatus.APPROVED && confirmed >= it.getSlots())
+                failures.add("posting " + it.getId() + ": still APPROVED with all " + it.getSlots() + " slots confirmed");
+        }
+
+        for (Student s : students) {
+            int confirmed = confirmedByStudent.getOrDefault(s.getId(), 0);
+            if (confirmed > 1) failures.add(s.getId() + ": " + confirmed + " confirmed placements");
+            if ((confirmed == 1) != (s.getAcceptedInternshipId() != -1))
+                failures.add(s.getId() + ": accepted id " + s.getAcceptedInternshipId() + " but " + confirmed + " confirmed");
+            if (s.getAcceptedInternshipId() != -1) {
+                Internship accepted = service.getInternshipById(s.getAcceptedInternshipId());
+                if (accepted == null || accepted.getApplications().statusOf(s.getId()) != ApplicationStatus.CONFIRMED)
+                    failures.add(s.getId() + ": accepted posting " + s.getAcceptedInternshipId() + " is not CONFIRMED");
+            }
+            if (activeByStudent.getOrDefault(s.getId(), 0) > 3)
+                failures.add(s.getId() + ": " + activeByStudent.get(s.getId()) + " active applications");
+            Map<Internship, ApplicationStatus> own = service.getApplicationsForStudent(s);
+            if (own.size() != appsByStudent.getOrDefault(s.getId(), 0))
+                failures.add(s.getId() + ": student index has " + own.size() + " applications, postings have "
+                        + appsByStudent.getOrDefault(s.getId(), 0));
+            for (Map.Entry<Internship, ApplicationStatus> e : own.entrySet()) {
+                if (e.getKey().getApplications().statusOf(s.getId()) != e.getValue())
+                    failures.add(s.getId() + ": student index disagrees on posting " + e.getKey().getId());
+            }
+        }
+
+        for (CompanyRepresentative rep : reps) {
+            long active = rep.getInternshipsPosted().stream()
+                    .filter(it -> it.getStatus() != InternshipStatus.FILLED && it.getStatus() != InternshipStatus.REJECTED)
+                    .count();
+            if (active > 5) failures.add(rep.getId() + ": " + active + " active postings");
+        }
+
+        for (WithdrawalRequest req : service.getPendingWithdrawalRequests()) {
+            if (!req.getInternship().getApplications().contains(req.getStudent().getId()))
+                failures.add("pending withdrawal for missing application " + req.getStudent().getId() + "/" + req.getInternship().getId());
+        }
+
+        if (failures.isEmpty()) {
+            System.out.println("\nInvariants OK");
+            return true;
+        }
+        System.out.println("\n" + failures.size() + " invariant violations:");
+        failures.stream().limit(20).forEach(f -> System.out.println("  " + f));
+        return false;
+    }
+}
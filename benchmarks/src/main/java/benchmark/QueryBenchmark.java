@@ -0,0 +1,125 @@
+package benchmark;
+
+import control.InternshipFilter;
+import control.InternshipPage;
+import control.InternshipSort;
+import entities.Internship;
+import entities.InternshipStatus;
+import entities.PostingPhase;
+import entities.Student;
+import entities.User;
+import entities.WithdrawalRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths: login, per-student counters, pending withdrawals and the listing/report queries behind
+ * StudentUI and StaffUI. The system is built once per trial and not modified.
+ * Build with {@code mvn package} and run {@code java -jar benchmarks/target/benchmarks.jar},
+ * narrowing sizes with e.g. {@code -p students=10000 -p postings=1000}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryBenchmark {
+    @Param({"10000", "100000"})
+    public int students;
+
+    @Param({"1000", "10000"})
+    public int postings;
+
+    @Param({"10", "50"})
+    public int applicantsPerPosting;
+
+    private Fixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new Fixture(students, postings, applicantsPerPosting);
+        List<Student> offeredStudent = new ArrayList<>();
+        List<Internship> offeredPosting = new ArrayList<>();
+        fixture.offerAll(offeredStudent, offeredPosting);
+        fixture.requestWithdrawals(offeredStudent, offeredPosting);
+    }
+
+    private Student randomStudent() {
+        return fixture.students[ThreadLocalRandom.current().nextInt(fixture.students.length)];
+    }
+
+    @Benchmark
+    public User login() {
+        return fixture.users.login(randomStudent().getId(), "password");
+    }
+
+    @Benchmark
+    public int countActiveApplications() {
+        return fixture.manager.countActiveApplications(randomStudent());
+    }
+
+    @Benchmark
+    public List<WithdrawalRequest> getPendingWithdrawalRequests() {
+        return fixture.manager.getPendingWithdrawalRequests();
+    }
+
+    // One StaffUI.reviewWithdrawals page from the middle of the queue.
+    @Benchmark
+    public List<WithdrawalRequest> getPendingWithdrawalPage() {
+        return fixture.manager.getPendingWithdrawalRequests(fixture.manager.getPendingWithdrawalCount() / 2, 10);
+    }
+
+    // StudentUI.viewFilteredInternships with no extra filters.
+    @Benchmark
+    public List<Internship> studentFilteredListing() {
+        Student s = randomStudent();
+        return fixture.manager.filterInternships(new InternshipFilter().eligibleFor(s), InternshipSort.TITLE);
+    }
+
+    // StudentUI.applyToInternship: every posting the student can apply to, by title.
+    @Benchmark
+    public List<Internship> studentOpenListing() {
+        Student s = randomStudent();
+        List<Internship> list = new ArrayList<>();
+        for (Internship it : fixture.manager.getAllInternships()) {
+            if (it.isOpenForApplication(s)) list.add(it);
+        }
+        list.sort(Comparator.comparing(Internship::getTitle, String.CASE_INSENSITIVE_ORDER));
+        return list;
+    }
+
+    // The same screen through queryInternships: first page of 20 by title.
+    @Benchmark
+    public InternshipPage studentOpenPage() {
+        Student s = randomStudent();
+        InternshipFilter filter = new InternshipFilter()
+                .eligibleFor(s)
+                .phase(PostingPhase.OPEN);
+        return fixture.manager.queryInternships(filter, InternshipSort.TITLE, 20, null);
+    }
+
+    // StaffUI.generateReports filtered by one major.
+    @Benchmark
+    public List<Internship> staffReportByMajor() {
+        String major = Fixture.MAJORS[ThreadLocalRandom.current().nextInt(Fixture.MAJORS.length)];
+        return fixture.manager.filterInternships(new InternshipFilter().major(major), InternshipSort.TITLE);
+    }
+
+    // StaffUI.generateReports with no filters.
+    @Benchmark
+    public List<Internship> staffReportAll() {
+        return fixture.manager.filterInternships(new InternshipFilter(), InternshipSort.TITLE);
+    }
+
+    // StaffUI.approveInternships.
+    @Benchmark
+    public List<Internship> staffPendingPostings() {
+        return fixture.manager.filterInternships(new InternshipFilter().status(InternshipStatus.PENDING));
+    }
+}
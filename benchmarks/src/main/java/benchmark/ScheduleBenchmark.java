@@ -0,0 +1,101 @@
+package benchmark;
+
+import control.InternshipFilter;
+import control.InternshipManager;
+import entities.Internship;
+import entities.InternshipLevel;
+import entities.InternshipStatus;
+import entities.PostingPhase;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Open-posting listings when application windows are spread over two years, so most postings are upcoming
+ * or closed on any given day: checking dates per posting against reading the schedule's open set.
+ * {@code nextDay} moves the clock a day forward before each listing, the cost of applying a day of
+ * openings and closings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScheduleBenchmark {
+    // A clock the benchmark can move forward.
+    static final class SteppingClock extends Clock {
+        volatile Instant now;
+
+        SteppingClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    @Param({"10000", "100000"})
+    public int postings;
+
+    private SteppingClock clock;
+    private InternshipManager manager;
+    private LocalDate start;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        start = LocalDate.of(2026, 1, 1);
+        clock = new SteppingClock(start.atStartOfDay(ZoneOffset.UTC).toInstant());
+        manager = new InternshipManager(clock);
+        Random random = new Random(7);
+        for (int id = 1; id <= postings; id++) {
+            LocalDate opening = start.plusDays(random.nextInt(730) - 365);
+            manager.restoreInternship(id, null, "Intern " + id, "", InternshipLevel.BASIC,
+                    Fixture.MAJORS[id % Fixture.MAJORS.length], opening, opening.plusDays(30 + random.nextInt(90)), 10,
+                    InternshipStatus.APPROVED, true);
+        }
+    }
+
+    private InternshipFilter studentFilter() {
+        return new InternshipFilter()
+                .status(InternshipStatus.APPROVED)
+                .visible(true)
+                .major(Fixture.MAJORS[ThreadLocalRandom.current().nextInt(Fixture.MAJORS.length)]);
+    }
+
+    @Benchmark
+    public List<Internship> openByDate() {
+        return manager.filterInternships(studentFilter().openOn(LocalDate.now(clock)));
+    }
+
+    @Benchmark
+    public List<Internship> openByPhase() {
+        return manager.filterInternships(studentFilter().phase(PostingPhase.OPEN));
+    }
+
+    @Benchmark
+    public List<Internship> nextDay() {
+        clock.now = clock.now.plusSeconds(86_400);
+        return manager.filterInternships(studentFilter().phase(PostingPhase.OPEN));
+    }
+}
@@ -0,0 +1,111 @@
+package benchmark;
+
+import control.InternshipFilter;
+import control.InternshipManager;
+import entities.Internship;
+import entities.InternshipLevel;
+import entities.InternshipStatus;
+import entities.PostingPhase;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyword and prefix search over posting titles and descriptions. Descriptions are drawn from a vocabulary
+ * with a Zipf-like skew, so the most common words appear in most postings, as filler words do in real
+ * text; {@code commonPair} is the worst case, two such words together.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+    private static final String[] ROLES = {"Software Engineering", "Data Analyst", "Machine Learning", "Marketing",
+            "Finance", "Hardware Design", "Product Management", "Research", "Cloud Infrastructure", "UX Design"};
+    private static final int LIMIT = 20;
+
+    @Param({"10000", "100000"})
+    public int postings;
+
+    private InternshipManager manager;
+    private String[] words;
+    private final InternshipFilter all = new InternshipFilter();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        words = new String[5000];
+        for (int i = 0; i < words.length; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int k = 3 + random.nextInt(7); k > 0; k--) sb.append((char) ('a' + random.nextInt(26)));
+            words[i] = sb.toString();
+        }
+        manager = new InternshipManager();
+        LocalDate today = LocalDate.now();
+        for (int id = 1; id <= postings; id++) {
+            String title = ROLES[random.nextInt(ROLES.length)] + " Intern " + word(random);
+            StringBuilder description = new StringBuilder();
+            for (int k = 0; k < 30; k++) description.append(word(random)).append(' ');
+            manager.restoreInternship(id, null, title, description.toString(), InternshipLevel.BASIC,
+                    Fixture.MAJORS[id % Fixture.MAJORS.length], today.minusDays(1), today.plusDays(60), 10,
+                    InternshipStatus.APPROVED, true);
+        }
+    }
+
+    // Rank r of the vocabulary comes up with probability roughly proportional to 1 / r.
+    private String word(Random random) {
+        return words[(int) Math.pow(words.length, random.nextDouble()) - 1];
+    }
+
+    private String word() {
+        return word(ThreadLocalRandom.current());
+    }
+
+    @Benchmark
+    public List<Internship> oneWord() {
+        return manager.searchInternships(word(), all, LIMIT);
+    }
+
+    @Benchmark
+    public List<Internship> twoWords() {
+        return manager.searchInternships(word() + " " + word(), all, LIMIT);
+    }
+
+    @Benchmark
+    public List<Internship> commonPair() {
+        return manager.searchInternships(words[0] + " " + words[1], all, LIMIT);
+    }
+
+    @Benchmark
+    public List<Internship> roleAndWord() {
+        return manager.searchInternships("software intern " + word(), all, LIMIT);
+    }
+
+    // Type-ahead: the first two letters of a word.
+    @Benchmark
+    public List<Internship> prefix() {
+        return manager.searchInternshipsByPrefix(word().substring(0, 2), all, LIMIT);
+    }
+
+    @Benchmark
+    public List<Internship> wordThenPrefix() {
+        return manager.searchInternshipsByPrefix(word() + " " + word().substring(0, 2), all, LIMIT);
+    }
+
+    // What a student sees: one major, open today.
+    @Benchmark
+    public List<Internship> studentFiltered() {
+        InternshipFilter filter = new InternshipFilter()
+                .status(InternshipStatus.APPROVED)
+                .visible(true)
+                .major(Fixture.MAJORS[ThreadLocalRandom.current().nextInt(Fixture.MAJORS.length)])
+                .phase(PostingPhase.OPEN);
+        return manager.searchInternships(word(), filter, LIMIT);
+    }
+}